@@ -0,0 +1,77 @@
+#!/usr/bin/env bash
+# Starts the application repeatedly in each startup mode and reports, per mode, the median time from
+# process launch to the first successful readiness probe and the resident memory right after it:
+#   jar       the plain fat jar
+#   extracted the fast-startup layout (application jar plus lib/), no AOT
+#   aot       extracted, with Spring AOT
+#   aot-cds   extracted, with Spring AOT and the AppCDS archive
+#   native    the GraalVM executable, when target/task-manager exists (./mvnw -Pnative native:compile)
+# Builds the fast-startup profile first unless SKIP_BUILD=true. Needs curl and a reachable database
+# configured through the usual SPRING_DATASOURCE_URL / POSTGRES_* / JWT_SECRET variables.
+# RUNS (default 5) sets the runs per mode, PORT (default 8080) the port; raw numbers go to
+# target/startup-results.csv.
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+RUNS=${RUNS:-5}
+PORT=${PORT:-8080}
+# The CDS archive only works with the JVM that created it
+JAVA="${JAVA_HOME:+$JAVA_HOME/bin/}java"
+
+if [ "${SKIP_BUILD:-false}" != "true" ]; then
+  ./mvnw -q -Pfast-startup -DskipTests package
+fi
+JAR=$(ls "$PWD"/target/*.jar | grep -v original | head -n 1)
+OUT=$PWD/target
+RESULTS=$OUT/startup-results.csv
+echo "mode,run,millis_to_ready,rss_kb" > "$RESULTS"
+
+now_millis() {
+  date +%s%3N
+}
+
+run_once() {
+  local mode=$1 run=$2
+  shift 2
+  local start pid ready rss
+  start=$(now_millis)
+  "$@" --server.port="$PORT" > "$OUT/startup-$mode.log" 2>&1 &
+  pid=$!
+  until curl -sf -o /dev/null "http://localhost:$PORT/actuator/health/readiness"; do
+    if ! kill -0 "$pid" 2>/dev/null; then
+      echo "$mode exited before becoming ready, see $OUT/startup-$mode.log" >&2
+      exit 1
+    fi
+    sleep 0.05
+  done
+  ready=$(( $(now_millis) - start ))
+  rss=$(ps -o rss= -p "$pid" | tr -d ' ')
+  kill "$pid"
+  wait "$pid" 2>/dev/null || true
+  echo "$mode,$run,$ready,$rss" >> "$RESULTS"
+}
+
+run_mode() {
+  local mode=$1
+  shift
+  for run in $(seq 1 "$RUNS"); do
+    run_once "$mode" "$run" "$@"
+  done
+}
+
+run_mode jar "$JAVA" -jar "$JAR"
+(cd target/fast-startup && run_mode extracted "$JAVA" -jar task-manager.jar)
+(cd target/fast-startup && run_mode aot "$JAVA" -Dspring.aot.enabled=true -jar task-manager.jar)
+(cd target/fast-startup && run_mode aot-cds "$JAVA" -XX:SharedArchiveFile=app.jsa \
+  -Dspring.aot.enabled=true -jar task-manager.jar)
+if [ -x target/task-manager ]; then
+  run_mode native "$OUT/task-manager"
+fi
+
+# Medians per mode
+printf "%-10s %12s %10s\n" mode ready_ms rss_mb
+for mode in $(tail -n +2 "$RESULTS" | cut -d, -f1 | uniq); do
+  ready=$(grep "^$mode," "$RESULTS" | cut -d, -f3 | sort -n | awk '{ v[NR] = $1 } END { print v[int((NR + 1) / 2)] }')
+  rss=$(grep "^$mode," "$RESULTS" | cut -d, -f4 | sort -n | awk '{ v[NR] = $1 } END { print v[int((NR + 1) / 2)] }')
+  printf "%-10s %12s %10s\n" "$mode" "$ready" "$(( rss / 1024 ))"
+done
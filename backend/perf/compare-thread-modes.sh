@@ -0,0 +1,28 @@
+#!/usr/bin/env bash
+# Runs perf/task-endpoints.js against the packaged jar twice, once on platform threads and once on
+# virtual threads, and prints throughput and latency for both. Needs JDK 21+, k6 and a reachable
+# database configured through the usual SPRING_DATASOURCE_URL / POSTGRES_* / JWT_SECRET variables.
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+JAR=$(ls target/*.jar 2>/dev/null | grep -v original | head -n 1 || true)
+if [ -z "$JAR" ]; then
+  ./mvnw -q -DskipTests package
+  JAR=$(ls target/*.jar | grep -v original | head -n 1)
+fi
+
+BASE_URL=${BASE_URL:-http://localhost:8080}
+
+run_mode() {
+  local mode=$1 virtual=$2
+  VIRTUAL_THREADS_ENABLED=$virtual java -jar "$JAR" > "perf/app-$mode.log" 2>&1 &
+  local pid=$!
+  # any HTTP answer (even 401) means the server is up
+  until curl -s -o /dev/null "$BASE_URL/api/health"; do sleep 1; done
+  k6 run --quiet -e BASE_URL="$BASE_URL" -e MODE="$mode" perf/task-endpoints.js
+  kill "$pid"
+  wait "$pid" 2>/dev/null || true
+}
+
+run_mode platform false
+run_mode virtual true
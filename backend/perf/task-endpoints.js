@@ -0,0 +1,78 @@
+// k6 load test for the task endpoints.
+// Usage: k6 run -e BASE_URL=http://localhost:8080 -e MODE=virtual perf/task-endpoints.js
+import http from 'k6/http';
+import { check } from 'k6';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8080';
+const MODE = __ENV.MODE || 'platform';
+const RATE = Number(__ENV.RATE || 400);
+const DURATION = __ENV.DURATION || '60s';
+
+export const options = {
+  scenarios: {
+    tasks: {
+      executor: 'constant-arrival-rate',
+      rate: RATE,
+      timeUnit: '1s',
+      duration: DURATION,
+      preAllocatedVUs: 200,
+      maxVUs: 2000,
+    },
+  },
+  summaryTrendStats: ['avg', 'p(50)', 'p(95)', 'p(99)', 'max'],
+  thresholds: {
+    http_req_failed: ['rate<0.01'],
+    'http_req_duration{op:list}': ['p(99)<500'],
+  },
+};
+
+export function setup() {
+  const login = http.post(`${BASE_URL}/api/auth/login`, JSON.stringify({
+    email: __ENV.EMAIL || 'demo@hahn.com',
+    password: __ENV.PASSWORD || 'demo123',
+  }), { headers: { 'Content-Type': 'application/json' } });
+  const token = login.json('token');
+  const headers = { 'Content-Type': 'application/json', Authorization: `Bearer ${token}` };
+
+  const project = http.post(`${BASE_URL}/api/projects`,
+    JSON.stringify({ title: `Load test ${MODE} ${Date.now()}` }), { headers });
+  const projectId = project.json('id');
+
+  const operations = [];
+  for (let i = 0; i < 200; i++) {
+    operations.push({ op: 'CREATE', title: `Seed task ${i}` });
+  }
+  http.post(`${BASE_URL}/api/projects/${projectId}/tasks/batch`, JSON.stringify({ operations }), { headers });
+  return { headers, projectId };
+}
+
+export default function ({ headers, projectId }) {
+  const tasksUrl = `${BASE_URL}/api/projects/${projectId}/tasks`;
+  const roll = Math.random();
+
+  if (roll < 0.7) {
+    const res = http.get(`${tasksUrl}?limit=50`, { headers, tags: { op: 'list' } });
+    check(res, { 'list 200': (r) => r.status === 200 });
+  } else if (roll < 0.85) {
+    const res = http.get(`${BASE_URL}/api/projects`, { headers, tags: { op: 'projects' } });
+    check(res, { 'projects 200': (r) => r.status === 200 });
+  } else {
+    const created = http.post(tasksUrl, JSON.stringify({ title: 'Load task' }), { headers, tags: { op: 'create' } });
+    check(created, { 'create 201': (r) => r.status === 201 });
+    if (created.status === 201) {
+      const res = http.patch(`${tasksUrl}/${created.json('id')}/complete`, null, { headers, tags: { op: 'complete' } });
+      check(res, { 'complete 200': (r) => r.status === 200 });
+    }
+  }
+}
+
+export function handleSummary(data) {
+  const duration = data.metrics.http_req_duration.values;
+  const line = `${MODE}\treqs/s=${data.metrics.http_reqs.values.rate.toFixed(1)}`
+    + `\tp50=${duration['p(50)'].toFixed(1)}ms\tp99=${duration['p(99)'].toFixed(1)}ms`
+    + `\tfailed=${(data.metrics.http_req_failed.values.rate * 100).toFixed(2)}%\n`;
+  return {
+    stdout: line,
+    [`perf/results-${MODE}.json`]: JSON.stringify(data, null, 2),
+  };
+}
@@ -0,0 +1,62 @@
+package com.internship.taskmanager;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * Boots the application once per benchmark fork against a throwaway embedded PostgreSQL,
+ * so database-backed benchmarks never touch a developer or shared database.
+ */
+public final class BenchmarkContext {
+
+    public static final String USER_EMAIL = "demo@hahn.com";
+
+    private static EmbeddedPostgres postgres;
+    private static ConfigurableApplicationContext context;
+    private static int references;
+
+    private BenchmarkContext() {
+    }
+
+    public static synchronized ConfigurableApplicationContext acquire() {
+        if (context == null) {
+            try {
+                postgres = EmbeddedPostgres.builder().start();
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not start embedded PostgreSQL", e);
+            }
+            // Passed as arguments so they take precedence over application.properties
+            context = new SpringApplicationBuilder(TaskManagement.class).run(
+                    "--spring.datasource.url=" + postgres.getJdbcUrl("postgres", "postgres"),
+                    "--spring.datasource.username=postgres",
+                    "--spring.datasource.password=",
+                    "--spring.jpa.show-sql=false",
+                    "--server.port=0",
+                    "--logging.level.root=WARN",
+                    "--logging.level.org.springframework.security=WARN",
+                    "--jwt.secret=benchmark-secret-benchmark-secret-benchmark",
+                    "--jwt.expiration=3600000");
+        }
+        references++;
+        return context;
+    }
+
+    public static synchronized void release() {
+        if (--references > 0) {
+            return;
+        }
+        context.close();
+        context = null;
+        try {
+            postgres.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            postgres = null;
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.internship.taskmanager.dto;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonSerializationBenchmark {
+
+    @Param({"0", "10", "100", "1000"})
+    private int taskCount;
+
+    private JsonMapper jsonMapper;
+    private TaskResponse task;
+    private ProjectDetailResponse project;
+
+    @Setup
+    public void setUp() {
+        jsonMapper = JsonMapper.builder().build();
+        task = task(1);
+
+        List<TaskResponse> tasks = new ArrayList<>();
+        for (int i = 0; i < taskCount; i++) {
+            tasks.add(task(i + 1));
+        }
+        project = ProjectDetailResponse.builder()
+                .id(1L)
+                .title("Benchmark project")
+                .description("Serialized project with " + taskCount + " tasks")
+                .createdAt(LocalDateTime.now())
+                .totalTasks(taskCount)
+                .completedTasks(taskCount / 2)
+                .progressPercentage(taskCount == 0 ? 0.0 : 50.0)
+                .tasks(tasks)
+                .build();
+    }
+
+    @Benchmark
+    public byte[] serializeTaskResponse() {
+        return jsonMapper.writeValueAsBytes(task);
+    }
+
+    @Benchmark
+    public byte[] serializeProjectDetailResponse() {
+        return jsonMapper.writeValueAsBytes(project);
+    }
+
+    private static TaskResponse task(long id) {
+        return TaskResponse.builder()
+                .id(id)
+                .title("Task " + id)
+                .description("Description for task " + id)
+                .dueDate(LocalDate.now().plusDays(id % 30))
+                .isCompleted(id % 2 == 0)
+                .createdAt(LocalDateTime.now())
+                .build();
+    }
+}
@@ -0,0 +1,119 @@
+package com.internship.taskmanager.service;
+
+import com.internship.taskmanager.BenchmarkContext;
+import com.internship.taskmanager.dto.ProjectDetailResponse;
+import com.internship.taskmanager.dto.ProjectRequest;
+import com.internship.taskmanager.dto.TaskBatchOperation;
+import com.internship.taskmanager.dto.TaskBatchRequest;
+import com.internship.taskmanager.model.Project;
+import com.internship.taskmanager.model.Task;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProjectServiceBenchmark {
+
+    /** A project held in memory: measures the entity-to-DTO mapping alone. */
+    @State(Scope.Benchmark)
+    public static class Detached {
+
+        @Param({"0", "10", "100", "1000"})
+        int taskCount;
+
+        ProjectService projectService;
+        Project project;
+
+        @Setup
+        public void setUp() {
+            projectService = new ProjectService();
+            project = Project.builder()
+                    .id(1L)
+                    .title("Benchmark project")
+                    .description("Detached project with " + taskCount + " tasks")
+                    .createdAt(LocalDateTime.now())
+                    .totalTasks(taskCount)
+                    .completedTasks(taskCount / 2)
+                    .build();
+            for (int i = 0; i < taskCount; i++) {
+                project.getTasks().add(Task.builder()
+                        .id((long) i + 1)
+                        .title("Task " + i)
+                        .description("Description for task " + i)
+                        .dueDate(LocalDate.now().plusDays(i % 30))
+                        .isCompleted(i % 2 == 0)
+                        .createdAt(LocalDateTime.now())
+                        .project(project)
+                        .build());
+            }
+        }
+    }
+
+    /** A persisted project: measures the full read path, query and lazy task load included. */
+    @State(Scope.Benchmark)
+    public static class Persisted {
+
+        @Param({"0", "10", "100", "1000"})
+        int taskCount;
+
+        ProjectService projectService;
+        Long projectId;
+
+        @Setup
+        public void setUp() {
+            ConfigurableApplicationContext context = BenchmarkContext.acquire();
+            projectService = context.getBean(ProjectService.class);
+            projectId = projectService.createProject(ProjectRequest.builder()
+                    .title("Benchmark project " + taskCount)
+                    .build(), BenchmarkContext.USER_EMAIL).getId();
+
+            if (taskCount > 0) {
+                List<TaskBatchOperation> operations = new ArrayList<>();
+                for (int i = 0; i < taskCount; i++) {
+                    operations.add(TaskBatchOperation.builder()
+                            .op(TaskBatchOperation.Type.CREATE)
+                            .title("Task " + i)
+                            .dueDate(LocalDate.now().plusDays(i % 30))
+                            .build());
+                }
+                context.getBean(TaskBatchService.class).applyBatch(projectId,
+                        TaskBatchRequest.builder().operations(operations).build(), BenchmarkContext.USER_EMAIL);
+            }
+        }
+
+        @TearDown
+        public void tearDown() {
+            BenchmarkContext.release();
+        }
+    }
+
+    @Benchmark
+    public ProjectDetailResponse mapToProjectDetailResponse(Detached state) {
+        return state.projectService.mapToProjectDetailResponse(state.project);
+    }
+
+    @Benchmark
+    public ProjectDetailResponse getProjectById(Persisted state) {
+        return state.projectService.getProjectById(state.projectId, BenchmarkContext.USER_EMAIL);
+    }
+}
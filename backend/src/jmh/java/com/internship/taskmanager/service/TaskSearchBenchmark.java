@@ -0,0 +1,110 @@
+package com.internship.taskmanager.service;
+
+import com.internship.taskmanager.BenchmarkContext;
+import com.internship.taskmanager.dto.CursorPage;
+import com.internship.taskmanager.dto.TaskSearchResult;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Search latency for one user while the table holds millions of other users' tasks. Seeding runs in
+ * SQL, but still takes a minute or so per fork at the default sizes.
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+@Threads(8)
+public class TaskSearchBenchmark {
+
+    private static final int TASKS_PER_PROJECT = 100;
+
+    // Ten title words, so a title term matches a tenth of all tasks, and five description words
+    private static final String SEED_TASKS = """
+            INSERT INTO tasks (id, project_id, title, description, is_completed, created_at, updated_at, version)
+            SELECT nextval('tasks_seq'), p.id,
+                   (ARRAY['deploy','review','invoice','meeting','design','refactor','test','release','budget','hiring'])
+                       [1 + g % 10] || ' item ' || g,
+                   'notes about ' || (ARRAY['alpha','beta','gamma','delta','epsilon'])[1 + g % 5] || ' ' || md5(g::text),
+                   false, now(), now(), 0
+            FROM projects p CROSS JOIN generate_series(1, ?) g
+            WHERE p.user_id = ?
+            """;
+
+    @State(Scope.Benchmark)
+    public static class Dataset {
+
+        // Tasks of the searching user
+        @Param({"1000", "20000", "100000"})
+        int userTasks;
+
+        // Tasks of everyone else
+        @Param({"2000000"})
+        int otherTasks;
+
+        TaskSearchService taskSearchService;
+
+        @Setup
+        public void setUp() {
+            ConfigurableApplicationContext context = BenchmarkContext.acquire();
+            taskSearchService = context.getBean(TaskSearchService.class);
+            JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+
+            Long userId = jdbcTemplate.queryForObject("SELECT id FROM users WHERE email = ?", Long.class,
+                    BenchmarkContext.USER_EMAIL);
+            Long otherId = jdbcTemplate.queryForObject("""
+                    INSERT INTO users (email, password, name, created_at)
+                    VALUES ('others@benchmark.local', 'unused', 'Other users', now())
+                    RETURNING id
+                    """, Long.class);
+            seed(jdbcTemplate, userId, userTasks);
+            seed(jdbcTemplate, otherId, otherTasks);
+            jdbcTemplate.execute("ANALYZE");
+        }
+
+        private static void seed(JdbcTemplate jdbcTemplate, Long userId, int taskCount) {
+            jdbcTemplate.update("""
+                    INSERT INTO projects (id, title, user_id, created_at, total_tasks, completed_tasks)
+                    SELECT nextval('projects_seq'), 'Project ' || g, ?, now(), ?, 0
+                    FROM generate_series(1, ?) g
+                    """, userId, TASKS_PER_PROJECT, Math.max(1, taskCount / TASKS_PER_PROJECT));
+            jdbcTemplate.update(SEED_TASKS, TASKS_PER_PROJECT, userId);
+        }
+
+        @TearDown
+        public void tearDown() {
+            BenchmarkContext.release();
+        }
+    }
+
+    @Benchmark
+    public CursorPage<TaskSearchResult> commonTerm(Dataset dataset) {
+        return dataset.taskSearchService.search("deploy", null, 20, BenchmarkContext.USER_EMAIL);
+    }
+
+    @Benchmark
+    public CursorPage<TaskSearchResult> twoTermPrefix(Dataset dataset) {
+        return dataset.taskSearchService.search("depl alph", null, 20, BenchmarkContext.USER_EMAIL);
+    }
+
+    @Benchmark
+    public CursorPage<TaskSearchResult> rareTerm(Dataset dataset) {
+        return dataset.taskSearchService.search("c4ca4238", null, 20, BenchmarkContext.USER_EMAIL);
+    }
+}
@@ -1,9 +1,16 @@
 package com.internship.taskmanager;
 
+import com.internship.taskmanager.config.NativeRuntimeHints;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.ImportRuntimeHints;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableAsync
+@EnableScheduling
+@ImportRuntimeHints(NativeRuntimeHints.class)
 public class TaskManagement {
 
     public static void main(String[] args) {
@@ -0,0 +1,91 @@
+package com.internship.taskmanager.config;
+
+import com.internship.taskmanager.dto.ErrorResponse;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Caps the number of API requests in flight.
+ *
+ * <p>With platform threads Tomcat's worker pool bounds concurrency implicitly. With virtual threads
+ * enabled every accepted connection gets its own thread, so without this cap a burst would pile up
+ * behind the Hikari pool until requests time out. Requests wait briefly for a permit and are
+ * answered with 503 when none frees up.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(ConcurrencyLimitFilter.class);
+
+    private final Semaphore permits;
+    private final long acquireTimeoutMillis;
+    private final JsonMapper jsonMapper;
+
+    public ConcurrencyLimitFilter(@Value("${app.web.concurrency-limit.max-in-flight:200}") int maxInFlight,
+                                  @Value("${app.web.concurrency-limit.acquire-timeout:2s}") Duration acquireTimeout,
+                                  JsonMapper jsonMapper) {
+        this.permits = new Semaphore(maxInFlight, true);
+        this.acquireTimeoutMillis = acquireTimeout.toMillis();
+        this.jsonMapper = jsonMapper;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith("/api/") || request.getRequestURI().equals("/api/health");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(acquireTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+
+        if (!acquired) {
+            logger.warn("Rejecting {} {}: concurrency limit reached", request.getMethod(), request.getRequestURI());
+            reject(request, response);
+            return;
+        }
+
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            permits.release();
+        }
+    }
+
+    public int availablePermits() {
+        return permits.availablePermits();
+    }
+
+    private void reject(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        HttpStatus status = HttpStatus.SERVICE_UNAVAILABLE;
+        response.setStatus(status.value());
+        response.setHeader("Retry-After", "1");
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        jsonMapper.writeValue(response.getOutputStream(), ErrorResponse.of(status.value(), status.getReasonPhrase(),
+                "Server is busy, please retry", request.getRequestURI()));
+    }
+}
@@ -0,0 +1,70 @@
+package com.internship.taskmanager.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.health.contributor.Health;
+import org.springframework.boot.health.contributor.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Checks that a pooled connection to the primary is still valid, for the readiness probe and
+ * {@code /api/health}. The result is reused for {@code app.health.database.cache-ttl}, so probes
+ * from several kubelets and load balancers cost at most one check per interval; a database that
+ * stops answering marks the instance not ready within that interval plus the check timeout.
+ */
+@Component
+public class DatabaseHealthIndicator implements HealthIndicator {
+
+    private final DataSource dataSource;
+    private final long ttlNanos;
+    private final int timeoutSeconds;
+
+    private final Object lock = new Object();
+    private volatile CachedHealth cached;
+
+    public DatabaseHealthIndicator(DataSource dataSource,
+                                   @Value("${app.health.database.cache-ttl:5s}") Duration ttl,
+                                   @Value("${app.health.database.timeout:2s}") Duration timeout) {
+        this.dataSource = dataSource;
+        this.ttlNanos = ttl.toNanos();
+        this.timeoutSeconds = (int) Math.max(1, timeout.toSeconds());
+    }
+
+    @Override
+    public Health health() {
+        CachedHealth current = cached;
+        if (current != null && System.nanoTime() - current.checkedAtNanos() < ttlNanos) {
+            return current.health();
+        }
+        synchronized (lock) {
+            // Callers that waited on the lock reuse the check that just finished
+            current = cached;
+            if (current == null || System.nanoTime() - current.checkedAtNanos() >= ttlNanos) {
+                current = new CachedHealth(check(), System.nanoTime());
+                cached = current;
+            }
+            return current.health();
+        }
+    }
+
+    private Health check() {
+        long start = System.nanoTime();
+        Health.Builder builder;
+        try (Connection connection = dataSource.getConnection()) {
+            builder = connection.isValid(timeoutSeconds) ? Health.up() : Health.down();
+        } catch (Exception e) {
+            builder = Health.down(e);
+        }
+        return builder
+                .withDetail("validationMillis", (System.nanoTime() - start) / 1_000_000)
+                .withDetail("checkedAt", Instant.now())
+                .build();
+    }
+
+    private record CachedHealth(Health health, long checkedAtNanos) {
+    }
+}
@@ -0,0 +1,55 @@
+package com.internship.taskmanager.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.Properties;
+
+/**
+ * Opens connections to the primary outside the pool, for work that ties state to one session for a
+ * long time (LISTEN, session advisory locks) and would otherwise pin a pooled connection. Each is
+ * named in pg_stat_activity, so operators can tell it apart from the pool, and uses TCP keepalive
+ * so a dead peer is noticed while the connection sits idle.
+ */
+@Component
+public class DedicatedConnectionFactory {
+
+    private final String url;
+    private final String username;
+    private final String password;
+
+    public DedicatedConnectionFactory(@Value("${spring.datasource.url}") String url,
+                                      @Value("${spring.datasource.username}") String username,
+                                      @Value("${spring.datasource.password}") String password) {
+        this.url = url;
+        this.username = username;
+        this.password = password;
+    }
+
+    public Connection open(String applicationName) throws SQLException {
+        Properties properties = new Properties();
+        properties.setProperty("user", username);
+        properties.setProperty("password", password);
+        properties.setProperty("ApplicationName", applicationName);
+        properties.setProperty("tcpKeepAlive", "true");
+        return DriverManager.getConnection(url, properties);
+    }
+
+    /**
+     * Closes a connection that may be null or already broken. The server ends the session, and
+     * releases anything tied to it, either way.
+     */
+    public static void closeQuietly(Connection connection) {
+        if (connection == null) {
+            return;
+        }
+        try {
+            connection.close();
+        } catch (SQLException ignored) {
+            // Nothing left to release on this side
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.internship.taskmanager.config;
+
+import com.internship.taskmanager.dto.ProjectDetailResponse;
+import com.internship.taskmanager.dto.ProjectResponse;
+import com.internship.taskmanager.dto.TransferRecord;
+import com.internship.taskmanager.service.ChangeNotice;
+import com.internship.taskmanager.service.TaskChangedEvent;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.TypeReference;
+
+/**
+ * Reflection and resource hints for the native image that Spring AOT cannot infer. Controller
+ * signatures are covered, but some types only go through the {@code JsonMapper} directly: cached
+ * project responses (served as bytes), SSE task events, change notices between nodes and
+ * import/export records. The second-level cache provider and its configuration are named in
+ * properties only.
+ */
+public class NativeRuntimeHints implements RuntimeHintsRegistrar {
+
+    static final String CHANGE_NOTICE_ENVELOPE = "com.internship.taskmanager.service.ChangeNoticeBus$Envelope";
+    static final String JCACHE_PROVIDER = "com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider";
+
+    private final BindingReflectionHintsRegistrar bindingRegistrar = new BindingReflectionHintsRegistrar();
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        bindingRegistrar.registerReflectionHints(hints.reflection(),
+                ProjectResponse.class, ProjectDetailResponse.class, TaskChangedEvent.class, ChangeNotice.class,
+                TransferRecord.class);
+        // Package-private, so named rather than referenced; its fields are covered by ChangeNotice above
+        hints.reflection().registerType(TypeReference.of(CHANGE_NOTICE_ENVELOPE),
+                MemberCategory.INVOKE_DECLARED_CONSTRUCTORS, MemberCategory.INVOKE_DECLARED_METHODS,
+                MemberCategory.ACCESS_DECLARED_FIELDS);
+        hints.reflection().registerType(TypeReference.of(JCACHE_PROVIDER),
+                MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+        hints.resources().registerPattern("hibernate-cache.conf");
+        // Caffeine's JCache defaults, merged under hibernate-cache.conf
+        hints.resources().registerPattern("reference.conf");
+    }
+}
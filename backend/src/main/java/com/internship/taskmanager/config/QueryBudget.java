@@ -0,0 +1,21 @@
+package com.internship.taskmanager.config;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Most SQL statements one request to the annotated handler may execute, including those of the
+ * authentication filter. {@link QueryMetricsFilter} logs requests over budget, or fails them when
+ * {@code app.query-metrics.fail-over-budget=true}, which is how the tests catch a lazy load that turns
+ * into one query per row.
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.METHOD, ElementType.TYPE})
+public @interface QueryBudget {
+
+    int value();
+}
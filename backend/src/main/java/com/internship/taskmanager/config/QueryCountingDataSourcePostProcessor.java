@@ -0,0 +1,25 @@
+package com.internship.taskmanager.config;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+
+/**
+ * Wraps the application's {@code dataSource} in a {@link QueryCountingDataSource}. Only that bean:
+ * with a read replica configured it routes to the pools, which would otherwise be counted twice.
+ */
+@Component
+@ConditionalOnProperty(name = "app.query-metrics.enabled", havingValue = "true", matchIfMissing = true)
+public class QueryCountingDataSourcePostProcessor implements BeanPostProcessor {
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if ("dataSource".equals(beanName) && bean instanceof DataSource dataSource
+                && !(bean instanceof QueryCountingDataSource)) {
+            return new QueryCountingDataSource(dataSource);
+        }
+        return bean;
+    }
+}
@@ -0,0 +1,185 @@
+package com.internship.taskmanager.config;
+
+import com.internship.taskmanager.exception.QueryBudgetExceededException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tracks the SQL statements each API request executes and records them per endpoint, as the
+ * {@code http.server.requests.queries} and {@code http.server.requests.query.time} histograms tagged
+ * like {@code http.server.requests}.
+ *
+ * <p>Optionally reports the count and time in {@code X-Query-Count} and {@code X-Query-Time} headers,
+ * as of when the response body starts, and checks the handler's {@link QueryBudget}.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 20)
+@ConditionalOnProperty(name = "app.query-metrics.enabled", havingValue = "true", matchIfMissing = true)
+public class QueryMetricsFilter extends OncePerRequestFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(QueryMetricsFilter.class);
+
+    static final String COUNT_HEADER = "X-Query-Count";
+    static final String TIME_HEADER = "X-Query-Time";
+
+    private final MeterRegistry meterRegistry;
+    private final boolean debugHeaders;
+    private final boolean failOverBudget;
+
+    public QueryMetricsFilter(MeterRegistry meterRegistry,
+                              @Value("${app.query-metrics.debug-headers:false}") boolean debugHeaders,
+                              @Value("${app.query-metrics.fail-over-budget:false}") boolean failOverBudget) {
+        this.meterRegistry = meterRegistry;
+        this.debugHeaders = debugHeaders;
+        this.failOverBudget = failOverBudget;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith("/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        QueryStats stats = QueryStats.start();
+        HttpServletResponse target = debugHeaders ? new QueryHeaderResponse(response, stats) : response;
+        try {
+            chain.doFilter(request, target);
+            if (target instanceof QueryHeaderResponse headerResponse) {
+                // No body, as for 204 and 304
+                headerResponse.addQueryHeaders();
+            }
+        } finally {
+            QueryStats.stop();
+            record(request, response, stats);
+        }
+        checkBudget(request, stats);
+    }
+
+    private void record(HttpServletRequest request, HttpServletResponse response, QueryStats stats) {
+        String method = request.getMethod();
+        String uri = uri(request);
+        String status = Integer.toString(response.getStatus());
+        DistributionSummary.builder("http.server.requests.queries")
+                .description("SQL statements executed per request")
+                .baseUnit("statements")
+                .tags("method", method, "uri", uri, "status", status)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(stats.getCount());
+        Timer.builder("http.server.requests.query.time")
+                .description("Time spent executing SQL statements per request")
+                .tags("method", method, "uri", uri, "status", status)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(stats.getNanos(), TimeUnit.NANOSECONDS);
+    }
+
+    private void checkBudget(HttpServletRequest request, QueryStats stats) {
+        if (!(request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE) instanceof HandlerMethod handler)) {
+            return;
+        }
+        QueryBudget budget = AnnotatedElementUtils.findMergedAnnotation(handler.getMethod(), QueryBudget.class);
+        if (budget == null) {
+            budget = AnnotatedElementUtils.findMergedAnnotation(handler.getBeanType(), QueryBudget.class);
+        }
+        if (budget == null || stats.getCount() <= budget.value()) {
+            return;
+        }
+
+        Counter.builder("http.server.requests.query.budget.exceeded")
+                .tags("method", request.getMethod(), "uri", uri(request))
+                .register(meterRegistry)
+                .increment();
+        String message = String.format("%s %s executed %d SQL statements, budget is %d",
+                request.getMethod(), uri(request), stats.getCount(), budget.value());
+        if (failOverBudget) {
+            throw new QueryBudgetExceededException(message);
+        }
+        logger.warn(message);
+    }
+
+    private static String uri(HttpServletRequest request) {
+        // The mapped pattern keeps ids out of the tags; unmapped requests share one tag
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern != null ? pattern.toString() : "UNKNOWN";
+    }
+
+    /**
+     * Adds the query headers just before the body starts, while headers can still be set.
+     */
+    private static class QueryHeaderResponse extends HttpServletResponseWrapper {
+
+        private final QueryStats stats;
+        private boolean added;
+
+        QueryHeaderResponse(HttpServletResponse response, QueryStats stats) {
+            super(response);
+            this.stats = stats;
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            addQueryHeaders();
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            addQueryHeaders();
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            addQueryHeaders();
+            super.flushBuffer();
+        }
+
+        @Override
+        public void sendError(int sc, String msg) throws IOException {
+            addQueryHeaders();
+            super.sendError(sc, msg);
+        }
+
+        @Override
+        public void sendError(int sc) throws IOException {
+            addQueryHeaders();
+            super.sendError(sc);
+        }
+
+        void addQueryHeaders() {
+            if (added || isCommitted()) {
+                return;
+            }
+            added = true;
+            setHeader(COUNT_HEADER, Integer.toString(stats.getCount()));
+            setHeader(TIME_HEADER, String.format(Locale.ROOT, "%.3fms", stats.getNanos() / 1_000_000.0));
+        }
+    }
+}
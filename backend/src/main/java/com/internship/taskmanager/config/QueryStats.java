@@ -0,0 +1,50 @@
+package com.internship.taskmanager.config;
+
+/**
+ * SQL statements executed by the current thread while a request is being served, as counted by
+ * {@link QueryCountingDataSource}. Only the thread that tracks sees the counts; work handed to
+ * other threads is not attributed to the request.
+ */
+public final class QueryStats {
+
+    private static final ThreadLocal<QueryStats> CURRENT = new ThreadLocal<>();
+
+    private int count;
+    private long nanos;
+
+    private QueryStats() {
+    }
+
+    /**
+     * Starts tracking on this thread; pair with {@link #stop()}.
+     */
+    public static QueryStats start() {
+        QueryStats stats = new QueryStats();
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    public static void stop() {
+        CURRENT.remove();
+    }
+
+    /**
+     * @return the stats of the request served by this thread, or null outside a tracked request
+     */
+    public static QueryStats current() {
+        return CURRENT.get();
+    }
+
+    void record(long elapsedNanos) {
+        count++;
+        nanos += elapsedNanos;
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    public long getNanos() {
+        return nanos;
+    }
+}
@@ -0,0 +1,112 @@
+package com.internship.taskmanager.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.autoconfigure.DataSourceProperties;
+import org.springframework.boot.jpa.autoconfigure.JpaProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.orm.jpa.JpaVendorAdapter;
+import org.springframework.orm.jpa.vendor.HibernateJpaDialect;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import org.springframework.util.StringUtils;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Optional read replica: read-only transactions use a second pool while the replica keeps up, all
+ * other work stays on the primary. Without {@code app.datasource.replica.enabled} none of this is
+ * registered and Boot configures the single primary pool as usual.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.datasource.replica.enabled", havingValue = "true")
+public class ReadReplicaConfig {
+
+    // Lets operators tell replica connections apart in pg_stat_activity
+    private static final String REPLICA_APPLICATION_NAME = "task-manager-replica";
+    private static final long RECENT_WRITERS_MAX_SIZE = 100_000;
+
+    @Bean(defaultCandidate = false)
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties,
+                                              ObjectProvider<MeterRegistry> meterRegistry) {
+        HikariDataSource primary = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        // Boot only binds pool metrics for pools it can reach through the dataSource bean, and the
+        // routing data source hides both
+        meterRegistry.ifAvailable(primary::setMetricRegistry);
+        return primary;
+    }
+
+    @Bean(defaultCandidate = false)
+    public HikariDataSource replicaDataSource(DataSourceProperties properties,
+                                              @Value("${app.datasource.replica.url}") String url,
+                                              @Value("${app.datasource.replica.username:}") String username,
+                                              @Value("${app.datasource.replica.password:}") String password,
+                                              @Value("${app.datasource.replica.maximum-pool-size:20}") int maximumPoolSize,
+                                              ObjectProvider<MeterRegistry> meterRegistry) {
+        HikariDataSource replica = properties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .url(url)
+                .username(StringUtils.hasText(username) ? username : properties.determineUsername())
+                .password(StringUtils.hasText(password) ? password : properties.determinePassword())
+                .build();
+        replica.setPoolName("replica");
+        replica.setMaximumPoolSize(maximumPoolSize);
+        replica.setReadOnly(true);
+        replica.addDataSourceProperty("ApplicationName", REPLICA_APPLICATION_NAME);
+        // A replica that is down must not hold up startup; the lag monitor keeps reads on the primary
+        replica.setInitializationFailTimeout(-1);
+        meterRegistry.ifAvailable(replica::setMetricRegistry);
+        return replica;
+    }
+
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(@Qualifier("primaryDataSource") DataSource primary,
+                                               @Qualifier("replicaDataSource") DataSource replica,
+                                               @Value("${app.datasource.replica.max-lag:5s}") Duration maxLag,
+                                               @Value("${app.datasource.replica.lag-query-timeout:2s}") Duration queryTimeout) {
+        return new ReplicaLagMonitor(primary, replica, maxLag, queryTimeout);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primary,
+                                 @Qualifier("replicaDataSource") DataSource replica) {
+        return new ReplicaRoutingDataSource(primary, replica);
+    }
+
+    /**
+     * Boot's vendor adapter, configured the same way, with the dialect that picks the route.
+     * A user's reads stay on the primary for max-lag plus one check interval after their last write:
+     * the longest a replica still in rotation can be behind.
+     */
+    @Bean
+    public JpaVendorAdapter jpaVendorAdapter(JpaProperties properties, ReplicaLagMonitor replicaLagMonitor,
+                                             @Value("${app.datasource.replica.max-lag:5s}") Duration maxLag,
+                                             @Value("${app.datasource.replica.lag-check-interval:1s}") Duration checkInterval) {
+        RecentWriters recentWriters = new RecentWriters(maxLag.plus(checkInterval), RECENT_WRITERS_MAX_SIZE);
+        HibernateJpaDialect dialect = new ReplicaAwareJpaDialect(replicaLagMonitor, recentWriters);
+        HibernateJpaVendorAdapter adapter = new HibernateJpaVendorAdapter() {
+            @Override
+            public HibernateJpaDialect getJpaDialect() {
+                return dialect;
+            }
+        };
+        adapter.setShowSql(properties.isShowSql());
+        if (properties.getDatabase() != null) {
+            adapter.setDatabase(properties.getDatabase());
+        }
+        if (properties.getDatabasePlatform() != null) {
+            adapter.setDatabasePlatform(properties.getDatabasePlatform());
+        }
+        adapter.setGenerateDdl(properties.isGenerateDdl());
+        return adapter;
+    }
+}
@@ -0,0 +1,68 @@
+package com.internship.taskmanager.config;
+
+import java.util.function.Supplier;
+
+/**
+ * Thread-bound choice between the primary and the read replica.
+ *
+ * <p>{@link ReplicaAwareJpaDialect} picks the route when a read-only transaction begins and
+ * {@link ReplicaRoutingDataSource} follows it; everything else uses the primary. Code that fills a
+ * shared cache wraps its reads in {@link #onPrimary(Supplier)}: a lagging replica would otherwise
+ * put a state that predates the write which just evicted the entry. Without a replica this is a
+ * no-op.
+ */
+public final class ReadRouting {
+
+    public enum Route {
+        PRIMARY, REPLICA
+    }
+
+    private static final ThreadLocal<Route> ROUTE = new ThreadLocal<>();
+    private static final ThreadLocal<Boolean> PRIMARY_REQUIRED = new ThreadLocal<>();
+
+    private ReadRouting() {
+    }
+
+    /**
+     * Runs the reads of {@code action}, including read-only transactions it starts, on the primary.
+     */
+    public static <T> T onPrimary(Supplier<T> action) {
+        Boolean previous = PRIMARY_REQUIRED.get();
+        PRIMARY_REQUIRED.set(Boolean.TRUE);
+        try {
+            return action.get();
+        } finally {
+            if (previous == null) {
+                PRIMARY_REQUIRED.remove();
+            } else {
+                PRIMARY_REQUIRED.set(previous);
+            }
+        }
+    }
+
+    static boolean isPrimaryRequired() {
+        return PRIMARY_REQUIRED.get() != null;
+    }
+
+    static Route current() {
+        Route route = ROUTE.get();
+        return route != null ? route : Route.PRIMARY;
+    }
+
+    /**
+     * Binds a route and returns the one it replaces, to be handed back to {@link #restore(Route)}.
+     */
+    static Route bind(Route route) {
+        Route previous = ROUTE.get();
+        ROUTE.set(route);
+        return previous;
+    }
+
+    static void restore(Route previous) {
+        if (previous == null) {
+            ROUTE.remove();
+        } else {
+            ROUTE.set(previous);
+        }
+    }
+}
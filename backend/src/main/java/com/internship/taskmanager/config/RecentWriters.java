@@ -0,0 +1,47 @@
+package com.internship.taskmanager.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Duration;
+
+/**
+ * Users who finished a read-write transaction within the last {@code window}, keyed by the
+ * authenticated name. Their read-only transactions stay on the primary so they see their own writes,
+ * including the ownership checks and ETags that follow them, before the replica has replayed them.
+ * Work done outside a request (schedulers, listeners) is not tracked.
+ */
+class RecentWriters {
+
+    private final Cache<String, Boolean> writers;
+
+    RecentWriters(Duration window, long maxSize) {
+        this.writers = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(window)
+                .build();
+    }
+
+    void recordWrite() {
+        String name = currentName();
+        if (name != null) {
+            writers.put(name, Boolean.TRUE);
+        }
+    }
+
+    boolean wroteRecently() {
+        String name = currentName();
+        return name != null && writers.getIfPresent(name) != null;
+    }
+
+    private static String currentName() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return authentication.getName();
+    }
+}
@@ -0,0 +1,69 @@
+package com.internship.taskmanager.config;
+
+import jakarta.persistence.CacheStoreMode;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceException;
+import org.springframework.orm.jpa.vendor.HibernateJpaDialect;
+import org.springframework.transaction.TransactionDefinition;
+
+import java.sql.SQLException;
+
+import static org.hibernate.jpa.SpecHints.HINT_SPEC_CACHE_STORE_MODE;
+
+/**
+ * Routes read-only transactions to the replica while {@link ReplicaLagMonitor} considers it current,
+ * except for users who just wrote (see {@link RecentWriters}).
+ *
+ * <p>The route is bound before the transaction takes its connection and kept until cleanup. Replica
+ * sessions read the second-level cache but never put into it: the entry may have been evicted by a
+ * write the replica has not replayed yet.
+ */
+class ReplicaAwareJpaDialect extends HibernateJpaDialect {
+
+    private final ReplicaLagMonitor lagMonitor;
+    private final RecentWriters recentWriters;
+
+    ReplicaAwareJpaDialect(ReplicaLagMonitor lagMonitor, RecentWriters recentWriters) {
+        this.lagMonitor = lagMonitor;
+        this.recentWriters = recentWriters;
+    }
+
+    @Override
+    public Object beginTransaction(EntityManager entityManager, TransactionDefinition definition)
+            throws PersistenceException, SQLException {
+        boolean replica = definition.isReadOnly() && !ReadRouting.isPrimaryRequired()
+                && lagMonitor.isReplicaUsable() && !recentWriters.wroteRecently();
+        ReadRouting.Route previous = ReadRouting.bind(replica ? ReadRouting.Route.REPLICA : ReadRouting.Route.PRIMARY);
+        try {
+            if (replica) {
+                // As a property rather than a cache mode, so find() does not fall back to the default
+                entityManager.setProperty(HINT_SPEC_CACHE_STORE_MODE, CacheStoreMode.BYPASS);
+            }
+            return new RoutedTransactionData(super.beginTransaction(entityManager, definition), previous,
+                    !definition.isReadOnly());
+        } catch (SQLException | RuntimeException e) {
+            ReadRouting.restore(previous);
+            throw e;
+        }
+    }
+
+    @Override
+    public void cleanupTransaction(Object transactionData) {
+        if (transactionData instanceof RoutedTransactionData routed) {
+            try {
+                super.cleanupTransaction(routed.delegate());
+            } finally {
+                ReadRouting.restore(routed.previous());
+                // After commit, so the window covers a long transaction's own replay time
+                if (routed.write()) {
+                    recentWriters.recordWrite();
+                }
+            }
+        } else {
+            super.cleanupTransaction(transactionData);
+        }
+    }
+
+    private record RoutedTransactionData(Object delegate, ReadRouting.Route previous, boolean write) {
+    }
+}
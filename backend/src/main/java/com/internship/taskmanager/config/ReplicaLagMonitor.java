@@ -0,0 +1,128 @@
+package com.internship.taskmanager.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Polls the replica's replay position against the primary's WAL position and takes the replica out
+ * of rotation while it is more than {@code app.datasource.replica.max-lag} behind, is not streaming
+ * from the primary, or cannot be reached. Until the first successful check every read goes to the
+ * primary.
+ */
+public class ReplicaLagMonitor {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReplicaLagMonitor.class);
+
+    private static final String STREAMING = "streaming";
+
+    // Read from the primary first: a replica that has replayed up to this position has every
+    // transaction committed before the check started
+    private static final String PRIMARY_POSITION_QUERY = "SELECT pg_current_wal_lsn()::text";
+
+    // A replica that has replayed up to the primary's position is current even if the primary has been
+    // idle for a while, which would make the replay timestamp look old. A server that is not in
+    // recovery (a stand-in replica) has no lag at all.
+    private static final String REPLICA_STATUS_QUERY = """
+            SELECT pg_is_in_recovery() AS in_recovery,
+                   (SELECT status FROM pg_stat_wal_receiver) AS receiver_status,
+                   COALESCE(pg_last_wal_replay_lsn() >= CAST(? AS pg_lsn), false) AS caught_up,
+                   COALESCE((EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) * 1000)::bigint, 0) AS replay_age
+            """;
+
+    private final JdbcTemplate primaryJdbcTemplate;
+    private final JdbcTemplate replicaJdbcTemplate;
+    private final long maxLagMillis;
+    private final AtomicLong fallbacks = new AtomicLong();
+
+    private volatile boolean usable;
+    // -1 while unknown
+    private volatile long lagMillis = -1;
+
+    public ReplicaLagMonitor(DataSource primary, DataSource replica, Duration maxLag, Duration queryTimeout) {
+        int timeoutSeconds = (int) Math.max(1, queryTimeout.toSeconds());
+        this.primaryJdbcTemplate = new JdbcTemplate(primary);
+        this.primaryJdbcTemplate.setQueryTimeout(timeoutSeconds);
+        this.replicaJdbcTemplate = new JdbcTemplate(replica);
+        this.replicaJdbcTemplate.setQueryTimeout(timeoutSeconds);
+        this.maxLagMillis = maxLag.toMillis();
+    }
+
+    @Scheduled(fixedDelayString = "${app.datasource.replica.lag-check-interval:1s}")
+    public void check() {
+        try {
+            String primaryPosition = primaryJdbcTemplate.queryForObject(PRIMARY_POSITION_QUERY, String.class);
+            recordStatus(replicaJdbcTemplate.queryForObject(REPLICA_STATUS_QUERY,
+                    (rs, rowNum) -> new ReplicaStatus(rs.getBoolean("in_recovery"), rs.getString("receiver_status"),
+                            rs.getBoolean("caught_up"), rs.getLong("replay_age")),
+                    primaryPosition));
+        } catch (RuntimeException e) {
+            if (usable) {
+                logger.warn("Read replica unreachable, reading from the primary: {}", e.getMessage());
+            }
+            lagMillis = -1;
+            setUsable(false);
+        }
+    }
+
+    public boolean isReplicaUsable() {
+        return usable;
+    }
+
+    public long getLagMillis() {
+        return lagMillis;
+    }
+
+    /**
+     * Times the replica was taken out of rotation.
+     */
+    public long getFallbackCount() {
+        return fallbacks.get();
+    }
+
+    void recordStatus(ReplicaStatus status) {
+        if (!status.inRecovery()) {
+            recordLag(0);
+            return;
+        }
+        // A replica cut off from the primary replays what it has and then looks caught up forever
+        if (!STREAMING.equals(status.receiverStatus())) {
+            if (usable) {
+                logger.warn("Read replica is not streaming from the primary (receiver {}), reading from the primary",
+                        status.receiverStatus() != null ? status.receiverStatus() : "stopped");
+            }
+            lagMillis = -1;
+            setUsable(false);
+            return;
+        }
+        recordLag(status.caughtUp() ? 0 : status.replayAgeMillis());
+    }
+
+    void recordLag(long lagMillis) {
+        this.lagMillis = lagMillis;
+        boolean current = lagMillis <= maxLagMillis;
+        if (usable && !current) {
+            logger.warn("Read replica is {} ms behind (limit {} ms), reading from the primary", lagMillis, maxLagMillis);
+        }
+        setUsable(current);
+    }
+
+    private void setUsable(boolean usable) {
+        if (this.usable && !usable) {
+            fallbacks.incrementAndGet();
+        }
+        this.usable = usable;
+    }
+
+    /**
+     * @param receiverStatus status of the WAL receiver, null when none is running
+     * @param caughtUp       whether the replica has replayed up to the primary's current position
+     */
+    record ReplicaStatus(boolean inRecovery, String receiverStatus, boolean caughtUp, long replayAgeMillis) {
+    }
+}
@@ -0,0 +1,25 @@
+package com.internship.taskmanager.config;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * Hands out replica connections to read-only transactions that {@link ReplicaAwareJpaDialect} routed
+ * there, and primary connections to everything else.
+ */
+class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    ReplicaRoutingDataSource(DataSource primary, DataSource replica) {
+        setTargetDataSources(Map.of(ReadRouting.Route.PRIMARY, primary, ReadRouting.Route.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        setLenientFallback(false);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return ReadRouting.current();
+    }
+}
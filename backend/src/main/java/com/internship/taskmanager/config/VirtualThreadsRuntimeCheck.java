@@ -0,0 +1,28 @@
+package com.internship.taskmanager.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Fails startup when virtual threads are requested on a runtime older than Java 21. Boot would
+ * otherwise fall back to platform threads without a word, and a deployment sized for virtual
+ * threads (see {@link ConcurrencyLimitFilter}) would run on a fixed Tomcat worker pool instead.
+ */
+@Component
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class VirtualThreadsRuntimeCheck {
+
+    static final int MINIMUM_FEATURE_VERSION = 21;
+
+    public VirtualThreadsRuntimeCheck() {
+        check(Runtime.version().feature());
+    }
+
+    static void check(int featureVersion) {
+        if (featureVersion < MINIMUM_FEATURE_VERSION) {
+            throw new IllegalStateException("spring.threads.virtual.enabled=true needs Java "
+                    + MINIMUM_FEATURE_VERSION + " or newer, but this runtime is Java " + featureVersion
+                    + "; run on a newer JRE or set VIRTUAL_THREADS_ENABLED=false");
+        }
+    }
+}
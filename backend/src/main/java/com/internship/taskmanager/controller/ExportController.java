@@ -0,0 +1,31 @@
+package com.internship.taskmanager.controller;
+
+import com.internship.taskmanager.service.ExportService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+@RestController
+@RequestMapping("/api/export")
+public class ExportController {
+
+    @Autowired
+    private ExportService exportService;
+
+    @GetMapping
+    public ResponseEntity<StreamingResponseBody> exportUserData(Authentication authentication) {
+        // Resolve the user on the request thread; the body is written later on an async thread
+        Long userId = exportService.resolveUserId(authentication.getName());
+        StreamingResponseBody body = out -> exportService.exportUserData(userId, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"export.ndjson\"")
+                .body(body);
+    }
+}
@@ -1,5 +1,17 @@
 package com.internship.taskmanager.controller;
 
+import com.internship.taskmanager.config.DatabaseHealthIndicator;
+import com.internship.taskmanager.config.ReplicaLagMonitor;
+import com.internship.taskmanager.security.PrincipalCache;
+import com.internship.taskmanager.service.ProjectResponseCache;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.health.contributor.Health;
+import org.springframework.boot.health.contributor.Status;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -7,17 +19,79 @@ import org.springframework.web.bind.annotation.RestController;
 
 import java.time.LocalDateTime;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 @RestController
 @RequestMapping("/api/health")
 public class HealthController {
 
+    @Autowired
+    private PrincipalCache principalCache;
+
+    @Autowired
+    private ProjectResponseCache projectResponseCache;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private DatabaseHealthIndicator databaseHealthIndicator;
+
+    // Only present when a read replica is configured
+    @Autowired(required = false)
+    private ReplicaLagMonitor replicaLagMonitor;
+
     @GetMapping
     public ResponseEntity<Map<String, Object>> health() {
+        Health database = databaseHealthIndicator.health();
         Map<String, Object> health = new HashMap<>();
-        health.put("status", "UP");
+        health.put("status", database.getStatus().getCode());
         health.put("timestamp", LocalDateTime.now());
-        return ResponseEntity.ok(health);
+        health.put("database", database.getDetails());
+        health.put("caches", Map.of(
+                "principal", Map.of(
+                        "hits", principalCache.hitCount(),
+                        "misses", principalCache.missCount(),
+                        "size", principalCache.size()),
+                "projectResponses", Map.of(
+                        "hits", projectResponseCache.hitCount(),
+                        "misses", projectResponseCache.missCount(),
+                        "hitRate", projectResponseCache.hitRate(),
+                        "size", projectResponseCache.size(),
+                        "bytes", projectResponseCache.weightedSize()),
+                "secondLevel", secondLevelCacheStats()
+        ));
+        if (replicaLagMonitor != null) {
+            health.put("replica", Map.of(
+                    "usable", replicaLagMonitor.isReplicaUsable(),
+                    "lagMillis", replicaLagMonitor.getLagMillis(),
+                    "fallbacks", replicaLagMonitor.getFallbackCount()));
+        }
+        HttpStatus status = Status.UP.equals(database.getStatus()) ? HttpStatus.OK : HttpStatus.SERVICE_UNAVAILABLE;
+        return ResponseEntity.status(status).body(health);
+    }
+
+    private Map<String, Object> secondLevelCacheStats() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        Map<String, Object> regions = new LinkedHashMap<>();
+        for (String region : statistics.getSecondLevelCacheRegionNames()) {
+            CacheRegionStatistics regionStatistics = statistics.getCacheRegionStatistics(region);
+            if (regionStatistics == null) {
+                continue;
+            }
+            regions.put(region, Map.of(
+                    "hits", regionStatistics.getHitCount(),
+                    "misses", regionStatistics.getMissCount(),
+                    "puts", regionStatistics.getPutCount()));
+        }
+        return Map.of(
+                "enabled", statistics.isStatisticsEnabled(),
+                "hits", statistics.getSecondLevelCacheHitCount(),
+                "misses", statistics.getSecondLevelCacheMissCount(),
+                "puts", statistics.getSecondLevelCachePutCount(),
+                "naturalIdHits", statistics.getNaturalIdCacheHitCount(),
+                "naturalIdMisses", statistics.getNaturalIdCacheMissCount(),
+                "regions", regions);
     }
 }
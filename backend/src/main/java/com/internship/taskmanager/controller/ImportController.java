@@ -0,0 +1,43 @@
+package com.internship.taskmanager.controller;
+
+import com.internship.taskmanager.dto.ImportJobResponse;
+import com.internship.taskmanager.model.ImportJob;
+import com.internship.taskmanager.service.ImportService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.InputStream;
+
+@RestController
+@RequestMapping("/api/imports")
+public class ImportController {
+
+    private static final String TEXT_CSV = "text/csv";
+
+    @Autowired
+    private ImportService importService;
+
+    @PostMapping(consumes = {MediaType.APPLICATION_NDJSON_VALUE, TEXT_CSV})
+    public ResponseEntity<ImportJobResponse> importData(
+            @RequestHeader("Content-Type") MediaType contentType,
+            @RequestParam(required = false) Long resumeJobId,
+            InputStream body,
+            Authentication authentication) {
+        String email = authentication.getName();
+        ImportJob.Format format = contentType.isCompatibleWith(MediaType.parseMediaType(TEXT_CSV))
+                ? ImportJob.Format.CSV
+                : ImportJob.Format.NDJSON;
+        ImportJobResponse job = importService.importData(body, format, resumeJobId, email);
+        return ResponseEntity.ok(job);
+    }
+
+    @GetMapping("/{jobId}")
+    public ResponseEntity<ImportJobResponse> getJob(@PathVariable Long jobId, Authentication authentication) {
+        String email = authentication.getName();
+        ImportJobResponse job = importService.getJob(jobId, email);
+        return ResponseEntity.ok(job);
+    }
+}
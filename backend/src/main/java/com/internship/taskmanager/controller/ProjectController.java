@@ -1,18 +1,22 @@
 package com.internship.taskmanager.controller;
 
-import com.internship.taskmanager.dto.ProjectDetailResponse;
+import com.internship.taskmanager.config.QueryBudget;
 import com.internship.taskmanager.dto.ProjectRequest;
 import com.internship.taskmanager.dto.ProjectResponse;
+import com.internship.taskmanager.service.ProjectResponseCache;
+import com.internship.taskmanager.service.ProjectResponseCache.SerializedResponse;
 import com.internship.taskmanager.service.ProjectService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
-
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
-import java.util.List;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/api/projects")
@@ -21,24 +25,56 @@ public class ProjectController {
     @Autowired
     private ProjectService projectService;
 
+    @Autowired
+    private ProjectResponseCache projectResponseCache;
+
+    @QueryBudget(2)
     @GetMapping
-    public ResponseEntity<List<ProjectResponse>> getUserProjects(Authentication authentication) {
+    public ResponseEntity<byte[]> getUserProjects(Authentication authentication, WebRequest webRequest) {
         String email = authentication.getName();
-        List<ProjectResponse> projects = projectService.getUserProjects(email);
-        return ResponseEntity.ok(projects);
+        return serialized(projectResponseCache.getUserProjects(email), webRequest);
     }
 
+    @QueryBudget(5)
     @GetMapping("/{projectId}")
-    public ResponseEntity<ProjectDetailResponse> getProjectById(@PathVariable Long projectId, Authentication authentication) {
+    public ResponseEntity<byte[]> getProjectById(@PathVariable Long projectId, Authentication authentication,
+                                                 WebRequest webRequest) {
         String email = authentication.getName();
-        ProjectDetailResponse project = projectService.getProjectById(projectId, email);
-        return ResponseEntity.ok(project);
+        Optional<SerializedResponse> cached = projectResponseCache.getCachedProject(projectId, email);
+        if (cached.isPresent()) {
+            return webRequest.checkNotModified(cached.get().getETag()) ? null : serialized(cached.get(), webRequest);
+        }
+        // Answers If-None-Match with 304 from the version aggregate, before any task row is read
+        if (webRequest.checkNotModified(projectService.getProjectETag(projectId, email))) {
+            return null;
+        }
+        return serialized(projectResponseCache.loadProject(projectId, email), webRequest);
     }
 
+    @QueryBudget(2)
     @PostMapping
     public ResponseEntity<ProjectResponse> createProject(@Valid @RequestBody ProjectRequest request, Authentication authentication) {
         String email = authentication.getName();
         ProjectResponse project = projectService.createProject(request, email);
         return ResponseEntity.status(HttpStatus.CREATED).body(project);
     }
+
+    /**
+     * Writes cached bytes as they are, gzipped when the client accepts it. A gzipped body gets the
+     * weak form of the ETag, as it is not byte-identical to the plain representation.
+     */
+    private static ResponseEntity<byte[]> serialized(SerializedResponse response, WebRequest webRequest) {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .varyBy(HttpHeaders.ACCEPT_ENCODING);
+        String acceptEncoding = webRequest.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        boolean gzip = response.getGzip() != null && acceptEncoding != null && acceptEncoding.contains("gzip");
+        if (response.getETag() != null) {
+            builder.eTag(gzip ? "W/" + response.getETag() : response.getETag());
+        }
+        if (gzip) {
+            return builder.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(response.getGzip());
+        }
+        return builder.body(response.getJson());
+    }
 }
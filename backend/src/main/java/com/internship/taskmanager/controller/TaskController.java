@@ -1,17 +1,27 @@
 package com.internship.taskmanager.controller;
 
 
+import com.internship.taskmanager.config.QueryBudget;
+import com.internship.taskmanager.dto.CursorPage;
+import com.internship.taskmanager.dto.TaskBatchRequest;
+import com.internship.taskmanager.dto.TaskBatchResponse;
+import com.internship.taskmanager.dto.TaskListQuery;
 import com.internship.taskmanager.dto.TaskRequest;
 import com.internship.taskmanager.dto.TaskResponse;
+import com.internship.taskmanager.dto.TaskSyncResponse;
 import com.internship.taskmanager.dto.TaskUpdateRequest;
+import com.internship.taskmanager.exception.PreconditionFailedException;
+import com.internship.taskmanager.service.TaskBatchService;
 import com.internship.taskmanager.service.TaskService;
+import com.internship.taskmanager.service.TaskSyncService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
-import java.util.List;
+import org.springframework.web.context.request.WebRequest;
 
 @RestController
 @RequestMapping("/api/projects/{projectId}/tasks")
@@ -20,15 +30,41 @@ public class TaskController {
     @Autowired
     private TaskService taskService;
 
+    @Autowired
+    private TaskBatchService taskBatchService;
+
+    @Autowired
+    private TaskSyncService taskSyncService;
+
+    @QueryBudget(4)
     @GetMapping
-    public ResponseEntity<List<TaskResponse>> getProjectTasks(
+    public ResponseEntity<CursorPage<TaskResponse>> getProjectTasks(
             @PathVariable Long projectId,
-            Authentication authentication) {
+            TaskListQuery query,
+            Authentication authentication,
+            WebRequest webRequest) {
         String email = authentication.getName();
-        List<TaskResponse> tasks = taskService.getProjectTasks(projectId, email);
+        // Answers If-None-Match with 304 from the version aggregate, before any task row is read
+        if (webRequest.checkNotModified(taskService.getProjectTasksETag(projectId, query, email))) {
+            return null;
+        }
+        CursorPage<TaskResponse> tasks = taskService.getProjectTasks(projectId, query, email);
         return ResponseEntity.ok(tasks);
     }
 
+    @QueryBudget(3)
+    @GetMapping("/changes")
+    public ResponseEntity<TaskSyncResponse> getTaskChanges(
+            @PathVariable Long projectId,
+            @RequestParam(required = false) String since,
+            @RequestParam(required = false) Integer limit,
+            Authentication authentication) {
+        String email = authentication.getName();
+        TaskSyncResponse changes = taskSyncService.getChanges(projectId, since, limit, email);
+        return ResponseEntity.ok(changes);
+    }
+
+    @QueryBudget(4)
     @PostMapping
     public ResponseEntity<TaskResponse> createTask(
             @PathVariable Long projectId,
@@ -39,34 +75,70 @@ public class TaskController {
         return ResponseEntity.status(HttpStatus.CREATED).body(task);
     }
 
+    @QueryBudget(8)
+    @PostMapping("/batch")
+    public ResponseEntity<TaskBatchResponse> applyBatch(
+            @PathVariable Long projectId,
+            @Valid @RequestBody TaskBatchRequest request,
+            Authentication authentication) {
+        String email = authentication.getName();
+        TaskBatchResponse response = taskBatchService.applyBatch(projectId, request, email);
+        return ResponseEntity.ok(response);
+    }
+
+    @QueryBudget(2)
     @PutMapping("/{taskId}")
     public ResponseEntity<TaskResponse> updateTask(
             @PathVariable Long projectId,
             @PathVariable Long taskId,
             @Valid @RequestBody TaskUpdateRequest request,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             Authentication authentication) {
         String email = authentication.getName();
-        TaskResponse task = taskService.updateTask(projectId, taskId, request, email);
-        return ResponseEntity.ok(task);
+        TaskResponse task = taskService.updateTask(projectId, taskId, request, email, parseIfMatch(ifMatch));
+        return ResponseEntity.ok().eTag(String.valueOf(task.getVersion())).body(task);
     }
 
+    @QueryBudget(2)
     @PatchMapping("/{taskId}/complete")
     public ResponseEntity<TaskResponse> markTaskAsCompleted(
             @PathVariable Long projectId,
             @PathVariable Long taskId,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             Authentication authentication) {
         String email = authentication.getName();
-        TaskResponse task = taskService.markTaskAsCompleted(projectId, taskId, email);
-        return ResponseEntity.ok(task);
+        TaskResponse task = taskService.markTaskAsCompleted(projectId, taskId, email, parseIfMatch(ifMatch));
+        return ResponseEntity.ok().eTag(String.valueOf(task.getVersion())).body(task);
     }
 
+    @QueryBudget(2)
     @DeleteMapping("/{taskId}")
     public ResponseEntity<Void> deleteTask(
             @PathVariable Long projectId,
             @PathVariable Long taskId,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             Authentication authentication) {
         String email = authentication.getName();
-        taskService.deleteTask(projectId, taskId, email);
+        taskService.deleteTask(projectId, taskId, email, parseIfMatch(ifMatch));
         return ResponseEntity.noContent().build();
     }
+
+    /**
+     * Maps an If-Match header to the task version it expects; null (no header or "*") means unconditional.
+     * Task ETags are the quoted version, so anything else can never match.
+     */
+    private static Long parseIfMatch(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String value = ifMatch.trim();
+        if (value.length() > 2 && value.startsWith("\"") && value.endsWith("\"")) {
+            try {
+                return Long.parseLong(value.substring(1, value.length() - 1));
+            } catch (NumberFormatException e) {
+                // fall through: not one of our ETags
+            }
+        }
+        throw new PreconditionFailedException("If-Match does not match the current task version");
+    }
 }
@@ -0,0 +1,39 @@
+package com.internship.taskmanager.controller;
+
+import com.internship.taskmanager.config.QueryBudget;
+import com.internship.taskmanager.service.ProjectService;
+import com.internship.taskmanager.service.TaskEventBroadcaster;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+@RequestMapping("/api/projects/{projectId}/events")
+public class TaskEventController {
+
+    @Autowired
+    private ProjectService projectService;
+
+    @Autowired
+    private TaskEventBroadcaster taskEventBroadcaster;
+
+    @QueryBudget(2)
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> subscribe(@PathVariable Long projectId, Authentication authentication) {
+        projectService.checkOwnership(projectId, authentication.getName());
+        SseEmitter emitter = taskEventBroadcaster.subscribe(projectId);
+        if (emitter == null) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header(HttpHeaders.RETRY_AFTER, "30").build();
+        }
+        // Stops nginx and similar proxies from buffering the stream
+        return ResponseEntity.ok().header("X-Accel-Buffering", "no").body(emitter);
+    }
+}
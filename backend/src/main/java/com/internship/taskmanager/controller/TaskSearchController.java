@@ -0,0 +1,46 @@
+package com.internship.taskmanager.controller;
+
+import com.internship.taskmanager.config.QueryBudget;
+import com.internship.taskmanager.dto.CursorPage;
+import com.internship.taskmanager.dto.DueTaskGroup;
+import com.internship.taskmanager.dto.DueTaskQuery;
+import com.internship.taskmanager.dto.TaskSearchResult;
+import com.internship.taskmanager.service.TaskSearchService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Task queries across all of the caller's projects.
+ */
+@RestController
+@RequestMapping("/api/tasks")
+public class TaskSearchController {
+
+    @Autowired
+    private TaskSearchService taskSearchService;
+
+    @QueryBudget(3)
+    @GetMapping("/search")
+    public ResponseEntity<CursorPage<TaskSearchResult>> search(
+            @RequestParam(required = false) String q,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            Authentication authentication) {
+        CursorPage<TaskSearchResult> results = taskSearchService.search(q, cursor, limit, authentication.getName());
+        return ResponseEntity.ok(results);
+    }
+
+    @QueryBudget(2)
+    @GetMapping("/due")
+    public ResponseEntity<CursorPage<DueTaskGroup>> getDueTasks(
+            DueTaskQuery query,
+            Authentication authentication) {
+        CursorPage<DueTaskGroup> tasks = taskSearchService.getDueTasks(query, authentication.getName());
+        return ResponseEntity.ok(tasks);
+    }
+}
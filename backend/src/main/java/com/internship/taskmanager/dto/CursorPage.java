@@ -0,0 +1,23 @@
+package com.internship.taskmanager.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * One page of a keyset-paginated listing (task lists, search, due tasks).
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CursorPage<T> {
+
+    private List<T> items;
+
+    // Opaque cursor for the next page, null when this is the last page
+    private String nextCursor;
+}
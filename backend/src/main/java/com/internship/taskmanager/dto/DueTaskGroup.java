@@ -0,0 +1,20 @@
+package com.internship.taskmanager.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DueTaskGroup {
+
+    private LocalDate date;
+
+    private List<ProjectTaskResponse> tasks;
+}
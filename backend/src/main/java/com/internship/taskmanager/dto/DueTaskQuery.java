@@ -0,0 +1,31 @@
+package com.internship.taskmanager.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DueTaskQuery {
+
+    // Defaults to today, or unbounded with overdue=true
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate from;
+
+    // Defaults to a week after from, or yesterday with overdue=true
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate to;
+
+    // Only tasks whose due date has passed
+    private Boolean overdue;
+
+    private String cursor;
+
+    private Integer limit;
+}
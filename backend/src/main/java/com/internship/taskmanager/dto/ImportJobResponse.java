@@ -0,0 +1,37 @@
+package com.internship.taskmanager.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ImportJobResponse {
+
+    private Long id;
+    private String format;
+    private String status;
+    private Long rowsCommitted;
+    private Long rowsFailed;
+    private Long projectsCreated;
+    private Long tasksCreated;
+    private String message;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    private List<RowError> errors;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RowError {
+        private Long row;
+        private String message;
+    }
+}
@@ -0,0 +1,28 @@
+package com.internship.taskmanager.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * A task together with the project it belongs to, for listings that span projects.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ProjectTaskResponse {
+    private Long id;
+    private Long projectId;
+    private String projectTitle;
+    private String title;
+    private String description;
+    private LocalDate dueDate;
+    private Boolean isCompleted;
+    private LocalDateTime createdAt;
+    private Long version;
+}
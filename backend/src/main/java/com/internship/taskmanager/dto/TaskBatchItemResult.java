@@ -0,0 +1,24 @@
+package com.internship.taskmanager.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TaskBatchItemResult {
+
+    public enum Status {
+        OK, NOT_FOUND, INVALID
+    }
+
+    private int index;
+    private TaskBatchOperation.Type op;
+    private Status status;
+    private Long taskId;
+    private TaskResponse task;
+    private String error;
+}
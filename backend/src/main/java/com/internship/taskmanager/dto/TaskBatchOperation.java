@@ -0,0 +1,37 @@
+package com.internship.taskmanager.dto;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * One entry of a task batch. {@code taskId} is required for everything but CREATE; the content
+ * fields are validated per item against {@link TaskRequest} or {@link TaskUpdateRequest}.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TaskBatchOperation {
+
+    public enum Type {
+        CREATE, UPDATE, COMPLETE, DELETE
+    }
+
+    @NotNull(message = "Operation type is required")
+    private Type op;
+
+    private Long taskId;
+
+    private String title;
+
+    private String description;
+
+    private LocalDate dueDate;
+
+    private Boolean isCompleted;
+}
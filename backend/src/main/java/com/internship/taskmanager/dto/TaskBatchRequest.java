@@ -0,0 +1,22 @@
+package com.internship.taskmanager.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TaskBatchRequest {
+
+    @NotEmpty(message = "At least one operation is required")
+    @Size(max = 1000, message = "A batch can contain at most 1000 operations")
+    private List<@Valid TaskBatchOperation> operations;
+}
@@ -1,5 +1,6 @@
 package com.internship.taskmanager.dto;
 
+import com.internship.taskmanager.model.Task;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -19,4 +20,18 @@ public class TaskResponse {
     private LocalDate dueDate;
     private Boolean isCompleted;
     private LocalDateTime createdAt;
+    // Echo as "If-Match" on update/delete to detect concurrent modification
+    private Long version;
+
+    public static TaskResponse from(Task task) {
+        return TaskResponse.builder()
+                .id(task.getId())
+                .title(task.getTitle())
+                .description(task.getDescription())
+                .dueDate(task.getDueDate())
+                .isCompleted(task.getIsCompleted())
+                .createdAt(task.getCreatedAt())
+                .version(task.getVersion())
+                .build();
+    }
 }
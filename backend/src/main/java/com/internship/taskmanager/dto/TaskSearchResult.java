@@ -0,0 +1,27 @@
+package com.internship.taskmanager.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TaskSearchResult {
+    private Long id;
+    private Long projectId;
+    private String projectTitle;
+    private String title;
+    private String description;
+    private LocalDate dueDate;
+    private Boolean isCompleted;
+    private LocalDateTime createdAt;
+    private Long version;
+    // Relevance, higher first; title matches weigh more than description matches
+    private Float rank;
+}
@@ -0,0 +1,30 @@
+package com.internship.taskmanager.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TaskSyncResponse {
+
+    // Tasks created or updated since the watermark; may repeat tasks the client already has
+    private List<TaskResponse> changed;
+
+    // Ids of tasks deleted since the watermark; may include ids the client never saw
+    private List<Long> deleted;
+
+    // Watermark to send as "since" on the next call; null when resetRequired is set
+    private String since;
+
+    // More changes are immediately available: call again with the new watermark
+    private boolean hasMore;
+
+    // The watermark is older than the tombstone retention: reload the full list and sync without "since"
+    private boolean resetRequired;
+}
@@ -0,0 +1,35 @@
+package com.internship.taskmanager.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * One line of the newline-delimited JSON export format. {@code type} is either {@code project} or
+ * {@code task}; task lines reference their project through {@code projectId}, and every project line
+ * precedes the lines of its tasks.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class TransferRecord {
+
+    public static final String TYPE_PROJECT = "project";
+    public static final String TYPE_TASK = "task";
+
+    private String type;
+    private Long id;
+    private Long projectId;
+    private String title;
+    private String description;
+    private LocalDate dueDate;
+    private Boolean isCompleted;
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,7 @@
+package com.internship.taskmanager.exception;
+
+public class QueryBudgetExceededException extends RuntimeException {
+  public QueryBudgetExceededException(String message) {
+    super(message);
+  }
+}
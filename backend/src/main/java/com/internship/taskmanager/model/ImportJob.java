@@ -0,0 +1,83 @@
+package com.internship.taskmanager.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * Progress of one bulk import. {@code rowsCommitted} is the number of input rows whose outcome
+ * (created or rejected) has been committed; a resumed import skips exactly that many rows. Each resume
+ * starts a new {@code attempt}, and only the request running the current attempt may advance the job.
+ */
+@Entity
+@Table(name = "import_jobs")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ImportJob {
+
+    public enum Format {
+        NDJSON, CSV
+    }
+
+    public enum Status {
+        RUNNING, COMPLETED, FAILED
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 10)
+    private Format format;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 10)
+    private Status status;
+
+    @Column(name = "rows_committed", nullable = false)
+    @Builder.Default
+    private Long rowsCommitted = 0L;
+
+    @Column(name = "rows_failed", nullable = false)
+    @Builder.Default
+    private Long rowsFailed = 0L;
+
+    @Column(name = "projects_created", nullable = false)
+    @Builder.Default
+    private Long projectsCreated = 0L;
+
+    @Column(name = "tasks_created", nullable = false)
+    @Builder.Default
+    private Long tasksCreated = 0L;
+
+    @Column(length = 1000)
+    private String message;
+
+    @Column(nullable = false)
+    @Builder.Default
+    private Integer attempt = 1;
+
+    // Last sign of life from the request running the current attempt
+    @Column(name = "heartbeat_at")
+    private LocalDateTime heartbeatAt;
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+}
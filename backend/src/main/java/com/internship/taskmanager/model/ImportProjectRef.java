@@ -0,0 +1,35 @@
+package com.internship.taskmanager.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Maps a project id from the import source to the project created for it, so task rows in later
+ * batches (or in a resumed run) can still resolve their project.
+ */
+@Entity
+@Table(name = "import_project_refs", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_import_project_refs_job_ref", columnNames = {"job_id", "source_ref"})
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ImportProjectRef {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "job_id", nullable = false)
+    private Long jobId;
+
+    @Column(name = "source_ref", nullable = false, length = 100)
+    private String sourceRef;
+
+    @Column(name = "project_id", nullable = false)
+    private Long projectId;
+}
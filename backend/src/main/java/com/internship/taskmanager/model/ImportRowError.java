@@ -0,0 +1,31 @@
+package com.internship.taskmanager.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Entity
+@Table(name = "import_row_errors", indexes = {
+        @Index(name = "idx_import_row_errors_job_row", columnList = "job_id, row_number")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ImportRowError {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "job_id", nullable = false)
+    private Long jobId;
+
+    @Column(name = "row_number", nullable = false)
+    private Long rowNumber;
+
+    @Column(nullable = false, length = 1000)
+    private String message;
+}
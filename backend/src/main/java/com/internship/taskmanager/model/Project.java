@@ -6,20 +6,26 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "projects")
+@Table(name = "projects", indexes = {
+        @Index(name = "idx_projects_user_id", columnList = "user_id")
+})
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "projects")
 @Data
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
 public class Project {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "projects_seq")
+    @SequenceGenerator(name = "projects_seq", sequenceName = "projects_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false, length = 200)
@@ -32,13 +38,25 @@ public class Project {
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
 
+    // Caches task ids only; the tasks themselves come from the Task region
     @OneToMany(mappedBy = "project", cascade = CascadeType.ALL, orphanRemoval = true)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "project-tasks")
     @Builder.Default
     private List<Task> tasks = new ArrayList<>();
 
     @Column(nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
+    // Denormalized task counters, maintained only through ProjectRepository.adjustTaskCounters.
+    // Those SQL updates bypass the second-level cache; EntityCacheEvictor drops the cached copy
+    @Column(name = "total_tasks", nullable = false, updatable = false)
+    @Builder.Default
+    private Integer totalTasks = 0;
+
+    @Column(name = "completed_tasks", nullable = false, updatable = false)
+    @Builder.Default
+    private Integer completedTasks = 0;
+
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
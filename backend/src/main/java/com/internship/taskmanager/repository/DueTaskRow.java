@@ -0,0 +1,19 @@
+package com.internship.taskmanager.repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * An open task with a due date, with the project it belongs to.
+ */
+public interface DueTaskRow {
+    Long getId();
+    Long getProjectId();
+    String getProjectTitle();
+    String getTitle();
+    String getDescription();
+    LocalDate getDueDate();
+    Boolean getIsCompleted();
+    LocalDateTime getCreatedAt();
+    Long getVersion();
+}
@@ -0,0 +1,40 @@
+package com.internship.taskmanager.repository;
+
+import com.internship.taskmanager.model.ImportJob;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@Repository
+public interface ImportJobRepository extends JpaRepository<ImportJob,Long> {
+    Optional<ImportJob> findByIdAndUserId(Long id, Long userId);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT j FROM ImportJob j WHERE j.id = :id")
+    Optional<ImportJob> findByIdForUpdate(@Param("id") Long id);
+
+    /**
+     * Compare-and-set of the committed row count: succeeds only for the current attempt and only if
+     * no batch has been committed since {@code expected}. The row lock it takes holds off a competing
+     * writer until this batch commits, after which that writer's update matches nothing.
+     *
+     * @return 1 if the count was advanced, 0 if another request got there first
+     */
+    @Modifying
+    @Query("""
+            UPDATE ImportJob j SET j.rowsCommitted = :rowsCommitted, j.heartbeatAt = :now
+            WHERE j.id = :id AND j.attempt = :attempt AND j.rowsCommitted = :expected
+            """)
+    int advanceRowsCommitted(@Param("id") Long id,
+                             @Param("attempt") Integer attempt,
+                             @Param("expected") Long expected,
+                             @Param("rowsCommitted") Long rowsCommitted,
+                             @Param("now") LocalDateTime now);
+}
@@ -0,0 +1,12 @@
+package com.internship.taskmanager.repository;
+
+import com.internship.taskmanager.model.ImportProjectRef;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface ImportProjectRefRepository extends JpaRepository<ImportProjectRef,Long> {
+    List<ImportProjectRef> findByJobId(Long jobId);
+}
@@ -0,0 +1,13 @@
+package com.internship.taskmanager.repository;
+
+import com.internship.taskmanager.model.ImportRowError;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface ImportRowErrorRepository extends JpaRepository<ImportRowError,Long> {
+    List<ImportRowError> findTop100ByJobIdOrderByRowNumberAsc(Long jobId);
+    long countByJobId(Long jobId);
+}
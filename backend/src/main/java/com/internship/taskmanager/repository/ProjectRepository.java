@@ -1,14 +1,115 @@
 package com.internship.taskmanager.repository;
 
 import com.internship.taskmanager.model.Project;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_NATIVE_SPACES;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 
 @Repository
 public interface ProjectRepository extends JpaRepository<Project,Long> {
+
+    // Query space of the counter update; deliberately not a table any cached entity maps
+    String TASK_COUNTERS_SPACE = "project_task_counters";
+
     List<Project> findByUserIdOrderByCreatedAtDesc(Long userId);
-    Optional<Project> findByIdAndUserId(Long id, Long userId);
+
+    /**
+     * Goes through {@link #findById} so a cached project header answers without a query; the owner
+     * check reads the foreign key and never initializes the user.
+     */
+    default Optional<Project> findByIdAndUserId(Long id, Long userId) {
+        return findById(id).filter(project -> project.getUser().getId().equals(userId));
+    }
+
+    default boolean existsByIdAndUserId(Long id, Long userId) {
+        return findByIdAndUserId(id, userId).isPresent();
+    }
+
+    @Query("""
+            select p.id as id, p.title as title, p.description as description, p.createdAt as createdAt,
+                   p.totalTasks as totalTasks, p.completedTasks as completedTasks
+            from Project p
+            where p.user.id = :userId
+            order by p.createdAt desc
+            """)
+    List<ProjectSummary> findSummariesByUserId(@Param("userId") Long userId);
+
+    /**
+     * Number of tasks across the user's projects, from the denormalized counters.
+     */
+    @Query("select coalesce(sum(p.totalTasks), 0) from Project p where p.user.id = :userId")
+    long countTasksByUserId(@Param("userId") Long userId);
+
+    /**
+     * MD5 of the project's (task id, version) pairs in id order. Any task insert, update or delete
+     * changes it, so it identifies the current state of the project's tasks without sending them.
+     *
+     * @return the fingerprint of a project the user owns, or empty if there is no such project
+     */
+    @Query(value = """
+            SELECT md5(COALESCE(string_agg(t.id || ':' || COALESCE(t.version, 0), ',' ORDER BY t.id), ''))
+            FROM projects p
+            LEFT JOIN tasks t ON t.project_id = p.id
+            WHERE p.id = :projectId AND p.user_id = :userId
+            GROUP BY p.id
+            """, nativeQuery = true)
+    Optional<String> findTaskFingerprintByIdAndUserId(@Param("projectId") Long projectId, @Param("userId") Long userId);
+
+    /**
+     * Atomically shifts the denormalized counters; the row lock taken by the UPDATE serializes
+     * concurrent writers, so there is no read-modify-write race.
+     *
+     * <p>A bulk update would make Hibernate drop the whole Project cache region on every task write.
+     * Declaring a query space no entity maps keeps the region intact; EntityCacheEvictor evicts just
+     * this project instead. Pending inserts are flushed first, since the project row may be new.
+     */
+    @Modifying(flushAutomatically = true)
+    @QueryHints(@QueryHint(name = HINT_NATIVE_SPACES, value = TASK_COUNTERS_SPACE))
+    @Query(value = """
+            UPDATE projects SET total_tasks = total_tasks + :totalDelta, completed_tasks = completed_tasks + :completedDelta
+            WHERE id = :projectId
+            """, nativeQuery = true)
+    int adjustTaskCounters(@Param("projectId") Long projectId,
+                           @Param("totalDelta") int totalDelta,
+                           @Param("completedDelta") int completedDelta);
+
+    @Query(value = "SELECT id FROM projects WHERE id > :afterId ORDER BY id LIMIT :limit", nativeQuery = true)
+    List<Long> findIdsAfter(@Param("afterId") Long afterId, @Param("limit") int limit);
+
+    @Query(value = "SELECT id FROM projects WHERE id BETWEEN :fromId AND :toId ORDER BY id FOR UPDATE", nativeQuery = true)
+    List<Long> lockIdRange(@Param("fromId") Long fromId, @Param("toId") Long toId);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HINT_NATIVE_SPACES, value = "projects"))
+    @Query(value = """
+            UPDATE projects p
+            SET total_tasks = s.total, completed_tasks = s.completed
+            FROM (SELECT p2.id,
+                         count(t.id) AS total,
+                         count(t.id) FILTER (WHERE t.is_completed) AS completed
+                  FROM projects p2 LEFT JOIN tasks t ON t.project_id = p2.id
+                  WHERE p2.id BETWEEN :fromId AND :toId
+                  GROUP BY p2.id) s
+            WHERE p.id = s.id AND (p.total_tasks <> s.total OR p.completed_tasks <> s.completed)
+            """, nativeQuery = true)
+    int reconcileTaskCounters(@Param("fromId") Long fromId, @Param("toId") Long toId);
+
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    @Query("select p from Project p where p.user.id = :userId order by p.id")
+    Stream<Project> streamByUserId(@Param("userId") Long userId);
 }
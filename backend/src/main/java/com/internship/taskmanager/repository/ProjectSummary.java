@@ -0,0 +1,15 @@
+package com.internship.taskmanager.repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * Read-only projection of a project header together with its denormalized task counts.
+ */
+public interface ProjectSummary {
+    Long getId();
+    String getTitle();
+    String getDescription();
+    LocalDateTime getCreatedAt();
+    Integer getTotalTasks();
+    Integer getCompletedTasks();
+}
@@ -0,0 +1,20 @@
+package com.internship.taskmanager.repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * One entry of a project's change feed: either the current state of a created/updated task, or a
+ * deletion ({@link #getDeleted()} true, only {@code id} and {@code changedAt} set).
+ */
+public interface TaskChange {
+    Long getId();
+    String getTitle();
+    String getDescription();
+    LocalDate getDueDate();
+    Boolean getIsCompleted();
+    LocalDateTime getCreatedAt();
+    Long getVersion();
+    LocalDateTime getChangedAt();
+    Boolean getDeleted();
+}
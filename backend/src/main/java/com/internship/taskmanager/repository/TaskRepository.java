@@ -1,14 +1,269 @@
 package com.internship.taskmanager.repository;
 
 import com.internship.taskmanager.model.Task;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 
 @Repository
-public interface TaskRepository extends JpaRepository<Task,Long> {
+public interface TaskRepository extends JpaRepository<Task,Long>, JpaSpecificationExecutor<Task> {
     List<Task> findByProjectIdOrderByCreatedAtAsc(Long projectId);
     Optional<Task> findByIdAndProjectId(Long id, Long projectId);
+    List<Task> findByProjectIdAndIdIn(Long projectId, Collection<Long> ids);
+
+    /**
+     * Applies a partial update (null arguments leave the column unchanged) to a task the user owns and
+     * keeps the project's completed counter in step, all in one statement. A {@code Task} already loaded
+     * in the current persistence context is not refreshed.
+     *
+     * @param expectedVersion if not null, the update only applies while the task is still at this version
+     * @return the updated task, or empty if it does not exist in a project owned by {@code email}
+     *         (or is no longer at {@code expectedVersion})
+     */
+    @Query(value = """
+            WITH locked AS (
+                SELECT t.id, t.is_completed
+                FROM tasks t
+                WHERE t.id = :taskId
+                  AND t.project_id = :projectId
+                  AND t.project_id IN (SELECT p.id FROM projects p JOIN users u ON u.id = p.user_id WHERE u.email = :email)
+                  AND (CAST(:expectedVersion AS bigint) IS NULL OR COALESCE(t.version, 0) = :expectedVersion)
+                FOR UPDATE
+            ), updated AS (
+                UPDATE tasks t
+                SET title = COALESCE(CAST(:title AS varchar), t.title),
+                    description = COALESCE(CAST(:description AS varchar), t.description),
+                    due_date = COALESCE(CAST(:dueDate AS date), t.due_date),
+                    is_completed = COALESCE(CAST(:isCompleted AS boolean), t.is_completed),
+                    updated_at = :now,
+                    version = COALESCE(t.version, 0) + 1
+                FROM locked
+                WHERE t.id = locked.id
+                RETURNING t.*, locked.is_completed AS was_completed
+            ), counters AS (
+                UPDATE projects p
+                SET completed_tasks = p.completed_tasks + CASE WHEN updated.is_completed THEN 1 ELSE -1 END
+                FROM updated
+                WHERE p.id = updated.project_id AND updated.is_completed <> updated.was_completed
+            )
+            SELECT id AS "id", title AS "title", description AS "description", due_date AS "dueDate",
+                   is_completed AS "isCompleted", created_at AS "createdAt", version AS "version"
+            FROM updated
+            """, nativeQuery = true)
+    Optional<TaskSnapshot> updateOwnedTask(@Param("projectId") Long projectId,
+                                   @Param("taskId") Long taskId,
+                                   @Param("email") String email,
+                                   @Param("title") String title,
+                                   @Param("description") String description,
+                                   @Param("dueDate") LocalDate dueDate,
+                                   @Param("isCompleted") Boolean isCompleted,
+                                   @Param("now") LocalDateTime now,
+                                   @Param("expectedVersion") Long expectedVersion);
+
+    /**
+     * Deletes a task the user owns, leaves a tombstone for delta sync and decrements the project's counters,
+     * all in the same statement.
+     *
+     * @param expectedVersion if not null, the delete only applies while the task is still at this version
+     * @return 1 if the task was deleted, 0 if it does not exist in a project owned by {@code email}
+     *         (or is no longer at {@code expectedVersion})
+     */
+    @Query(value = """
+            WITH deleted AS (
+                DELETE FROM tasks t
+                WHERE t.id = :taskId
+                  AND t.project_id = :projectId
+                  AND t.project_id IN (SELECT p.id FROM projects p JOIN users u ON u.id = p.user_id WHERE u.email = :email)
+                  AND (CAST(:expectedVersion AS bigint) IS NULL OR COALESCE(t.version, 0) = :expectedVersion)
+                RETURNING t.id, t.project_id, t.is_completed
+            ), tombstones AS (
+                INSERT INTO task_tombstones (task_id, project_id, deleted_at)
+                SELECT id, project_id, :now FROM deleted
+            ), counters AS (
+                UPDATE projects p
+                SET total_tasks = p.total_tasks - 1,
+                    completed_tasks = p.completed_tasks - CASE WHEN deleted.is_completed THEN 1 ELSE 0 END
+                FROM deleted
+                WHERE p.id = deleted.project_id
+            )
+            SELECT count(*) FROM deleted
+            """, nativeQuery = true)
+    int deleteOwnedTask(@Param("projectId") Long projectId,
+                        @Param("taskId") Long taskId,
+                        @Param("email") String email,
+                        @Param("now") LocalDateTime now,
+                        @Param("expectedVersion") Long expectedVersion);
+
+    /**
+     * Merged change feed of a project after a (changedAt, id) position: live tasks by {@code updated_at}
+     * and deletions by tombstone time. Each branch is a range scan on its (project_id, timestamp) index,
+     * so a client with nothing new to fetch costs two index probes.
+     */
+    @Query(value = """
+            SELECT * FROM (
+                (SELECT t.id AS "id", t.title AS "title", t.description AS "description", t.due_date AS "dueDate",
+                        t.is_completed AS "isCompleted", t.created_at AS "createdAt", t.version AS "version",
+                        t.updated_at AS "changedAt", false AS "deleted"
+                 FROM tasks t
+                 WHERE t.project_id = :projectId AND (t.updated_at, t.id) > (:sinceAt, :sinceId)
+                 ORDER BY t.updated_at, t.id
+                 LIMIT :limit)
+                UNION ALL
+                (SELECT tt.task_id, NULL, NULL, NULL, NULL, NULL, NULL, tt.deleted_at, true
+                 FROM task_tombstones tt
+                 WHERE tt.project_id = :projectId AND (tt.deleted_at, tt.task_id) > (:sinceAt, :sinceId)
+                 ORDER BY tt.deleted_at, tt.task_id
+                 LIMIT :limit)
+            ) changes
+            ORDER BY "changedAt", "id"
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<TaskChange> findChangesAfter(@Param("projectId") Long projectId,
+                                      @Param("sinceAt") LocalDateTime sinceAt,
+                                      @Param("sinceId") Long sinceId,
+                                      @Param("limit") int limit);
+
+    // Ranking and keyset paging shared by both search plans, over "matches" rows that carry the parsed query
+    String SEARCH_PAGE = """
+            SELECT * FROM (
+                SELECT m.id AS "id", m.project_id AS "projectId", m.project_title AS "projectTitle",
+                       m.title AS "title", m.description AS "description", m.due_date AS "dueDate",
+                       m.is_completed AS "isCompleted", m.created_at AS "createdAt", m.version AS "version",
+                       ts_rank(m.search_vector, m.query) AS "rank"
+                FROM matches m
+            ) hits
+            WHERE CAST(:afterRank AS real) IS NULL
+               OR "rank" < CAST(:afterRank AS real)
+               OR ("rank" = CAST(:afterRank AS real) AND "id" > CAST(:afterId AS bigint))
+            ORDER BY "rank" DESC, "id"
+            LIMIT :limit
+            """;
+
+    /**
+     * Full-text search that reads every task of the user through the project index and filters it,
+     * most relevant first, after a (rank, id) position. Cost grows with the user's task count, not with
+     * the table or how common the terms are. {@code OFFSET 0} keeps the planner from pushing the match
+     * down into a GIN bitmap, which it underestimates for prefix terms and would rebuild per project.
+     */
+    @Query(value = """
+            WITH matches AS (
+                SELECT owned.*, q.query
+                FROM (
+                    SELECT t.*, p.title AS project_title
+                    FROM projects p
+                    JOIN tasks t ON t.project_id = p.id
+                    WHERE p.user_id = :userId
+                    OFFSET 0
+                ) owned
+                CROSS JOIN to_tsquery('simple', :query) AS q(query)
+                WHERE owned.search_vector @@ q.query
+            )
+            """ + SEARCH_PAGE, nativeQuery = true)
+    List<TaskSearchHit> searchOwnedTasks(@Param("userId") Long userId,
+                                         @Param("query") String query,
+                                         @Param("afterRank") Float afterRank,
+                                         @Param("afterId") Long afterId,
+                                         @Param("limit") int limit);
+
+    /**
+     * Same as {@link #searchOwnedTasks}, but starts from the GIN index on {@code search_vector} and keeps
+     * the user's matches. Cost grows with how many tasks in the whole table match: a rare term is found
+     * in milliseconds, a common one takes longer than scanning all but the largest users' tasks.
+     */
+    @Query(value = """
+            WITH matches AS (
+                SELECT t.*, p.title AS project_title, q.query
+                FROM (
+                    SELECT * FROM tasks WHERE search_vector @@ to_tsquery('simple', :query) OFFSET 0
+                ) t
+                JOIN projects p ON p.id = t.project_id
+                CROSS JOIN to_tsquery('simple', :query) AS q(query)
+                WHERE p.user_id = :userId
+            )
+            """ + SEARCH_PAGE, nativeQuery = true)
+    List<TaskSearchHit> searchIndexedTasks(@Param("userId") Long userId,
+                                           @Param("query") String query,
+                                           @Param("afterRank") Float afterRank,
+                                           @Param("afterId") Long afterId,
+                                           @Param("limit") int limit);
+
+    /**
+     * Open tasks of all the user's projects due within [from, to], by (dueDate, id) after a keyset position.
+     * Each project is a range scan on the partial {@code idx_tasks_open_due} index, which holds only open
+     * tasks with a due date; the {@code is_completed = false} predicate must stay literal for it to apply.
+     *
+     * @param from null for no lower bound
+     */
+    @Query(value = """
+            SELECT t.id AS "id", t.project_id AS "projectId", p.title AS "projectTitle", t.title AS "title",
+                   t.description AS "description", t.due_date AS "dueDate", t.is_completed AS "isCompleted",
+                   t.created_at AS "createdAt", t.version AS "version"
+            FROM projects p
+            JOIN tasks t ON t.project_id = p.id
+            WHERE p.user_id = :userId
+              AND t.is_completed = false
+              AND t.due_date >= COALESCE(CAST(:from AS date), '-infinity')
+              AND t.due_date <= CAST(:to AS date)
+              AND (t.due_date, t.id) > (COALESCE(CAST(:afterDate AS date), '-infinity'), COALESCE(CAST(:afterId AS bigint), 0))
+            ORDER BY t.due_date, t.id
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<DueTaskRow> findOpenDueTasks(@Param("userId") Long userId,
+                                      @Param("from") LocalDate from,
+                                      @Param("to") LocalDate to,
+                                      @Param("afterDate") LocalDate afterDate,
+                                      @Param("afterId") Long afterId,
+                                      @Param("limit") int limit);
+
+    /**
+     * Open tasks of every user due within [from, to], for the reminder scheduler's window. Reads the
+     * partial {@code idx_tasks_open_due_date} index.
+     */
+    @Query(value = """
+            SELECT t.id AS "id", t.project_id AS "projectId", p.title AS "projectTitle", t.title AS "title",
+                   t.description AS "description", t.due_date AS "dueDate", t.is_completed AS "isCompleted",
+                   t.created_at AS "createdAt", t.version AS "version"
+            FROM tasks t
+            JOIN projects p ON p.id = t.project_id
+            WHERE t.is_completed = false
+              AND t.due_date BETWEEN :from AND :to
+            ORDER BY t.due_date, t.id
+            """, nativeQuery = true)
+    List<DueTaskRow> findOpenTasksDueBetween(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    @Query(value = """
+            SELECT t.id AS "id", t.project_id AS "projectId", p.title AS "projectTitle", t.title AS "title",
+                   t.description AS "description", t.due_date AS "dueDate", t.is_completed AS "isCompleted",
+                   t.created_at AS "createdAt", t.version AS "version"
+            FROM tasks t
+            JOIN projects p ON p.id = t.project_id
+            WHERE t.project_id = :projectId
+              AND t.is_completed = false
+              AND t.due_date BETWEEN :from AND :to
+            ORDER BY t.due_date, t.id
+            """, nativeQuery = true)
+    List<DueTaskRow> findOpenProjectTasksDueBetween(@Param("projectId") Long projectId,
+                                                    @Param("from") LocalDate from,
+                                                    @Param("to") LocalDate to);
+
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    @Query("select t from Task t where t.project.user.id = :userId order by t.project.id, t.id")
+    Stream<Task> streamByUserId(@Param("userId") Long userId);
 }
@@ -0,0 +1,20 @@
+package com.internship.taskmanager.repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * A task matching a full-text search, with its project and relevance.
+ */
+public interface TaskSearchHit {
+    Long getId();
+    Long getProjectId();
+    String getProjectTitle();
+    String getTitle();
+    String getDescription();
+    LocalDate getDueDate();
+    Boolean getIsCompleted();
+    LocalDateTime getCreatedAt();
+    Long getVersion();
+    Float getRank();
+}
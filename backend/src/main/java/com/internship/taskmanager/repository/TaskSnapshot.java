@@ -0,0 +1,18 @@
+package com.internship.taskmanager.repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Read-only projection of a task row as returned by a guarded native mutation. Deliberately not an
+ * entity, so a stale managed {@code Task} in the persistence context can never be handed back instead.
+ */
+public interface TaskSnapshot {
+    Long getId();
+    String getTitle();
+    String getDescription();
+    LocalDate getDueDate();
+    Boolean getIsCompleted();
+    LocalDateTime getCreatedAt();
+    Long getVersion();
+}
@@ -0,0 +1,53 @@
+package com.internship.taskmanager.repository;
+
+import com.internship.taskmanager.model.Task;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Composable predicates for task listings. Combined with an ordering on (createdAt, id) they map
+ * onto the {@code idx_tasks_project_created_id} index.
+ */
+public final class TaskSpecifications {
+
+    private TaskSpecifications() {
+    }
+
+    public static Specification<Task> inProject(Long projectId) {
+        return (root, query, cb) -> cb.equal(root.get("project").get("id"), projectId);
+    }
+
+    public static Specification<Task> completed(Boolean completed) {
+        return (root, query, cb) -> completed == null ? null : cb.equal(root.get("isCompleted"), completed);
+    }
+
+    public static Specification<Task> dueOnOrAfter(LocalDate from) {
+        return (root, query, cb) -> from == null ? null : cb.greaterThanOrEqualTo(root.get("dueDate"), from);
+    }
+
+    public static Specification<Task> dueOnOrBefore(LocalDate to) {
+        return (root, query, cb) -> to == null ? null : cb.lessThanOrEqualTo(root.get("dueDate"), to);
+    }
+
+    /**
+     * Keyset predicate: rows strictly after (createdAt, id) in the given direction.
+     */
+    public static Specification<Task> after(LocalDateTime createdAt, Long id, Sort.Direction direction) {
+        return (root, query, cb) -> {
+            if (createdAt == null) {
+                return null;
+            }
+            if (direction.isAscending()) {
+                return cb.or(
+                        cb.greaterThan(root.get("createdAt"), createdAt),
+                        cb.and(cb.equal(root.get("createdAt"), createdAt), cb.greaterThan(root.get("id"), id)));
+            }
+            return cb.or(
+                    cb.lessThan(root.get("createdAt"), createdAt),
+                    cb.and(cb.equal(root.get("createdAt"), createdAt), cb.lessThan(root.get("id"), id)));
+        };
+    }
+}
@@ -0,0 +1,29 @@
+package com.internship.taskmanager.repository;
+
+import com.internship.taskmanager.model.TaskTombstone;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+@Repository
+public interface TaskTombstoneRepository extends JpaRepository<TaskTombstone,Long> {
+
+    /**
+     * Records tombstones for tasks that are about to be deleted, in one INSERT ... SELECT.
+     */
+    @Modifying
+    @Query("""
+            insert into TaskTombstone (taskId, projectId, deletedAt)
+            select t.id, t.project.id, :deletedAt from Task t where t.id in :taskIds
+            """)
+    int recordDeletions(@Param("taskIds") Collection<Long> taskIds, @Param("deletedAt") LocalDateTime deletedAt);
+
+    @Modifying
+    @Query("delete from TaskTombstone tt where tt.deletedAt < :cutoff")
+    int deleteOlderThan(@Param("cutoff") LocalDateTime cutoff);
+}
@@ -0,0 +1,13 @@
+package com.internship.taskmanager.repository;
+
+import com.internship.taskmanager.model.User;
+
+import java.util.Optional;
+
+public interface UserRepositoryCustom {
+
+    /**
+     * Natural-id lookup: answered from the second-level cache when the user is cached.
+     */
+    Optional<User> findByEmail(String email);
+}
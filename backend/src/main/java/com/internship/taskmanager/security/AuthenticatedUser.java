@@ -0,0 +1,25 @@
+package com.internship.taskmanager.security;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+import org.springframework.security.core.AuthenticatedPrincipal;
+
+/**
+ * Minimal, immutable view of an authenticated user. Used as the security principal so
+ * {@code Authentication#getName()} keeps returning the email the services expect.
+ */
+@Getter
+@AllArgsConstructor
+@ToString
+public class AuthenticatedUser implements AuthenticatedPrincipal {
+
+    private final Long id;
+    private final String email;
+    private final String name;
+
+    @Override
+    public String getName() {
+        return email;
+    }
+}
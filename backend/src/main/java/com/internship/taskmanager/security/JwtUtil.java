@@ -1,29 +1,147 @@
 package com.internship.taskmanager.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
-import java.security.Key;
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 
 @Component
 public class JwtUtil {
 
+    private static final Logger logger = LoggerFactory.getLogger(JwtUtil.class);
+
     @Value("${jwt.secret}")
     private String secret;
 
     @Value("${jwt.expiration}")
     private Long expiration;
 
-    private Key getSigningKey() {
-        return Keys.hmacShaKeyFor(secret.getBytes());
+    @Value("${app.security.jwt.verified-cache.max-size:10000}")
+    private long verifiedCacheMaxSize;
+
+    @Value("${app.security.jwt.verified-cache.ttl:60s}")
+    private Duration verifiedCacheTtl;
+
+    // Left as the global registry, which records nothing, when constructed outside Spring
+    @Autowired(required = false)
+    private MeterRegistry meterRegistry = Metrics.globalRegistry;
+
+    private SecretKey signingKey;
+    private JwtParser parser;
+
+    // jwt.validation, by outcome: cached (no HMAC), verified, rejected or expired
+    private Timer cachedTimer;
+    private Timer verifiedTimer;
+    private Timer rejectedTimer;
+    private Timer expiredTimer;
+
+    // Keyed by a SHA-256 digest of the token so raw bearer tokens are never retained in memory
+    private Cache<String, ParsedToken> verifiedTokens;
+
+    @PostConstruct
+    void init() {
+        signingKey = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        parser = Jwts.parser()
+                .verifyWith(signingKey)
+                .build();
+        verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(verifiedCacheMaxSize)
+                .expireAfterWrite(verifiedCacheTtl)
+                .build();
+        cachedTimer = validationTimer("cached");
+        verifiedTimer = validationTimer("verified");
+        rejectedTimer = validationTimer("rejected");
+        expiredTimer = validationTimer("expired");
+    }
+
+    private Timer validationTimer(String result) {
+        return Timer.builder("jwt.validation")
+                .description("Bearer token validation, including verified-token cache lookups")
+                .tag("result", result)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    /**
+     * Verifies the signature and expiry of a token in one pass. Tokens verified within the last
+     * {@code app.security.jwt.verified-cache.ttl} are answered from memory without HMAC verification.
+     *
+     * @return the parsed token, or empty if it is malformed, tampered with, expired, or has no
+     * subject or expiry
+     */
+    public Optional<ParsedToken> parseAndValidate(String token) {
+        long start = System.nanoTime();
+        Timer outcome = rejectedTimer;
+        try {
+            String key = hash(token);
+            ParsedToken cached = verifiedTokens.getIfPresent(key);
+            Instant now = Instant.now();
+            if (cached != null) {
+                if (cached.isExpired(now)) {
+                    verifiedTokens.invalidate(key);
+                    outcome = expiredTimer;
+                    return Optional.empty();
+                }
+                outcome = cachedTimer;
+                return Optional.of(cached);
+            }
+
+            try {
+                Claims claims = extractAllClaims(token);
+                // Tokens are only ever issued with an expiry; one without would be valid forever
+                if (claims.getSubject() == null || claims.getExpiration() == null) {
+                    logger.debug("Rejected JWT without subject or expiry");
+                    return Optional.empty();
+                }
+                ParsedToken parsed = new ParsedToken(
+                        claims.getSubject(),
+                        claims.getIssuedAt() != null ? claims.getIssuedAt().toInstant() : null,
+                        claims.getExpiration().toInstant());
+                if (parsed.isExpired(now)) {
+                    outcome = expiredTimer;
+                    return Optional.empty();
+                }
+                verifiedTokens.put(key, parsed);
+                outcome = verifiedTimer;
+                return Optional.of(parsed);
+            } catch (ExpiredJwtException e) {
+                outcome = expiredTimer;
+                logger.debug("Rejected JWT: {}", e.getMessage());
+                return Optional.empty();
+            } catch (JwtException | IllegalArgumentException e) {
+                logger.debug("Rejected JWT: {}", e.getMessage());
+                return Optional.empty();
+            }
+        } finally {
+            outcome.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
     }
 
     public String extractEmail(String token) {
@@ -40,15 +158,7 @@ public class JwtUtil {
     }
 
     private Claims extractAllClaims(String token) {
-        return Jwts.parser()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
-    }
-
-    private Boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+        return parser.parseSignedClaims(token).getPayload();
     }
 
     public String generateToken(String email) {
@@ -57,17 +167,28 @@ public class JwtUtil {
     }
 
     private String createToken(Map<String, Object> claims, String subject) {
+        long now = System.currentTimeMillis();
         return Jwts.builder()
-                .setClaims(claims)
-                .setSubject(subject)
-                .setIssuedAt(new Date(System.currentTimeMillis()))
-                .setExpiration(new Date(System.currentTimeMillis() + expiration))
-                .signWith(getSigningKey(), SignatureAlgorithm.HS256)
+                .claims(claims)
+                .subject(subject)
+                .issuedAt(new Date(now))
+                .expiration(new Date(now + expiration))
+                .signWith(signingKey, Jwts.SIG.HS256)
                 .compact();
     }
 
     public Boolean validateToken(String token, String email) {
-        final String extractedEmail = extractEmail(token);
-        return (extractedEmail.equals(email) && !isTokenExpired(token));
+        return parseAndValidate(token)
+                .map(parsed -> parsed.getSubject().equals(email))
+                .orElse(false);
+    }
+
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
     }
 }
@@ -0,0 +1,52 @@
+package com.internship.taskmanager.security;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.List;
+
+/**
+ * Authenticates the Prometheus scraper on the metrics endpoints ({@link #PATHS}) by the static bearer
+ * token in {@code app.metrics.scrape-token}. User tokens do not grant {@link #AUTHORITY}, and with no
+ * token configured the endpoints cannot be read at all.
+ */
+@Component
+public class MetricsScrapeFilter extends OncePerRequestFilter {
+
+    public static final String[] PATHS = {"/actuator/prometheus", "/actuator/metrics", "/actuator/metrics/**"};
+    public static final String AUTHORITY = "METRICS_SCRAPE";
+
+    @Value("${app.metrics.scrape-token:}")
+    private String scrapeToken;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String uri = request.getRequestURI();
+        return scrapeToken.isEmpty() || !(uri.equals("/actuator/prometheus") || uri.equals("/actuator/metrics")
+                || uri.startsWith("/actuator/metrics/"));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String authorizationHeader = request.getHeader("Authorization");
+        if (authorizationHeader != null && authorizationHeader.startsWith("Bearer ")
+                && MessageDigest.isEqual(authorizationHeader.substring(7).getBytes(StandardCharsets.UTF_8),
+                scrapeToken.getBytes(StandardCharsets.UTF_8))) {
+            SecurityContextHolder.getContext().setAuthentication(UsernamePasswordAuthenticationToken.authenticated(
+                    "prometheus", null, List.of(new SimpleGrantedAuthority(AUTHORITY))));
+        }
+        chain.doFilter(request, response);
+    }
+}
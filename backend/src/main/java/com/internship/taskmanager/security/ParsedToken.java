@@ -0,0 +1,24 @@
+package com.internship.taskmanager.security;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.time.Instant;
+
+/**
+ * Result of a single signature-verified parse of a JWT.
+ */
+@Getter
+@AllArgsConstructor
+@ToString
+public class ParsedToken {
+
+    private final String subject;
+    private final Instant issuedAt;
+    private final Instant expiresAt;
+
+    public boolean isExpired(Instant now) {
+        return !expiresAt.isAfter(now);
+    }
+}
@@ -0,0 +1,100 @@
+package com.internship.taskmanager.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.internship.taskmanager.config.ReadRouting;
+import com.internship.taskmanager.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded, TTL-evicting cache of {@link AuthenticatedUser} keyed by email. Shared by the JWT filter
+ * and the services so a request resolves its user at most once, and usually not at all.
+ * Unknown emails are never cached.
+ *
+ * <p>A load that overlaps an eviction is returned but not cached: it may have read the row before the
+ * change that caused the eviction committed.
+ *
+ * <p>Hits, misses and evictions are published as the {@code cache.*} meters of cache {@code principal}.
+ */
+@Component
+public class PrincipalCache implements MeterBinder {
+
+    private final UserRepository userRepository;
+    private final Cache<String, AuthenticatedUser> cache;
+    // Bumped before every eviction
+    private final AtomicLong evictions = new AtomicLong();
+
+    public PrincipalCache(UserRepository userRepository,
+                          @Value("${app.security.principal-cache.max-size:10000}") long maxSize,
+                          @Value("${app.security.principal-cache.ttl:5m}") Duration ttl) {
+        this.userRepository = userRepository;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, "principal");
+    }
+
+    public Optional<AuthenticatedUser> get(String email) {
+        AuthenticatedUser cached = cache.getIfPresent(email);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        long stamp = evictions.get();
+        AuthenticatedUser loaded = load(email);
+        if (loaded != null) {
+            cache.asMap().compute(email, (key, existing) -> evictions.get() == stamp ? loaded : existing);
+        }
+        return Optional.ofNullable(loaded);
+    }
+
+    public void evict(String email) {
+        evictions.incrementAndGet();
+        cache.invalidate(email);
+    }
+
+    /**
+     * Evicts by id rather than email so a changed email cannot leave the old entry behind.
+     */
+    public void evictUser(Long userId) {
+        evictions.incrementAndGet();
+        cache.asMap().values().removeIf(user -> user.getId().equals(userId));
+    }
+
+    public void invalidateAll() {
+        evictions.incrementAndGet();
+        cache.invalidateAll();
+    }
+
+    public long hitCount() {
+        return cache.stats().hitCount();
+    }
+
+    public long missCount() {
+        return cache.stats().missCount();
+    }
+
+    public long size() {
+        return cache.estimatedSize();
+    }
+
+    private AuthenticatedUser load(String email) {
+        // The JWT filter loads outside any transaction, so this is where a user is first read
+        return ReadRouting.onPrimary(() -> userRepository.findByEmail(email))
+                .map(user -> new AuthenticatedUser(user.getId(), user.getEmail(), user.getName()))
+                .orElse(null);
+    }
+}
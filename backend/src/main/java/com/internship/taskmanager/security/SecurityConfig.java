@@ -1,5 +1,6 @@
 package com.internship.taskmanager.security;
 
+import jakarta.servlet.DispatcherType;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Configurable;
 import org.springframework.context.annotation.Bean;
@@ -24,6 +25,9 @@ public class SecurityConfig {
     @Autowired
     private JwtAuthenticationFilter jwtAuthenticationFilter;
 
+    @Autowired
+    private MetricsScrapeFilter metricsScrapeFilter;
+
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
         http
@@ -40,11 +44,18 @@ public class SecurityConfig {
 
                 // Authorization rules
                 .authorizeHttpRequests(auth -> auth
+                        // Async (streamed responses) and error re-dispatches were already authorized on the original request
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC, DispatcherType.ERROR).permitAll()
                         .requestMatchers("/api/auth/**").permitAll()  // Allow login
+                        // Probes carry no token; details stay hidden
+                        .requestMatchers("/actuator/health", "/actuator/health/**").permitAll()
+                        // Metrics take only the scraper's own token, never a user's
+                        .requestMatchers(MetricsScrapeFilter.PATHS).hasAuthority(MetricsScrapeFilter.AUTHORITY)
                         .anyRequest().authenticated()                 // Require auth for everything else
                 )
 
-                // Add JWT filter
+                // Add the scrape token and JWT filters
+                .addFilterBefore(metricsScrapeFilter, UsernamePasswordAuthenticationFilter.class)
                 .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
 
         return http.build();
@@ -74,7 +85,7 @@ public class SecurityConfig {
         configuration.setAllowCredentials(true);
 
         // Expose headers
-        configuration.setExposedHeaders(Arrays.asList("Authorization", "Content-Type"));
+        configuration.setExposedHeaders(Arrays.asList("Authorization", "Content-Type", "ETag"));
 
         // Cache preflight for 1 hour
         configuration.setMaxAge(3600L);
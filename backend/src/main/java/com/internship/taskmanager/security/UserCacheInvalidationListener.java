@@ -0,0 +1,53 @@
+package com.internship.taskmanager.security;
+
+import com.internship.taskmanager.model.User;
+import com.internship.taskmanager.service.ChangeNotice;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * JPA entity listener that drops a user's cached principal whenever the row changes, and tells the
+ * other nodes to do the same.
+ *
+ * <p>The entry is dropped once the transaction completes, not when Hibernate flushes the change: a
+ * concurrent request could otherwise reload the old row in between and cache it again.
+ */
+@Component
+public class UserCacheInvalidationListener {
+
+    // Resolved lazily: the listener is created while the EntityManagerFactory the cache depends on is being built
+    private final ObjectProvider<PrincipalCache> principalCache;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    public UserCacheInvalidationListener(ObjectProvider<PrincipalCache> principalCache,
+                                         ApplicationEventPublisher eventPublisher) {
+        this.principalCache = principalCache;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @PostUpdate
+    @PostRemove
+    public void onUserChanged(User user) {
+        // Evicted locally by onChange, and on the other nodes once the notice reaches them
+        eventPublisher.publishEvent(ChangeNotice.user(user.getId()));
+    }
+
+    /**
+     * Local notices arrive after the transaction completes, remote ones immediately.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMPLETION, fallbackExecution = true)
+    public void onChange(ChangeNotice notice) {
+        if (notice.getKind() == ChangeNotice.Kind.USER) {
+            principalCache.ifAvailable(cache -> cache.evictUser(notice.getId()));
+        } else if (notice.getKind() == ChangeNotice.Kind.ALL && notice.isRemote()) {
+            // A remote ALL means user notices may have been lost; a local one only concerns project data
+            principalCache.ifAvailable(PrincipalCache::invalidateAll);
+        }
+    }
+}
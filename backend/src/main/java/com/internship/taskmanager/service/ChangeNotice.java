@@ -0,0 +1,84 @@
+package com.internship.taskmanager.service;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+/**
+ * Compact, id-only description of a committed write, used to keep in-process state coherent across
+ * nodes. Published locally inside the writing transaction and shipped to other nodes by
+ * {@link ChangeNoticeBus} after commit; notices received from other nodes are re-published locally
+ * with {@link #isRemote()} set.
+ *
+ * <p>Listeners that react to both should use
+ * {@code @TransactionalEventListener(fallbackExecution = true)}: local notices then arrive after
+ * commit and remote ones, which are published outside any transaction, immediately.
+ */
+@Getter
+@NoArgsConstructor
+@EqualsAndHashCode
+@ToString
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ChangeNotice {
+
+    public enum Kind {
+        PROJECT, TASK, USER,
+        // Anything may have changed: drop all cached state
+        ALL
+    }
+
+    public enum Action {
+        CREATED, UPDATED, COMPLETED, DELETED
+    }
+
+    private Kind kind;
+    private Action action;
+    private Long projectId;
+    private Long id;
+    // Owner of the project, when known
+    private Long userId;
+
+    @JsonIgnore
+    @EqualsAndHashCode.Exclude
+    private boolean remote;
+
+    private ChangeNotice(Kind kind, Action action, Long projectId, Long id, Long userId) {
+        this.kind = kind;
+        this.action = action;
+        this.projectId = projectId;
+        this.id = id;
+        this.userId = userId;
+    }
+
+    public static ChangeNotice project(Action action, Long projectId, Long userId) {
+        return new ChangeNotice(Kind.PROJECT, action, projectId, projectId, userId);
+    }
+
+    public static ChangeNotice task(Action action, Long projectId, Long taskId) {
+        return new ChangeNotice(Kind.TASK, action, projectId, taskId, null);
+    }
+
+    public static ChangeNotice user(Long userId) {
+        return new ChangeNotice(Kind.USER, Action.UPDATED, null, userId, userId);
+    }
+
+    public static ChangeNotice all() {
+        return new ChangeNotice(Kind.ALL, null, null, null, null);
+    }
+
+    /**
+     * Identifies the entity the notice is about; later notices for the same key supersede earlier ones.
+     */
+    String key() {
+        return kind + ":" + projectId + ":" + id;
+    }
+
+    ChangeNotice asRemote() {
+        ChangeNotice copy = new ChangeNotice(kind, action, projectId, id, userId);
+        copy.remote = true;
+        return copy;
+    }
+}
@@ -0,0 +1,284 @@
+package com.internship.taskmanager.service;
+
+import com.internship.taskmanager.config.DedicatedConnectionFactory;
+import jakarta.annotation.PreDestroy;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cluster-wide invalidation bus on Postgres {@code LISTEN/NOTIFY}.
+ *
+ * <p>Committed local changes are queued and flushed every {@code app.cluster.notify.flush-interval}:
+ * repeated notices for the same entity collapse into the latest one, and a burst larger than
+ * {@code max-pending} collapses into a single {@link ChangeNotice.Kind#ALL}. Each flush sends as few
+ * {@code pg_notify} calls as the 8000-byte payload limit allows, on a pooled connection.
+ *
+ * <p>Every node listens on a dedicated connection outside the pool, so a busy pool never delays
+ * invalidations and pool recycling never drops the subscription. Notices from other nodes are
+ * re-published locally as remote {@link ChangeNotice}s. Postgres does not replay notifications sent
+ * while a listener was disconnected, so after every reconnect the node publishes
+ * {@link ChangeNotice#all()} and drops everything it has cached.
+ */
+@Component
+@ConditionalOnProperty(name = "app.cluster.notify.enabled", havingValue = "true", matchIfMissing = true)
+public class ChangeNoticeBus {
+
+    private static final Logger logger = LoggerFactory.getLogger(ChangeNoticeBus.class);
+
+    // Notices are a few dozen bytes each; this keeps every payload well under the 8000-byte limit
+    private static final int NOTICES_PER_PAYLOAD = 64;
+    private static final long MAX_RECONNECT_DELAY_MILLIS = 30_000;
+    // Tells the listener apart from pooled connections in pg_stat_activity
+    static final String LISTENER_APPLICATION_NAME = "task-manager-change-listener";
+
+    private final String nodeId = UUID.randomUUID().toString().substring(0, 8);
+    private final Map<String, ChangeNotice> pending = new LinkedHashMap<>();
+    private final AtomicLong sentNotifications = new AtomicLong();
+    private final AtomicLong receivedNotices = new AtomicLong();
+    private final AtomicLong reconnects = new AtomicLong();
+    private final ScheduledExecutorService flusher;
+    private final JdbcTemplate jdbcTemplate;
+    private final JsonMapper jsonMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final String channel;
+    private final long flushIntervalMillis;
+    private final int maxPending;
+    private final long pollTimeoutMillis;
+    private final DedicatedConnectionFactory connectionFactory;
+
+    private volatile boolean running;
+    private volatile Connection listenConnection;
+    private Thread listener;
+
+    public ChangeNoticeBus(JdbcTemplate jdbcTemplate,
+                           JsonMapper jsonMapper,
+                           ApplicationEventPublisher eventPublisher,
+                           @Value("${app.cluster.notify.channel:task_manager_changes}") String channel,
+                           @Value("${app.cluster.notify.flush-interval:50ms}") Duration flushInterval,
+                           @Value("${app.cluster.notify.max-pending:1000}") int maxPending,
+                           @Value("${app.cluster.notify.poll-timeout:10s}") Duration pollTimeout,
+                           DedicatedConnectionFactory connectionFactory) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.jsonMapper = jsonMapper;
+        this.eventPublisher = eventPublisher;
+        this.channel = channel;
+        this.flushIntervalMillis = flushInterval.toMillis();
+        this.maxPending = maxPending;
+        this.pollTimeoutMillis = pollTimeout.toMillis();
+        this.connectionFactory = connectionFactory;
+        this.flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "change-notice-flush");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        flusher.scheduleWithFixedDelay(this::flush, flushIntervalMillis, flushIntervalMillis, TimeUnit.MILLISECONDS);
+        listener = new Thread(this::listen, "change-notice-listener");
+        listener.setDaemon(true);
+        listener.start();
+    }
+
+    @TransactionalEventListener
+    public void onTaskChanged(TaskChangedEvent event) {
+        enqueue(event.toNotice());
+    }
+
+    @TransactionalEventListener
+    public void onChange(ChangeNotice notice) {
+        if (!notice.isRemote()) {
+            enqueue(notice);
+        }
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    public long getSentNotificationCount() {
+        return sentNotifications.get();
+    }
+
+    public long getReceivedNoticeCount() {
+        return receivedNotices.get();
+    }
+
+    public long getReconnectCount() {
+        return reconnects.get();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        running = false;
+        flusher.shutdown();
+        flush();
+        if (listener != null) {
+            listener.interrupt();
+        }
+        DedicatedConnectionFactory.closeQuietly(listenConnection);
+    }
+
+    private void enqueue(ChangeNotice notice) {
+        enqueue(notice, true);
+    }
+
+    /**
+     * @param supersede whether the notice is newer than one already pending for the same entity
+     */
+    private void enqueue(ChangeNotice notice, boolean supersede) {
+        synchronized (pending) {
+            String allKey = ChangeNotice.all().key();
+            if (pending.containsKey(allKey)) {
+                return;
+            }
+            if (notice.getKind() == ChangeNotice.Kind.ALL
+                    || (pending.size() >= maxPending && !pending.containsKey(notice.key()))) {
+                pending.clear();
+                pending.put(allKey, ChangeNotice.all());
+                return;
+            }
+            if (supersede) {
+                // Re-inserting moves the entity to the end, so the latest action wins
+                pending.remove(notice.key());
+                pending.put(notice.key(), notice);
+            } else {
+                pending.putIfAbsent(notice.key(), notice);
+            }
+        }
+    }
+
+    void flush() {
+        List<ChangeNotice> batch;
+        synchronized (pending) {
+            if (pending.isEmpty()) {
+                return;
+            }
+            batch = new ArrayList<>(pending.values());
+            pending.clear();
+        }
+        for (int from = 0; from < batch.size(); from += NOTICES_PER_PAYLOAD) {
+            List<ChangeNotice> chunk = batch.subList(from, Math.min(from + NOTICES_PER_PAYLOAD, batch.size()));
+            String payload = jsonMapper.writeValueAsString(new Envelope(nodeId, chunk));
+            try {
+                jdbcTemplate.queryForList("select pg_notify(?, ?)", channel, payload);
+                sentNotifications.incrementAndGet();
+            } catch (RuntimeException e) {
+                // Other nodes would stay stale: retry with the next flush, collapsing if it keeps failing
+                logger.warn("Could not publish change notices, will retry: {}", e.getMessage());
+                batch.subList(from, batch.size()).forEach(notice -> enqueue(notice, false));
+                return;
+            }
+        }
+    }
+
+    private void listen() {
+        long delay = 500;
+        boolean connectedBefore = false;
+        while (running) {
+            try (Connection connection = connectionFactory.open(LISTENER_APPLICATION_NAME)) {
+                listenConnection = connection;
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + channel);
+                }
+                if (connectedBefore) {
+                    reconnects.incrementAndGet();
+                    logger.info("Change notice listener reconnected; invalidating all cached state");
+                    eventPublisher.publishEvent(ChangeNotice.all().asRemote());
+                }
+                connectedBefore = true;
+                delay = 500;
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications((int) pollTimeoutMillis);
+                    if (notifications == null || notifications.length == 0) {
+                        // Idle: a round trip detects a dead connection that would otherwise wait forever
+                        try (Statement statement = connection.createStatement()) {
+                            statement.execute("SELECT 1");
+                        }
+                        continue;
+                    }
+                    for (PGNotification notification : notifications) {
+                        dispatch(notification.getParameter());
+                    }
+                }
+            } catch (SQLException e) {
+                if (!running) {
+                    return;
+                }
+                logger.warn("Change notice listener lost its connection, retrying in {} ms: {}", delay, e.getMessage());
+                try {
+                    Thread.sleep(delay);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                delay = Math.min(delay * 2, MAX_RECONNECT_DELAY_MILLIS);
+            } finally {
+                listenConnection = null;
+            }
+        }
+    }
+
+    private void dispatch(String payload) {
+        Envelope envelope;
+        try {
+            envelope = jsonMapper.readValue(payload, Envelope.class);
+        } catch (RuntimeException e) {
+            logger.warn("Ignoring malformed change notice payload: {}", e.getMessage());
+            return;
+        }
+        if (nodeId.equals(envelope.getOrigin()) || envelope.getNotices() == null) {
+            return;
+        }
+        for (ChangeNotice notice : envelope.getNotices()) {
+            receivedNotices.incrementAndGet();
+            try {
+                eventPublisher.publishEvent(notice.asRemote());
+            } catch (RuntimeException e) {
+                logger.warn("Change notice listener failed for {}", notice, e);
+            }
+        }
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    static class Envelope {
+        private String origin;
+        private List<ChangeNotice> notices;
+    }
+}
@@ -0,0 +1,90 @@
+package com.internship.taskmanager.service;
+
+import com.internship.taskmanager.model.Project;
+import com.internship.taskmanager.model.Task;
+import com.internship.taskmanager.model.User;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Keeps the Hibernate second-level cache in step with writes Hibernate does not see: the single-
+ * statement task mutations and the counter updates are plain SQL, and other nodes write to the same
+ * database without touching this node's in-process regions.
+ *
+ * <p>Local changes are evicted twice: right after the write, so later reads in the same transaction
+ * go to the database, and again when the transaction completes, so a row cached by a concurrent
+ * read before the commit (or by this transaction before a rollback) does not survive it. Task id
+ * collections are only evicted the second time: Hibernate soft-locks them while the transaction
+ * runs and expects to find its lock at commit. Remote notices arrive outside any transaction and
+ * are evicted once.
+ */
+@Component
+public class EntityCacheEvictor {
+
+    private static final String PROJECT_TASKS_ROLE = Project.class.getName() + ".tasks";
+
+    private final Cache cache;
+
+    public EntityCacheEvictor(EntityManagerFactory entityManagerFactory) {
+        this.cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+    }
+
+    @EventListener
+    public void onTaskChanged(TaskChangedEvent event) {
+        evict(event.toNotice(), false);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMPLETION)
+    public void afterTaskChanged(TaskChangedEvent event) {
+        evict(event.toNotice(), true);
+    }
+
+    @EventListener
+    public void onChange(ChangeNotice notice) {
+        evict(notice, notice.isRemote());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMPLETION)
+    public void afterChange(ChangeNotice notice) {
+        evict(notice, true);
+    }
+
+    private void evict(ChangeNotice notice, boolean collections) {
+        switch (notice.getKind()) {
+            case TASK -> {
+                cache.evictEntityData(Task.class, notice.getId());
+                // Counters changed
+                cache.evictEntityData(Project.class, notice.getProjectId());
+                if (collections && (notice.getAction() == ChangeNotice.Action.CREATED
+                        || notice.getAction() == ChangeNotice.Action.DELETED)) {
+                    cache.evictCollectionData(PROJECT_TASKS_ROLE, notice.getProjectId());
+                }
+            }
+            case PROJECT -> {
+                cache.evictEntityData(Project.class, notice.getProjectId());
+                if (collections) {
+                    cache.evictCollectionData(PROJECT_TASKS_ROLE, notice.getProjectId());
+                }
+            }
+            case USER -> {
+                // Local user writes go through Hibernate, which maintains the regions itself
+                if (notice.isRemote()) {
+                    cache.evictEntityData(User.class, notice.getId());
+                    cache.evictNaturalIdData(User.class);
+                }
+            }
+            case ALL -> {
+                if (collections) {
+                    cache.evictAllRegions();
+                } else {
+                    cache.evictEntityData();
+                }
+            }
+        }
+    }
+}
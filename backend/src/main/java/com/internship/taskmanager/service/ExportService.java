@@ -0,0 +1,121 @@
+package com.internship.taskmanager.service;
+
+import com.internship.taskmanager.dto.TransferRecord;
+import com.internship.taskmanager.exception.ResourceNotFoundException;
+import com.internship.taskmanager.model.Project;
+import com.internship.taskmanager.model.Task;
+import com.internship.taskmanager.repository.ProjectRepository;
+import com.internship.taskmanager.repository.TaskRepository;
+import com.internship.taskmanager.security.PrincipalCache;
+import jakarta.persistence.EntityManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Streams all of a user's projects and tasks as newline-delimited JSON ({@link TransferRecord} per line).
+ * Projects and tasks are read through two forward-only, fetch-size-limited cursors ordered by project id
+ * and merged on the fly, and every entity is detached once written, so memory stays flat regardless of
+ * account size.
+ */
+@Service
+public class ExportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ExportService.class);
+
+    private static final int FLUSH_EVERY = 1000;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private PrincipalCache principalCache;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private JsonMapper jsonMapper;
+
+    public Long resolveUserId(String email) {
+        return principalCache.get(email)
+                .orElseThrow(() -> new ResourceNotFoundException("User", "email", email))
+                .getId();
+    }
+
+    @Transactional(readOnly = true)
+    public void exportUserData(Long userId, OutputStream target) throws IOException {
+        OutputStream out = new BufferedOutputStream(target, 64 * 1024);
+        long lines = 0;
+
+        try (Stream<Project> projects = projectRepository.streamByUserId(userId);
+             Stream<Task> tasks = taskRepository.streamByUserId(userId)) {
+            Iterator<Task> taskIterator = tasks.iterator();
+            Task pendingTask = taskIterator.hasNext() ? taskIterator.next() : null;
+
+            for (Iterator<Project> projectIterator = projects.iterator(); projectIterator.hasNext(); ) {
+                Project project = projectIterator.next();
+                writeLine(out, toRecord(project));
+                entityManager.detach(project);
+                if (lines++ == 0) {
+                    // Get the first bytes to the client before the task cursor is drained
+                    out.flush();
+                }
+
+                // Both cursors are ordered by project id, so tasks are written right behind their project
+                while (pendingTask != null && pendingTask.getProject().getId() <= project.getId()) {
+                    if (pendingTask.getProject().getId().equals(project.getId())) {
+                        writeLine(out, toRecord(pendingTask));
+                        if (++lines % FLUSH_EVERY == 0) {
+                            out.flush();
+                        }
+                    }
+                    entityManager.detach(pendingTask);
+                    pendingTask = taskIterator.hasNext() ? taskIterator.next() : null;
+                }
+            }
+        }
+        out.flush();
+        logger.info("Exported {} records for user {}", lines, userId);
+    }
+
+    private void writeLine(OutputStream out, TransferRecord record) throws IOException {
+        out.write(jsonMapper.writeValueAsBytes(record));
+        out.write('\n');
+    }
+
+    private static TransferRecord toRecord(Project project) {
+        return TransferRecord.builder()
+                .type(TransferRecord.TYPE_PROJECT)
+                .id(project.getId())
+                .title(project.getTitle())
+                .description(project.getDescription())
+                .createdAt(project.getCreatedAt())
+                .build();
+    }
+
+    private static TransferRecord toRecord(Task task) {
+        return TransferRecord.builder()
+                .type(TransferRecord.TYPE_TASK)
+                .id(task.getId())
+                .projectId(task.getProject().getId())
+                .title(task.getTitle())
+                .description(task.getDescription())
+                .dueDate(task.getDueDate())
+                .isCompleted(task.getIsCompleted())
+                .createdAt(task.getCreatedAt())
+                .build();
+    }
+}
@@ -0,0 +1,113 @@
+package com.internship.taskmanager.service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * Hashed timing wheel: a ring of buckets, one per tick, each holding the timers that expire on a tick
+ * hashing to it. Scheduling and cancelling are O(1); advancing visits only the buckets of the ticks
+ * that passed, comparing each timer's absolute tick so timers further out than one rotation stay put.
+ *
+ * <p>Timers are keyed: scheduling a key again replaces its timer. A timer never fires before its
+ * deadline, but may fire up to one tick after it. Not thread-safe.
+ */
+class HashedTimingWheel<K, V> {
+
+    private final long tickMillis;
+    private final List<Map<K, Timer<K, V>>> buckets;
+    private final Map<K, Timer<K, V>> timers = new HashMap<>();
+    // Next tick to expire
+    private long currentTick;
+
+    HashedTimingWheel(Duration tick, int size, long startMillis) {
+        if (tick.toMillis() < 1 || size < 1) {
+            throw new IllegalArgumentException("tick must be at least 1 ms and size at least 1");
+        }
+        this.tickMillis = tick.toMillis();
+        this.buckets = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            buckets.add(new HashMap<>());
+        }
+        this.currentTick = startMillis / tickMillis;
+    }
+
+    void schedule(K key, long deadlineMillis, V value) {
+        cancel(key);
+        // Rounded up so the timer never fires early; overdue timers go on the next tick
+        long tick = Math.max(Math.floorDiv(deadlineMillis + tickMillis - 1, tickMillis), currentTick);
+        Timer<K, V> timer = new Timer<>(key, value, tick);
+        timers.put(key, timer);
+        bucket(tick).put(key, timer);
+    }
+
+    boolean cancel(K key) {
+        Timer<K, V> timer = timers.remove(key);
+        if (timer == null) {
+            return false;
+        }
+        bucket(timer.tick).remove(key);
+        return true;
+    }
+
+    /**
+     * Cancels every timer whose value matches. Walks all timers, so meant for rare bulk changes.
+     */
+    int cancelIf(Predicate<V> predicate) {
+        List<K> keys = timers.values().stream()
+                .filter(timer -> predicate.test(timer.value))
+                .map(timer -> timer.key)
+                .toList();
+        keys.forEach(this::cancel);
+        return keys.size();
+    }
+
+    /**
+     * Expires the ticks up to {@code nowMillis}.
+     *
+     * @return values of the expired timers
+     */
+    List<V> advance(long nowMillis) {
+        long targetTick = nowMillis / tickMillis;
+        List<V> expired = new ArrayList<>();
+        // After a gap longer than a rotation every bucket is visited once, not once per missed tick
+        long lastTick = Math.min(targetTick, currentTick + buckets.size() - 1);
+        for (long tick = currentTick; tick <= lastTick; tick++) {
+            Iterator<Timer<K, V>> iterator = bucket(tick).values().iterator();
+            while (iterator.hasNext()) {
+                Timer<K, V> timer = iterator.next();
+                if (timer.tick <= targetTick) {
+                    iterator.remove();
+                    timers.remove(timer.key);
+                    expired.add(timer.value);
+                }
+            }
+        }
+        currentTick = Math.max(currentTick, targetTick + 1);
+        return expired;
+    }
+
+    boolean contains(K key) {
+        return timers.containsKey(key);
+    }
+
+    int size() {
+        return timers.size();
+    }
+
+    void clear() {
+        buckets.forEach(Map::clear);
+        timers.clear();
+    }
+
+    private Map<K, Timer<K, V>> bucket(long tick) {
+        return buckets.get((int) Math.floorMod(tick, (long) buckets.size()));
+    }
+
+    private record Timer<K, V>(K key, V value, long tick) {
+    }
+}
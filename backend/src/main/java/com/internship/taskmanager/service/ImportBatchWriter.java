@@ -0,0 +1,273 @@
+package com.internship.taskmanager.service;
+
+import com.internship.taskmanager.dto.ProjectRequest;
+import com.internship.taskmanager.dto.TaskRequest;
+import com.internship.taskmanager.dto.TransferRecord;
+import com.internship.taskmanager.exception.BadRequestException;
+import com.internship.taskmanager.model.ImportJob;
+import com.internship.taskmanager.model.ImportProjectRef;
+import com.internship.taskmanager.model.ImportRowError;
+import com.internship.taskmanager.model.Project;
+import com.internship.taskmanager.model.Task;
+import com.internship.taskmanager.repository.ImportJobRepository;
+import com.internship.taskmanager.repository.ImportProjectRefRepository;
+import com.internship.taskmanager.repository.ImportRowErrorRepository;
+import com.internship.taskmanager.repository.ProjectRepository;
+import com.internship.taskmanager.repository.TaskRepository;
+import com.internship.taskmanager.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Transactional half of the import pipeline: every method commits on its own, so a failure only
+ * loses the batch in flight and the job row always reflects committed work.
+ */
+@Component
+public class ImportBatchWriter {
+
+    @Autowired
+    private ImportJobRepository importJobRepository;
+
+    @Autowired
+    private ImportRowErrorRepository importRowErrorRepository;
+
+    @Autowired
+    private ImportProjectRefRepository importProjectRefRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private RequestValidator requestValidator;
+
+    @Value("${app.import.max-recorded-errors:1000}")
+    private long maxRecordedErrors;
+
+    // A RUNNING job without a committed batch for this long is taken to have lost its request
+    @Value("${app.import.lease:2m}")
+    private Duration lease;
+
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public ImportJob startJob(Long userId, ImportJob.Format format) {
+        return importJobRepository.save(ImportJob.builder()
+                .userId(userId)
+                .format(format)
+                .status(ImportJob.Status.RUNNING)
+                .heartbeatAt(LocalDateTime.now())
+                .build());
+    }
+
+    /**
+     * Starts a new attempt of an unfinished job. The row lock makes concurrent resumes of one job take
+     * turns, so only the first finds it resumable; the others see it running.
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public ImportJob resumeJob(Long jobId) {
+        ImportJob job = importJobRepository.findByIdForUpdate(jobId).orElseThrow();
+        LocalDateTime now = LocalDateTime.now();
+        if (job.getStatus() == ImportJob.Status.COMPLETED) {
+            throw new BadRequestException("Import job " + jobId + " has already completed");
+        }
+        if (job.getStatus() == ImportJob.Status.RUNNING && job.getHeartbeatAt() != null
+                && job.getHeartbeatAt().isAfter(now.minus(lease))) {
+            throw new BadRequestException("Import job " + jobId + " is still running");
+        }
+        job.setStatus(ImportJob.Status.RUNNING);
+        job.setMessage(null);
+        job.setAttempt(job.getAttempt() + 1);
+        job.setHeartbeatAt(now);
+        return job;
+    }
+
+    /**
+     * Writes one batch of rows and advances the job's committed row count in the same transaction.
+     * Fails, rolling the batch back, if the job has been resumed by another request or has moved past
+     * {@code context.rowsCommitted}.
+     *
+     * @return source project refs created by this batch; merge them into the context only after this returns
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public Map<String, Long> writeBatch(ImportContext context, List<ImportRow> rows) {
+        long lastRow = rows.get(rows.size() - 1).number;
+        if (importJobRepository.advanceRowsCommitted(context.jobId, context.attempt, context.rowsCommitted, lastRow,
+                LocalDateTime.now()) == 0) {
+            throw new IllegalStateException("Import job " + context.jobId + " was resumed by another request");
+        }
+        ImportJob job = importJobRepository.findById(context.jobId).orElseThrow();
+        Map<String, Long> createdRefs = new HashMap<>();
+        List<Task> tasks = new ArrayList<>();
+        // Counted from committed rows on the batch's first error, so a rolled-back batch leaves no trace
+        long recordedErrors = -1;
+
+        for (ImportRow row : rows) {
+            String error = row.parseError != null
+                    ? row.parseError
+                    : applyRow(context, job, row.record, createdRefs, tasks);
+            if (error != null) {
+                job.setRowsFailed(job.getRowsFailed() + 1);
+                if (recordedErrors < 0) {
+                    recordedErrors = importRowErrorRepository.countByJobId(job.getId());
+                }
+                if (recordedErrors < maxRecordedErrors) {
+                    importRowErrorRepository.save(ImportRowError.builder()
+                            .jobId(job.getId())
+                            .rowNumber(row.number)
+                            .message(truncate(error))
+                            .build());
+                    recordedErrors++;
+                }
+            }
+        }
+
+        taskRepository.saveAll(tasks);
+        job.setTasksCreated(job.getTasksCreated() + tasks.size());
+        adjustCounters(tasks, context.userId);
+
+        // Keep the persistence context from growing with the size of the upload
+        entityManager.flush();
+        entityManager.clear();
+        return createdRefs;
+    }
+
+    /**
+     * Leaves the job alone if another request has resumed it since this attempt started.
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public ImportJob finishJob(ImportContext context, ImportJob.Status status, String message) {
+        ImportJob job = importJobRepository.findByIdForUpdate(context.jobId).orElseThrow();
+        if (!job.getAttempt().equals(context.attempt)) {
+            return job;
+        }
+        job.setStatus(status);
+        job.setMessage(message != null ? truncate(message) : null);
+        return job;
+    }
+
+    private void adjustCounters(List<Task> tasks, Long userId) {
+        Map<Long, int[]> deltas = new HashMap<>();
+        for (Task task : tasks) {
+            int[] delta = deltas.computeIfAbsent(task.getProject().getId(), id -> new int[2]);
+            delta[0]++;
+            delta[1] += task.getIsCompleted() ? 1 : 0;
+        }
+        deltas.forEach((projectId, delta) -> {
+            projectRepository.adjustTaskCounters(projectId, delta[0], delta[1]);
+            // Imported tasks are not pushed one by one; the notice tells caches and live clients to refetch
+            eventPublisher.publishEvent(ChangeNotice.project(ChangeNotice.Action.UPDATED, projectId, userId));
+        });
+    }
+
+    private String applyRow(ImportContext context, ImportJob job, TransferRecord record,
+                            Map<String, Long> createdRefs, List<Task> tasks) {
+        if (TransferRecord.TYPE_PROJECT.equals(record.getType())) {
+            return applyProject(context, job, record, createdRefs);
+        }
+        if (TransferRecord.TYPE_TASK.equals(record.getType())) {
+            return applyTask(context, record, createdRefs, tasks);
+        }
+        return "Unknown record type: " + record.getType();
+    }
+
+    private String applyProject(ImportContext context, ImportJob job, TransferRecord record,
+                                Map<String, Long> createdRefs) {
+        String error = requestValidator.firstViolation(ProjectRequest.builder()
+                .title(record.getTitle())
+                .description(record.getDescription())
+                .build());
+        if (error != null) {
+            return error;
+        }
+        String ref = record.getId() != null ? record.getId().toString() : null;
+        if (ref != null && (context.projectRefs.containsKey(ref) || createdRefs.containsKey(ref))) {
+            return "Duplicate project id in import: " + ref;
+        }
+
+        Project project = projectRepository.save(Project.builder()
+                .title(record.getTitle())
+                .description(record.getDescription())
+                .user(userRepository.getReferenceById(context.userId))
+                .build());
+        job.setProjectsCreated(job.getProjectsCreated() + 1);
+        eventPublisher.publishEvent(ChangeNotice.project(ChangeNotice.Action.CREATED, project.getId(), context.userId));
+        if (ref != null) {
+            createdRefs.put(ref, project.getId());
+            importProjectRefRepository.save(ImportProjectRef.builder()
+                    .jobId(job.getId())
+                    .sourceRef(ref)
+                    .projectId(project.getId())
+                    .build());
+        }
+        return null;
+    }
+
+    private String applyTask(ImportContext context, TransferRecord record,
+                             Map<String, Long> createdRefs, List<Task> tasks) {
+        String error = requestValidator.firstViolation(TaskRequest.builder()
+                .title(record.getTitle())
+                .description(record.getDescription())
+                .dueDate(record.getDueDate())
+                .build());
+        if (error != null) {
+            return error;
+        }
+        if (record.getProjectId() == null) {
+            return "projectId is required for task rows";
+        }
+
+        Long projectId = resolveProject(context, record.getProjectId(), createdRefs);
+        if (projectId == null) {
+            return "Project not found with id: '" + record.getProjectId() + "'";
+        }
+        tasks.add(Task.builder()
+                .title(record.getTitle())
+                .description(record.getDescription())
+                .dueDate(record.getDueDate())
+                .isCompleted(Boolean.TRUE.equals(record.getIsCompleted()))
+                .project(projectRepository.getReferenceById(projectId))
+                .build());
+        return null;
+    }
+
+    /**
+     * A task's projectId refers to a project from the same import first, then to an existing project
+     * of the importing user.
+     */
+    private Long resolveProject(ImportContext context, Long projectId, Map<String, Long> createdRefs) {
+        String ref = projectId.toString();
+        Long imported = createdRefs.getOrDefault(ref, context.projectRefs.get(ref));
+        if (imported != null) {
+            return imported;
+        }
+        boolean owned = context.ownership.computeIfAbsent(projectId,
+                id -> projectRepository.existsByIdAndUserId(id, context.userId));
+        return owned ? projectId : null;
+    }
+
+    private static String truncate(String message) {
+        return message.length() > 1000 ? message.substring(0, 1000) : message;
+    }
+}
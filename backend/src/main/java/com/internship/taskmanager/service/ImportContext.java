@@ -0,0 +1,32 @@
+package com.internship.taskmanager.service;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * In-memory state of a running import that outlives single batches. Everything here can be rebuilt
+ * from the database, which is what makes an interrupted import resumable.
+ */
+final class ImportContext {
+
+    final Long jobId;
+    final Integer attempt;
+    final Long userId;
+
+    // Last input row whose batch has committed
+    long rowsCommitted;
+
+    // Source project id -> created project id
+    final Map<String, Long> projectRefs;
+
+    // Existing project id -> whether it belongs to the importing user
+    final Map<Long, Boolean> ownership = new HashMap<>();
+
+    ImportContext(Long jobId, Integer attempt, Long userId, long rowsCommitted, Map<String, Long> projectRefs) {
+        this.jobId = jobId;
+        this.attempt = attempt;
+        this.userId = userId;
+        this.rowsCommitted = rowsCommitted;
+        this.projectRefs = projectRefs;
+    }
+}
@@ -0,0 +1,27 @@
+package com.internship.taskmanager.service;
+
+import com.internship.taskmanager.dto.TransferRecord;
+
+/**
+ * A single parsed input row: either a record or the reason it could not be parsed.
+ */
+final class ImportRow {
+
+    final long number;
+    final TransferRecord record;
+    final String parseError;
+
+    private ImportRow(long number, TransferRecord record, String parseError) {
+        this.number = number;
+        this.record = record;
+        this.parseError = parseError;
+    }
+
+    static ImportRow of(long number, TransferRecord record) {
+        return new ImportRow(number, record, null);
+    }
+
+    static ImportRow failed(long number, String parseError) {
+        return new ImportRow(number, null, parseError);
+    }
+}
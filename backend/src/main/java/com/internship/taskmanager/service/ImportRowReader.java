@@ -0,0 +1,163 @@
+package com.internship.taskmanager.service;
+
+import com.internship.taskmanager.dto.TransferRecord;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Pulls one {@link ImportRow} at a time from an NDJSON or CSV stream, so an upload is never held in
+ * memory as a whole. Row numbers count data rows only (a CSV header is not a row) and start at 1.
+ */
+abstract class ImportRowReader {
+
+    protected final BufferedReader reader;
+    protected long rowNumber;
+
+    ImportRowReader(BufferedReader reader) {
+        this.reader = reader;
+    }
+
+    /**
+     * @return the next row, or {@code null} at end of input
+     */
+    abstract ImportRow next() throws IOException;
+
+    static ImportRowReader ndjson(BufferedReader reader, JsonMapper jsonMapper) {
+        return new NdjsonReader(reader, jsonMapper);
+    }
+
+    static ImportRowReader csv(BufferedReader reader) throws IOException {
+        return new CsvReader(reader);
+    }
+
+    private static final class NdjsonReader extends ImportRowReader {
+
+        private final JsonMapper jsonMapper;
+
+        NdjsonReader(BufferedReader reader, JsonMapper jsonMapper) {
+            super(reader);
+            this.jsonMapper = jsonMapper;
+        }
+
+        @Override
+        ImportRow next() throws IOException {
+            String line;
+            do {
+                line = reader.readLine();
+                if (line == null) {
+                    return null;
+                }
+            } while (line.isBlank());
+
+            rowNumber++;
+            try {
+                return ImportRow.of(rowNumber, jsonMapper.readValue(line, TransferRecord.class));
+            } catch (JacksonException e) {
+                return ImportRow.failed(rowNumber, "Malformed JSON: " + e.getOriginalMessage());
+            }
+        }
+    }
+
+    /**
+     * Minimal RFC 4180 reader: comma separated, double-quoted fields may contain commas, doubled
+     * quotes and line breaks. The first record is a header naming {@link TransferRecord} properties.
+     */
+    private static final class CsvReader extends ImportRowReader {
+
+        private final List<String> header;
+
+        CsvReader(BufferedReader reader) throws IOException {
+            super(reader);
+            List<String> columns = readRecord();
+            this.header = columns != null ? columns.stream().map(String::trim).toList() : List.of();
+        }
+
+        @Override
+        ImportRow next() throws IOException {
+            List<String> fields;
+            do {
+                fields = readRecord();
+                if (fields == null) {
+                    return null;
+                }
+            } while (fields.size() == 1 && fields.get(0).isBlank());
+
+            rowNumber++;
+            if (fields.size() != header.size()) {
+                return ImportRow.failed(rowNumber,
+                        "Expected " + header.size() + " columns but found " + fields.size());
+            }
+            Map<String, String> values = new HashMap<>();
+            for (int i = 0; i < header.size(); i++) {
+                String value = fields.get(i);
+                values.put(header.get(i), value.isEmpty() ? null : value);
+            }
+            try {
+                return ImportRow.of(rowNumber, TransferRecord.builder()
+                        .type(values.get("type"))
+                        .id(parseLong(values.get("id")))
+                        .projectId(parseLong(values.get("projectId")))
+                        .title(values.get("title"))
+                        .description(values.get("description"))
+                        .dueDate(values.get("dueDate") != null ? LocalDate.parse(values.get("dueDate")) : null)
+                        .isCompleted(values.get("isCompleted") != null ? Boolean.valueOf(values.get("isCompleted")) : null)
+                        .build());
+            } catch (NumberFormatException | DateTimeParseException e) {
+                return ImportRow.failed(rowNumber, "Malformed value: " + e.getMessage());
+            }
+        }
+
+        private static Long parseLong(String value) {
+            return value != null ? Long.valueOf(value.trim()) : null;
+        }
+
+        private List<String> readRecord() throws IOException {
+            int c = reader.read();
+            if (c == -1) {
+                return null;
+            }
+            List<String> fields = new ArrayList<>();
+            StringBuilder field = new StringBuilder();
+            boolean quoted = false;
+            while (c != -1) {
+                if (quoted) {
+                    if (c == '"') {
+                        reader.mark(1);
+                        int peek = reader.read();
+                        if (peek == '"') {
+                            field.append('"');
+                        } else {
+                            quoted = false;
+                            if (peek != -1) {
+                                reader.reset();
+                            }
+                        }
+                    } else {
+                        field.append((char) c);
+                    }
+                } else if (c == '"') {
+                    quoted = true;
+                } else if (c == ',') {
+                    fields.add(field.toString());
+                    field.setLength(0);
+                } else if (c == '\n') {
+                    break;
+                } else if (c != '\r') {
+                    field.append((char) c);
+                }
+                c = reader.read();
+            }
+            fields.add(field.toString());
+            return fields;
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package com.internship.taskmanager.service;
+
+import com.internship.taskmanager.dto.ImportJobResponse;
+import com.internship.taskmanager.exception.BadRequestException;
+import com.internship.taskmanager.exception.ResourceNotFoundException;
+import com.internship.taskmanager.model.ImportJob;
+import com.internship.taskmanager.model.ImportProjectRef;
+import com.internship.taskmanager.repository.ImportJobRepository;
+import com.internship.taskmanager.repository.ImportProjectRefRepository;
+import com.internship.taskmanager.repository.ImportRowErrorRepository;
+import com.internship.taskmanager.security.AuthenticatedUser;
+import com.internship.taskmanager.security.PrincipalCache;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Streams an NDJSON or CSV upload of {@link com.internship.taskmanager.dto.TransferRecord} rows into
+ * projects and tasks. Rows are parsed one at a time and written in fixed-size batches, each in its
+ * own transaction that also records the job's progress. Passing the id of an unfinished job together
+ * with the same input resumes after its last committed row, unless the job is still running.
+ */
+@Service
+public class ImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ImportService.class);
+
+    @Autowired
+    private ImportBatchWriter batchWriter;
+
+    @Autowired
+    private ImportJobRepository importJobRepository;
+
+    @Autowired
+    private ImportRowErrorRepository importRowErrorRepository;
+
+    @Autowired
+    private ImportProjectRefRepository importProjectRefRepository;
+
+    @Autowired
+    private PrincipalCache principalCache;
+
+    @Autowired
+    private JsonMapper jsonMapper;
+
+    @Value("${app.import.batch-size:500}")
+    private int batchSize;
+
+    public ImportJobResponse importData(InputStream input, ImportJob.Format format, Long resumeJobId, String email) {
+        AuthenticatedUser user = getUserByEmail(email);
+        ImportJob job = resumeJobId == null
+                ? batchWriter.startJob(user.getId(), format)
+                : resume(resumeJobId, format, user);
+
+        Map<String, Long> refs = importProjectRefRepository.findByJobId(job.getId()).stream()
+                .collect(Collectors.toMap(ImportProjectRef::getSourceRef, ImportProjectRef::getProjectId));
+        ImportContext context = new ImportContext(job.getId(), job.getAttempt(), user.getId(), job.getRowsCommitted(),
+                refs);
+        long skip = job.getRowsCommitted();
+
+        try {
+            BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+            ImportRowReader rows = format == ImportJob.Format.CSV
+                    ? ImportRowReader.csv(reader)
+                    : ImportRowReader.ndjson(reader, jsonMapper);
+
+            List<ImportRow> batch = new ArrayList<>(batchSize);
+            for (ImportRow row = rows.next(); row != null; row = rows.next()) {
+                if (row.number <= skip) {
+                    continue;
+                }
+                batch.add(row);
+                if (batch.size() == batchSize) {
+                    flush(context, batch);
+                }
+            }
+            if (!batch.isEmpty()) {
+                flush(context, batch);
+            }
+            job = batchWriter.finishJob(context, ImportJob.Status.COMPLETED, null);
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Import job {} failed: {}", job.getId(), e.getMessage());
+            job = batchWriter.finishJob(context, ImportJob.Status.FAILED,
+                    "Import stopped after the last committed row: " + e.getMessage());
+        }
+
+        logger.info("Import job {} finished with status {} after {} rows", job.getId(), job.getStatus(), job.getRowsCommitted());
+        return toResponse(job);
+    }
+
+    public ImportJobResponse getJob(Long jobId, String email) {
+        AuthenticatedUser user = getUserByEmail(email);
+        ImportJob job = importJobRepository.findByIdAndUserId(jobId, user.getId())
+                .orElseThrow(() -> new ResourceNotFoundException("Import job", "id", jobId));
+        return toResponse(job);
+    }
+
+    private ImportJob resume(Long jobId, ImportJob.Format format, AuthenticatedUser user) {
+        ImportJob job = importJobRepository.findByIdAndUserId(jobId, user.getId())
+                .orElseThrow(() -> new ResourceNotFoundException("Import job", "id", jobId));
+        if (job.getFormat() != format) {
+            throw new BadRequestException("Import job " + jobId + " was started as " + job.getFormat());
+        }
+        return batchWriter.resumeJob(jobId);
+    }
+
+    private void flush(ImportContext context, List<ImportRow> batch) {
+        context.projectRefs.putAll(batchWriter.writeBatch(context, batch));
+        context.rowsCommitted = batch.get(batch.size() - 1).number;
+        batch.clear();
+    }
+
+    private AuthenticatedUser getUserByEmail(String email) {
+        return principalCache.get(email)
+                .orElseThrow(() -> new ResourceNotFoundException("User", "email", email));
+    }
+
+    private ImportJobResponse toResponse(ImportJob job) {
+        List<ImportJobResponse.RowError> errors = importRowErrorRepository.findTop100ByJobIdOrderByRowNumberAsc(job.getId())
+                .stream()
+                .map(error -> ImportJobResponse.RowError.builder()
+                        .row(error.getRowNumber())
+                        .message(error.getMessage())
+                        .build())
+                .collect(Collectors.toList());
+
+        return ImportJobResponse.builder()
+                .id(job.getId())
+                .format(job.getFormat().name())
+                .status(job.getStatus().name())
+                .rowsCommitted(job.getRowsCommitted())
+                .rowsFailed(job.getRowsFailed())
+                .projectsCreated(job.getProjectsCreated())
+                .tasksCreated(job.getTasksCreated())
+                .message(job.getMessage())
+                .createdAt(job.getCreatedAt())
+                .updatedAt(job.getUpdatedAt())
+                .errors(errors)
+                .build();
+    }
+}
@@ -0,0 +1,46 @@
+package com.internship.taskmanager.service;
+
+import com.internship.taskmanager.exception.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.util.Base64;
+import java.util.function.Function;
+
+/**
+ * Opaque (value, id) position in a keyset-ordered listing, carried by clients as a base64url token.
+ * The value is the listing's sort key (a timestamp, a date, a search rank) and is written with its
+ * {@code toString()}, which must round-trip through the parser given to {@link #decode}.
+ */
+final class KeysetCursor<T> {
+
+    final T value;
+    final Long id;
+
+    KeysetCursor(T value, Long id) {
+        this.value = value;
+        this.id = id;
+    }
+
+    String encode() {
+        String raw = value + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @param name        request parameter the token came in, for the error message
+     * @param parseValue  reads back the value written by {@link #encode()}
+     * @throws BadRequestException if the token was not produced by {@link #encode()}
+     */
+    static <T> KeysetCursor<T> decode(String token, String name, Function<String, T> parseValue) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf('|');
+            return new KeysetCursor<>(
+                    parseValue.apply(raw.substring(0, separator)),
+                    Long.parseLong(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeException e) {
+            throw new BadRequestException("Invalid " + name);
+        }
+    }
+}
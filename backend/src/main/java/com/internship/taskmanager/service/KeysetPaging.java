@@ -0,0 +1,39 @@
+package com.internship.taskmanager.service;
+
+import com.internship.taskmanager.dto.CursorPage;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Keyset pagination without a count query: a listing fetches {@link #fetchSize(int)} rows, one more
+ * than the page holds, and {@link #toPage} learns from the extra row whether another page exists.
+ */
+final class KeysetPaging {
+
+    private KeysetPaging() {
+    }
+
+    static int fetchSize(int pageSize) {
+        return pageSize + 1;
+    }
+
+    /**
+     * @param fetched  up to {@link #fetchSize(int)} rows in listing order
+     * @param cursorOf encodes the position of the last row on the page, when another page follows
+     * @param toItems  turns the rows on the page into the response items
+     */
+    static <T, R> CursorPage<R> toPage(List<T> fetched, int pageSize, Function<T, String> cursorOf,
+                                       Function<List<T>, List<R>> toItems) {
+        List<T> rows = fetched;
+        String nextCursor = null;
+        if (fetched.size() > pageSize) {
+            rows = fetched.subList(0, pageSize);
+            nextCursor = cursorOf.apply(rows.get(pageSize - 1));
+        }
+        return CursorPage.<R>builder()
+                .items(toItems.apply(rows))
+                .nextCursor(nextCursor)
+                .build();
+    }
+}
@@ -0,0 +1,20 @@
+package com.internship.taskmanager.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * Logs reminders until a real delivery channel (email, push) is plugged in.
+ */
+@Component
+public class LoggingTaskReminderNotifier implements TaskReminderNotifier {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoggingTaskReminderNotifier.class);
+
+    @Override
+    public void remind(TaskReminder reminder) {
+        logger.info("Task {} in project {} is due on {}: {}", reminder.getTaskId(), reminder.getProjectId(),
+                reminder.getDueDate(), reminder.getTitle());
+    }
+}
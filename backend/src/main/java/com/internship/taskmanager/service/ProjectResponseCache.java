@@ -0,0 +1,281 @@
+package com.internship.taskmanager.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.internship.taskmanager.config.ReadRouting;
+import com.internship.taskmanager.dto.ProjectDetailResponse;
+import com.internship.taskmanager.dto.ProjectResponse;
+import com.internship.taskmanager.exception.ResourceNotFoundException;
+import com.internship.taskmanager.security.AuthenticatedUser;
+import com.internship.taskmanager.security.PrincipalCache;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.unit.DataSize;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.BooleanSupplier;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Byte-bounded cache of serialized project detail and project list responses, so a hit costs
+ * neither a query nor a Jackson pass: the controller writes the stored bytes (or their gzipped
+ * variant) as they are.
+ *
+ * <p>Entries are evicted by committed task and project writes on this node and, through
+ * {@link ChangeNoticeBus}, on every other node. A read that overlaps a write must not put the state
+ * it read before the write committed, so every put is checked against stamps that evictions bump:
+ * one per stripe of project or user ids, one for list entries whose owner is unknown at eviction
+ * time, and one for everything. Loads read the primary, since a lagging replica could still show
+ * the state an eviction was meant to remove.
+ *
+ * <p>Hits, misses and evictions are published as the {@code cache.*} meters of cache
+ * {@code project-responses}, the bytes held as {@code project.response.cache.bytes}.
+ */
+@Component
+public class ProjectResponseCache implements MeterBinder {
+
+    private static final String CACHE_NAME = "project-responses";
+    private static final int STRIPES = 1024;
+    // Rough per-entry overhead of key, entry object and cache node, so many tiny entries still count
+    private static final int ENTRY_OVERHEAD_BYTES = 128;
+
+    private final ProjectService projectService;
+    private final PrincipalCache principalCache;
+    private final JsonMapper jsonMapper;
+    private final boolean gzipEnabled;
+    private final long gzipMinBytes;
+    private final Cache<Key, SerializedResponse> cache;
+    // Owner of every project that appeared in a cached response, to find the list a task write touches
+    private final Cache<Long, Long> projectOwners;
+    private final AtomicLongArray stamps = new AtomicLongArray(STRIPES);
+    private final AtomicLong listEpoch = new AtomicLong();
+    private final AtomicLong epoch = new AtomicLong();
+
+    public ProjectResponseCache(ProjectService projectService,
+                                PrincipalCache principalCache,
+                                JsonMapper jsonMapper,
+                                @Value("${app.projects.response-cache.max-size:64MB}") DataSize maxSize,
+                                @Value("${app.projects.response-cache.gzip:true}") boolean gzipEnabled,
+                                @Value("${app.projects.response-cache.gzip-min-size:1KB}") DataSize gzipMinSize) {
+        this.projectService = projectService;
+        this.principalCache = principalCache;
+        this.jsonMapper = jsonMapper;
+        this.gzipEnabled = gzipEnabled;
+        this.gzipMinBytes = gzipMinSize.toBytes();
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxSize.toBytes())
+                .weigher((Key key, SerializedResponse value) -> value.size() + ENTRY_OVERHEAD_BYTES)
+                .recordStats()
+                .build();
+        this.projectOwners = Caffeine.newBuilder()
+                .maximumSize(100_000)
+                .build();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, CACHE_NAME);
+        Gauge.builder("project.response.cache.bytes", this, ProjectResponseCache::weightedSize)
+                .description("Bytes held by cached project responses, both encodings and entry overhead")
+                .baseUnit("bytes")
+                .register(registry);
+    }
+
+    /**
+     * Returns the cached project list of the user, serializing and caching it on a miss.
+     */
+    public SerializedResponse getUserProjects(String email) {
+        AuthenticatedUser user = getUser(email);
+        Key key = Key.list(user.getId());
+        SerializedResponse cached = cache.getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        long stamp = stamps.get(stripe(key));
+        long listStamp = listEpoch.get();
+        long globalStamp = epoch.get();
+        List<ProjectResponse> projects = ReadRouting.onPrimary(() -> projectService.getUserProjects(email));
+        projects.forEach(project -> projectOwners.put(project.getId(), user.getId()));
+        SerializedResponse response = serialize(projects, user.getId(), null);
+        putIfCurrent(key, response, () -> stamps.get(stripe(key)) == stamp
+                && listEpoch.get() == listStamp && epoch.get() == globalStamp);
+        return response;
+    }
+
+    /**
+     * Returns the cached project detail if it is cached for this user, without touching the database.
+     */
+    public Optional<SerializedResponse> getCachedProject(Long projectId, String email) {
+        SerializedResponse cached = cache.getIfPresent(Key.detail(projectId));
+        // Keyed by project alone so evictions never need the owner; only the owner may read it
+        if (cached == null || !cached.getOwnerId().equals(getUser(email).getId())) {
+            return Optional.empty();
+        }
+        return Optional.of(cached);
+    }
+
+    /**
+     * Loads, serializes and caches a project detail together with its ETag.
+     *
+     * @throws ResourceNotFoundException unless the project exists and belongs to the user
+     */
+    public SerializedResponse loadProject(Long projectId, String email) {
+        AuthenticatedUser user = getUser(email);
+        Key key = Key.detail(projectId);
+        long stamp = stamps.get(stripe(key));
+        long globalStamp = epoch.get();
+        // ETag first: if a write lands in between, the stored ETag is older than the body and the
+        // write's eviction (or the stamp check) keeps it from being served as current
+        String eTag = ReadRouting.onPrimary(() -> projectService.getProjectETag(projectId, email));
+        ProjectDetailResponse project = ReadRouting.onPrimary(() -> projectService.getProjectById(projectId, email));
+        projectOwners.put(projectId, user.getId());
+        SerializedResponse response = serialize(project, user.getId(), eTag);
+        putIfCurrent(key, response, () -> stamps.get(stripe(key)) == stamp && epoch.get() == globalStamp);
+        return response;
+    }
+
+    @TransactionalEventListener
+    public void onTaskChanged(TaskChangedEvent event) {
+        evictProject(event.getProjectId(), null);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onChange(ChangeNotice notice) {
+        switch (notice.getKind()) {
+            case TASK -> {
+                // Local task writes already arrived as TaskChangedEvent
+                if (notice.isRemote()) {
+                    evictProject(notice.getProjectId(), null);
+                }
+            }
+            case PROJECT -> evictProject(notice.getProjectId(), notice.getUserId());
+            case ALL -> invalidateAll();
+            default -> {
+            }
+        }
+    }
+
+    public void invalidateAll() {
+        epoch.incrementAndGet();
+        cache.invalidateAll();
+    }
+
+    public long hitCount() {
+        return cache.stats().hitCount();
+    }
+
+    public long missCount() {
+        return cache.stats().missCount();
+    }
+
+    public double hitRate() {
+        return cache.stats().hitRate();
+    }
+
+    public long size() {
+        return cache.estimatedSize();
+    }
+
+    /**
+     * Bytes held by cached responses, including both encodings and per-entry overhead.
+     */
+    public long weightedSize() {
+        return cache.policy().eviction().map(eviction -> eviction.weightedSize().orElse(0)).orElse(0L);
+    }
+
+    private void evictProject(Long projectId, Long ownerId) {
+        Key detail = Key.detail(projectId);
+        stamps.incrementAndGet(stripe(detail));
+        cache.invalidate(detail);
+
+        Long owner = ownerId != null ? ownerId : projectOwners.getIfPresent(projectId);
+        if (owner != null) {
+            Key list = Key.list(owner);
+            stamps.incrementAndGet(stripe(list));
+            cache.invalidate(list);
+        } else {
+            // Not in any cached list, but a list being loaded right now may contain it
+            listEpoch.incrementAndGet();
+        }
+    }
+
+    /**
+     * Puts only if no eviction happened since the caller read its stamps. Running the check inside
+     * the map's compute serializes it with the invalidation of the same key.
+     */
+    private void putIfCurrent(Key key, SerializedResponse response, BooleanSupplier current) {
+        cache.asMap().compute(key, (k, existing) -> current.getAsBoolean() ? response : existing);
+    }
+
+    private SerializedResponse serialize(Object body, Long ownerId, String eTag) {
+        byte[] json = jsonMapper.writeValueAsBytes(body);
+        byte[] gzip = gzipEnabled && json.length >= gzipMinBytes ? gzip(json) : null;
+        return new SerializedResponse(ownerId, eTag, json, gzip != null && gzip.length < json.length ? gzip : null);
+    }
+
+    private AuthenticatedUser getUser(String email) {
+        return principalCache.get(email)
+                .orElseThrow(() -> new ResourceNotFoundException("User", "email", email));
+    }
+
+    private static int stripe(Key key) {
+        return Math.floorMod(key.hashCode(), STRIPES);
+    }
+
+    private static byte[] gzip(byte[] json) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(json.length / 4);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    private record Key(boolean list, Long id) {
+        static Key list(Long userId) {
+            return new Key(true, userId);
+        }
+
+        static Key detail(Long projectId) {
+            return new Key(false, projectId);
+        }
+    }
+
+    /**
+     * A serialized response body, with a gzipped copy when it was worth compressing.
+     */
+    @Getter
+    public static class SerializedResponse {
+        private final Long ownerId;
+        // Null for project lists, which are not conditional
+        private final String eTag;
+        private final byte[] json;
+        private final byte[] gzip;
+
+        SerializedResponse(Long ownerId, String eTag, byte[] json, byte[] gzip) {
+            this.ownerId = ownerId;
+            this.eTag = eTag;
+            this.json = json;
+            this.gzip = gzip;
+        }
+
+        int size() {
+            return json.length + (gzip != null ? gzip.length : 0);
+        }
+    }
+}
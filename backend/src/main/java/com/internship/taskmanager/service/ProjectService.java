@@ -3,12 +3,15 @@ package com.internship.taskmanager.service;
 import com.internship.taskmanager.dto.*;
 import com.internship.taskmanager.exception.ResourceNotFoundException;
 import com.internship.taskmanager.model.Project;
-import com.internship.taskmanager.model.User;
 import com.internship.taskmanager.repository.ProjectRepository;
+import com.internship.taskmanager.repository.ProjectSummary;
 import com.internship.taskmanager.repository.UserRepository;
+import com.internship.taskmanager.security.AuthenticatedUser;
+import com.internship.taskmanager.security.PrincipalCache;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -27,16 +30,24 @@ public class ProjectService {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private PrincipalCache principalCache;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Transactional(readOnly = true)
     public List<ProjectResponse> getUserProjects(String email) {
-        User user = getUserByEmail(email);
-        List<Project> projects = projectRepository.findByUserIdOrderByCreatedAtDesc(user.getId());
-        return projects.stream()
+        AuthenticatedUser user = getUserByEmail(email);
+        List<ProjectSummary> summaries = projectRepository.findSummariesByUserId(user.getId());
+        return summaries.stream()
                 .map(this::mapToProjectResponse)
                 .collect(Collectors.toList());
     }
 
+    @Transactional(readOnly = true)
     public ProjectDetailResponse getProjectById(Long projectId, String email) {
-        User user = getUserByEmail(email);
+        AuthenticatedUser user = getUserByEmail(email);
         Project project = projectRepository.findByIdAndUserId(projectId, user.getId())
                 .orElseThrow(() -> new ResourceNotFoundException("Project", "id", projectId));
 
@@ -44,30 +55,52 @@ public class ProjectService {
         return mapToProjectDetailResponse(project);
     }
 
+    /**
+     * @throws ResourceNotFoundException unless the project exists and belongs to the user
+     */
+    @Transactional(readOnly = true)
+    public void checkOwnership(Long projectId, String email) {
+        AuthenticatedUser user = getUserByEmail(email);
+        if (!projectRepository.existsByIdAndUserId(projectId, user.getId())) {
+            throw new ResourceNotFoundException("Project", "id", projectId);
+        }
+    }
+
+    /**
+     * Returns a strong ETag for the project detail representation, answered from the task fingerprint
+     * without loading any task entities.
+     */
+    @Transactional(readOnly = true)
+    public String getProjectETag(Long projectId, String email) {
+        AuthenticatedUser user = getUserByEmail(email);
+        String fingerprint = projectRepository.findTaskFingerprintByIdAndUserId(projectId, user.getId())
+                .orElseThrow(() -> new ResourceNotFoundException("Project", "id", projectId));
+        return "\"" + projectId + "-" + fingerprint + "\"";
+    }
+
     public ProjectResponse createProject(ProjectRequest request, String email) {
-        User user = getUserByEmail(email);
+        AuthenticatedUser user = getUserByEmail(email);
 
         Project project = Project.builder()
                 .title(request.getTitle())
                 .description(request.getDescription())
-                .user(user)
+                .user(userRepository.getReferenceById(user.getId()))
                 .build();
 
         project = projectRepository.save(project);
+        eventPublisher.publishEvent(ChangeNotice.project(ChangeNotice.Action.CREATED, project.getId(), user.getId()));
         logger.info("Created project {} for user {}", project.getId(), email);
         return mapToProjectResponse(project);
     }
 
-    private User getUserByEmail(String email) {
-        return userRepository.findByEmail(email)
+    private AuthenticatedUser getUserByEmail(String email) {
+        return principalCache.get(email)
                 .orElseThrow(() -> new ResourceNotFoundException("User", "email", email));
     }
 
     private ProjectResponse mapToProjectResponse(Project project) {
-        int totalTasks = project.getTasks().size();
-        int completedTasks = (int) project.getTasks().stream()
-                .filter(task -> task.getIsCompleted())
-                .count();
+        int totalTasks = project.getTotalTasks();
+        int completedTasks = project.getCompletedTasks();
 
         return ProjectResponse.builder()
                 .id(project.getId())
@@ -80,21 +113,28 @@ public class ProjectService {
                 .build();
     }
 
-    private ProjectDetailResponse mapToProjectDetailResponse(Project project) {
-        int totalTasks = project.getTasks().size();
-        int completedTasks = (int) project.getTasks().stream()
-                .filter(task -> task.getIsCompleted())
-                .count();
+    private ProjectResponse mapToProjectResponse(ProjectSummary summary) {
+        int totalTasks = summary.getTotalTasks();
+        int completedTasks = summary.getCompletedTasks();
+
+        return ProjectResponse.builder()
+                .id(summary.getId())
+                .title(summary.getTitle())
+                .description(summary.getDescription())
+                .createdAt(summary.getCreatedAt())
+                .totalTasks(totalTasks)
+                .completedTasks(completedTasks)
+                .progressPercentage(calculateProgress(totalTasks, completedTasks))
+                .build();
+    }
+
+    // Package-private so the JMH benchmarks can measure the mapping on its own
+    ProjectDetailResponse mapToProjectDetailResponse(Project project) {
+        int totalTasks = project.getTotalTasks();
+        int completedTasks = project.getCompletedTasks();
 
         List<TaskResponse> tasks = project.getTasks().stream()
-                .map(task -> TaskResponse.builder()
-                        .id(task.getId())
-                        .title(task.getTitle())
-                        .description(task.getDescription())
-                        .dueDate(task.getDueDate())
-                        .isCompleted(task.getIsCompleted())
-                        .createdAt(task.getCreatedAt())
-                        .build())
+                .map(TaskResponse::from)
                 .collect(Collectors.toList());
 
         return ProjectDetailResponse.builder()
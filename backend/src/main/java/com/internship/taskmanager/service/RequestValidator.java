@@ -0,0 +1,28 @@
+package com.internship.taskmanager.service;
+
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Bean Validation for requests assembled from bulk input (batch operations, import rows), where a
+ * violation is reported for the one item instead of failing the whole request.
+ */
+@Component
+public class RequestValidator {
+
+    @Autowired
+    private Validator validator;
+
+    /**
+     * @return the first violation as {@code property: message}, sorted so the same input always reports
+     * the same one, or null if the request is valid
+     */
+    public String firstViolation(Object request) {
+        return validator.validate(request).stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .sorted()
+                .findFirst()
+                .orElse(null);
+    }
+}
@@ -0,0 +1,230 @@
+package com.internship.taskmanager.service;
+
+import com.internship.taskmanager.dto.TaskBatchItemResult;
+import com.internship.taskmanager.dto.TaskBatchOperation;
+import com.internship.taskmanager.dto.TaskBatchRequest;
+import com.internship.taskmanager.dto.TaskBatchResponse;
+import com.internship.taskmanager.dto.TaskRequest;
+import com.internship.taskmanager.dto.TaskResponse;
+import com.internship.taskmanager.dto.TaskUpdateRequest;
+import com.internship.taskmanager.exception.ResourceNotFoundException;
+import com.internship.taskmanager.model.Project;
+import com.internship.taskmanager.model.Task;
+import com.internship.taskmanager.repository.ProjectRepository;
+import com.internship.taskmanager.repository.TaskRepository;
+import com.internship.taskmanager.repository.TaskTombstoneRepository;
+import com.internship.taskmanager.security.AuthenticatedUser;
+import com.internship.taskmanager.security.PrincipalCache;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Applies many task mutations for one project in a single transaction. Ownership is checked once,
+ * referenced tasks are loaded with one query and the writes are flushed as JDBC batches
+ * (see {@code hibernate.jdbc.batch_size}). Items that are invalid or reference unknown tasks are
+ * reported individually and do not abort the rest of the batch.
+ */
+@Service
+@Transactional
+public class TaskBatchService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TaskBatchService.class);
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private TaskTombstoneRepository taskTombstoneRepository;
+
+    @Autowired
+    private PrincipalCache principalCache;
+
+    @Autowired
+    private RequestValidator requestValidator;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    public TaskBatchResponse applyBatch(Long projectId, TaskBatchRequest request, String email) {
+        AuthenticatedUser user = principalCache.get(email)
+                .orElseThrow(() -> new ResourceNotFoundException("User", "email", email));
+        Project project = projectRepository.findByIdAndUserId(projectId, user.getId())
+                .orElseThrow(() -> new ResourceNotFoundException("Project", "id", projectId));
+
+        List<TaskBatchOperation> operations = request.getOperations();
+        Map<Long, Task> existing = loadReferencedTasks(projectId, operations);
+
+        List<TaskBatchItemResult> results = new ArrayList<>(operations.size());
+        Map<Integer, Task> touched = new HashMap<>();
+        List<Task> toInsert = new ArrayList<>();
+        List<Task> toDelete = new ArrayList<>();
+        int totalDelta = 0;
+        int completedDelta = 0;
+
+        for (int i = 0; i < operations.size(); i++) {
+            TaskBatchOperation operation = operations.get(i);
+            TaskBatchItemResult.TaskBatchItemResultBuilder result = TaskBatchItemResult.builder()
+                    .index(i)
+                    .op(operation.getOp())
+                    .taskId(operation.getTaskId());
+
+            String error = validate(operation);
+            if (error != null) {
+                results.add(result.status(TaskBatchItemResult.Status.INVALID).error(error).build());
+                continue;
+            }
+
+            if (operation.getOp() == TaskBatchOperation.Type.CREATE) {
+                Task task = Task.builder()
+                        .title(operation.getTitle())
+                        .description(operation.getDescription())
+                        .dueDate(operation.getDueDate())
+                        .isCompleted(false)
+                        .project(project)
+                        .build();
+                toInsert.add(task);
+                totalDelta++;
+                touched.put(i, task);
+                results.add(result.status(TaskBatchItemResult.Status.OK).build());
+                continue;
+            }
+
+            Task task = existing.get(operation.getTaskId());
+            if (task == null) {
+                results.add(result.status(TaskBatchItemResult.Status.NOT_FOUND)
+                        .error("Task not found with id: '" + operation.getTaskId() + "'")
+                        .build());
+                continue;
+            }
+
+            boolean wasCompleted = task.getIsCompleted();
+            switch (operation.getOp()) {
+                case UPDATE -> applyUpdate(task, operation);
+                case COMPLETE -> task.setIsCompleted(true);
+                case DELETE -> {
+                    // Later operations in the same batch must not see a deleted task
+                    existing.remove(task.getId());
+                    toDelete.add(task);
+                    totalDelta--;
+                }
+                default -> throw new IllegalStateException("Unhandled operation " + operation.getOp());
+            }
+            if (operation.getOp() == TaskBatchOperation.Type.DELETE) {
+                completedDelta -= wasCompleted ? 1 : 0;
+            } else if (wasCompleted != task.getIsCompleted()) {
+                completedDelta += task.getIsCompleted() ? 1 : -1;
+            }
+            if (operation.getOp() != TaskBatchOperation.Type.DELETE) {
+                touched.put(i, task);
+            }
+            results.add(result.status(TaskBatchItemResult.Status.OK).build());
+        }
+
+        taskRepository.saveAll(toInsert);
+        if (!toDelete.isEmpty()) {
+            List<Long> deletedIds = toDelete.stream().map(Task::getId).toList();
+            taskTombstoneRepository.recordDeletions(deletedIds, LocalDateTime.now());
+            taskRepository.deleteAllByIdInBatch(deletedIds);
+        }
+        taskRepository.flush();
+        if (totalDelta != 0 || completedDelta != 0) {
+            projectRepository.adjustTaskCounters(projectId, totalDelta, completedDelta);
+        }
+
+        touched.forEach((index, task) -> {
+            TaskBatchItemResult result = results.get(index);
+            result.setTaskId(task.getId());
+            result.setTask(TaskResponse.from(task));
+        });
+        results.stream()
+                .filter(result -> result.getStatus() == TaskBatchItemResult.Status.OK)
+                .forEach(result -> eventPublisher.publishEvent(toEvent(projectId, result)));
+
+        int succeeded = (int) results.stream()
+                .filter(result -> result.getStatus() == TaskBatchItemResult.Status.OK)
+                .count();
+        logger.info("Applied task batch to project {}: {} succeeded, {} failed",
+                projectId, succeeded, results.size() - succeeded);
+
+        return TaskBatchResponse.builder()
+                .succeeded(succeeded)
+                .failed(results.size() - succeeded)
+                .results(results)
+                .build();
+    }
+
+    private TaskChangedEvent toEvent(Long projectId, TaskBatchItemResult result) {
+        return switch (result.getOp()) {
+            case CREATE -> TaskChangedEvent.of(TaskChangedEvent.Type.CREATED, projectId, result.getTask());
+            case UPDATE -> TaskChangedEvent.of(TaskChangedEvent.Type.UPDATED, projectId, result.getTask());
+            case COMPLETE -> TaskChangedEvent.of(TaskChangedEvent.Type.COMPLETED, projectId, result.getTask());
+            case DELETE -> TaskChangedEvent.deleted(projectId, result.getTaskId());
+        };
+    }
+
+    private Map<Long, Task> loadReferencedTasks(Long projectId, List<TaskBatchOperation> operations) {
+        Set<Long> ids = operations.stream()
+                .filter(operation -> operation.getOp() != TaskBatchOperation.Type.CREATE)
+                .map(TaskBatchOperation::getTaskId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        if (ids.isEmpty()) {
+            return new HashMap<>();
+        }
+        return taskRepository.findByProjectIdAndIdIn(projectId, ids).stream()
+                .collect(Collectors.toMap(Task::getId, task -> task));
+    }
+
+    private String validate(TaskBatchOperation operation) {
+        if (operation.getOp() == TaskBatchOperation.Type.CREATE) {
+            return requestValidator.firstViolation(TaskRequest.builder()
+                    .title(operation.getTitle())
+                    .description(operation.getDescription())
+                    .dueDate(operation.getDueDate())
+                    .build());
+        }
+        if (operation.getTaskId() == null) {
+            return "taskId is required for " + operation.getOp();
+        }
+        if (operation.getOp() == TaskBatchOperation.Type.UPDATE) {
+            return requestValidator.firstViolation(TaskUpdateRequest.builder()
+                    .title(operation.getTitle())
+                    .description(operation.getDescription())
+                    .dueDate(operation.getDueDate())
+                    .isCompleted(operation.getIsCompleted())
+                    .build());
+        }
+        return null;
+    }
+
+    private static void applyUpdate(Task task, TaskBatchOperation operation) {
+        if (operation.getTitle() != null) {
+            task.setTitle(operation.getTitle());
+        }
+        if (operation.getDescription() != null) {
+            task.setDescription(operation.getDescription());
+        }
+        if (operation.getDueDate() != null) {
+            task.setDueDate(operation.getDueDate());
+        }
+        if (operation.getIsCompleted() != null) {
+            task.setIsCompleted(operation.getIsCompleted());
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.internship.taskmanager.service;
+
+import com.internship.taskmanager.dto.TaskResponse;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+/**
+ * Published by the task write paths and delivered to listeners once the transaction commits.
+ * Also the payload pushed to SSE subscribers, so it carries the task state after the change.
+ */
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+public class TaskChangedEvent {
+
+    public enum Type {
+        CREATED, UPDATED, COMPLETED, DELETED
+    }
+
+    private Type type;
+    private Long projectId;
+    private Long taskId;
+    // Null for DELETED
+    private TaskResponse task;
+
+    public static TaskChangedEvent of(Type type, Long projectId, TaskResponse task) {
+        return new TaskChangedEvent(type, projectId, task.getId(), task);
+    }
+
+    public static TaskChangedEvent deleted(Long projectId, Long taskId) {
+        return new TaskChangedEvent(Type.DELETED, projectId, taskId, null);
+    }
+
+    ChangeNotice toNotice() {
+        return ChangeNotice.task(ChangeNotice.Action.valueOf(type.name()), projectId, taskId);
+    }
+}
@@ -0,0 +1,409 @@
+package com.internship.taskmanager.service;
+
+import com.internship.taskmanager.dto.TaskResponse;
+import com.internship.taskmanager.repository.TaskRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Fans committed task changes out to SSE subscribers of the affected project.
+ *
+ * <p>Idle connections cost no thread: each subscriber is an async {@link SseEmitter} plus a bounded
+ * queue. Publishing only enqueues. A subscriber with queued events gets one drain task on the writer
+ * pool, {@code app.events.write-threads} threads (virtual threads when {@code spring.threads.virtual.enabled}
+ * is set), so a client whose socket stops accepting data holds one writer, never the committing request.
+ * A write still blocked after {@code app.events.send-timeout} fails the subscriber; the writer is
+ * released when the container's write timeout ({@code server.tomcat.connection-timeout}) ends the
+ * blocked write, and only then completes the emitter. When a queue is full no further drain is
+ * scheduled: the overflow policy either drops the oldest events and sends the client a {@code resync}
+ * event (it should catch up through the changes endpoint), or disconnects the client.
+ *
+ * <p>Changes committed on other nodes arrive as remote {@link ChangeNotice}s and are forwarded to
+ * local subscribers with the task re-read from the database.
+ */
+@Component
+public class TaskEventBroadcaster {
+
+    private static final Logger logger = LoggerFactory.getLogger(TaskEventBroadcaster.class);
+
+    public enum OverflowPolicy {
+        DROP_OLDEST, DISCONNECT
+    }
+
+    private final Map<Long, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    private final AtomicLong eventIds = new AtomicLong();
+    private final AtomicLong droppedEvents = new AtomicLong();
+    private final AtomicLong stalledSubscribers = new AtomicLong();
+    // Database reads for forwarded notices
+    private final ExecutorService dispatcher;
+    // Socket writes; at most one task per subscriber is queued or running
+    private final Executor writers;
+    private final JsonMapper jsonMapper;
+    private final TaskRepository taskRepository;
+    private final int bufferSize;
+    private final OverflowPolicy overflowPolicy;
+    private final int maxSubscribers;
+    private final long emitterTimeoutMillis;
+    private final long sendTimeoutNanos;
+
+    public TaskEventBroadcaster(@Value("${app.events.buffer-size:256}") int bufferSize,
+                                @Value("${app.events.overflow-policy:drop-oldest}") String overflowPolicy,
+                                @Value("${app.events.max-subscribers:50000}") int maxSubscribers,
+                                @Value("${app.events.emitter-timeout:1h}") Duration emitterTimeout,
+                                @Value("${app.events.dispatch-threads:8}") int dispatchThreads,
+                                @Value("${app.events.send-timeout:10s}") Duration sendTimeout,
+                                @Value("${app.events.write-threads:64}") int writeThreads,
+                                @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads,
+                                JsonMapper jsonMapper,
+                                TaskRepository taskRepository) {
+        this.jsonMapper = jsonMapper;
+        this.taskRepository = taskRepository;
+        this.bufferSize = bufferSize;
+        this.overflowPolicy = OverflowPolicy.valueOf(overflowPolicy.replace('-', '_').toUpperCase(Locale.ROOT));
+        this.maxSubscribers = maxSubscribers;
+        this.emitterTimeoutMillis = emitterTimeout.toMillis();
+        this.sendTimeoutNanos = sendTimeout.toNanos();
+        this.dispatcher = Executors.newFixedThreadPool(dispatchThreads, daemonThreads("sse-dispatch-"));
+        this.writers = virtualThreads ? new VirtualThreadTaskExecutor("sse-write-") : writerPool(writeThreads, maxSubscribers);
+    }
+
+    /**
+     * Registers a subscriber for a project the caller has already been authorized for.
+     *
+     * @return the emitter, or null if this node is at {@code app.events.max-subscribers}
+     */
+    public SseEmitter subscribe(Long projectId) {
+        if (subscriberCount.incrementAndGet() > maxSubscribers) {
+            subscriberCount.decrementAndGet();
+            return null;
+        }
+        SseEmitter emitter = createEmitter();
+        Subscriber subscriber = new Subscriber(projectId, emitter);
+        subscribers.computeIfAbsent(projectId, id -> ConcurrentHashMap.newKeySet()).add(subscriber);
+        emitter.onCompletion(() -> remove(subscriber));
+        emitter.onTimeout(() -> remove(subscriber));
+        emitter.onError(e -> remove(subscriber));
+        // Flushes the response headers so the client sees the stream open immediately
+        enqueue(subscriber, SseEmitter.event().comment("connected").build());
+        return emitter;
+    }
+
+    @TransactionalEventListener
+    public void onTaskChanged(TaskChangedEvent event) {
+        broadcast(event);
+    }
+
+    /**
+     * Forwards task changes made on other nodes, and tells clients to resync when a project changed
+     * in bulk (imports) or when this node may have missed notices altogether.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onChange(ChangeNotice notice) {
+        switch (notice.getKind()) {
+            case TASK -> {
+                if (notice.isRemote() && subscribers.containsKey(notice.getProjectId())) {
+                    // Off the notice listener thread: forwarding needs a database read
+                    dispatcher.execute(() -> forward(notice));
+                }
+            }
+            case PROJECT -> {
+                if (notice.getAction() == ChangeNotice.Action.UPDATED) {
+                    resync(subscribers.get(notice.getProjectId()));
+                }
+            }
+            case ALL -> subscribers.values().forEach(this::resync);
+            default -> {
+            }
+        }
+    }
+
+    /**
+     * Delivers an event to this node's subscribers of the event's project.
+     */
+    public void broadcast(TaskChangedEvent event) {
+        Set<Subscriber> targets = subscribers.get(event.getProjectId());
+        if (targets == null || targets.isEmpty()) {
+            return;
+        }
+        // Serialized and framed once, then shared by every subscriber
+        Set<DataWithMediaType> message = SseEmitter.event()
+                .id(Long.toString(eventIds.incrementAndGet()))
+                .name("task-" + event.getType().name().toLowerCase(Locale.ROOT))
+                .data(jsonMapper.writeValueAsString(event))
+                .build();
+        for (Subscriber subscriber : targets) {
+            enqueue(subscriber, message);
+        }
+    }
+
+    private void forward(ChangeNotice notice) {
+        TaskChangedEvent event = notice.getAction() == ChangeNotice.Action.DELETED
+                ? null
+                : taskRepository.findByIdAndProjectId(notice.getId(), notice.getProjectId())
+                        .map(task -> TaskChangedEvent.of(TaskChangedEvent.Type.valueOf(notice.getAction().name()),
+                                notice.getProjectId(), TaskResponse.from(task)))
+                        .orElse(null);
+        // Deleted since the notice was sent, or a delete to begin with
+        broadcast(event != null ? event : TaskChangedEvent.deleted(notice.getProjectId(), notice.getId()));
+    }
+
+    private void resync(Set<Subscriber> targets) {
+        if (targets == null) {
+            return;
+        }
+        Set<DataWithMediaType> message = SseEmitter.event().name("resync").data("project changed").build();
+        targets.forEach(subscriber -> enqueue(subscriber, message));
+    }
+
+    /**
+     * Keeps idle connections from being closed by proxies and detects clients that went away.
+     */
+    @Scheduled(fixedRateString = "${app.events.heartbeat-interval:PT25S}")
+    public void heartbeat() {
+        Set<DataWithMediaType> heartbeat = SseEmitter.event().comment("heartbeat").build();
+        for (Set<Subscriber> projectSubscribers : subscribers.values()) {
+            for (Subscriber subscriber : projectSubscribers) {
+                if (subscriber.isIdle()) {
+                    enqueue(subscriber, heartbeat);
+                }
+            }
+        }
+    }
+
+    /**
+     * Fails subscribers whose current write has been blocked for longer than the send timeout, which
+     * happens when the client stopped reading and its socket buffers are full.
+     */
+    @Scheduled(fixedRateString = "${app.events.send-timeout-check-interval:PT1S}")
+    public void failStalledSubscribers() {
+        long now = System.nanoTime();
+        for (Set<Subscriber> projectSubscribers : subscribers.values()) {
+            for (Subscriber subscriber : projectSubscribers) {
+                long started = subscriber.sendStartedNanos;
+                if (started != 0 && now - started > sendTimeoutNanos) {
+                    stalledSubscribers.incrementAndGet();
+                    logger.debug("Failing stalled SSE subscriber of project {}", subscriber.projectId);
+                    remove(subscriber);
+                    TimeoutException timeout =
+                            new TimeoutException("SSE write blocked for over " + sendTimeoutNanos / 1_000_000 + " ms");
+                    closeAfterWrite(subscriber, () -> subscriber.emitter.completeWithError(timeout));
+                }
+            }
+        }
+    }
+
+    public int getSubscriberCount() {
+        return subscriberCount.get();
+    }
+
+    public long getDroppedEventCount() {
+        return droppedEvents.get();
+    }
+
+    public long getStalledSubscriberCount() {
+        return stalledSubscribers.get();
+    }
+
+    /**
+     * Ends open streams as soon as the context starts closing. Graceful shutdown waits for in-flight
+     * requests, and an open stream would otherwise hold it up until the shutdown timeout.
+     */
+    @EventListener(ContextClosedEvent.class)
+    public void completeAll() {
+        subscribers.values().forEach(set -> set.forEach(subscriber -> subscriber.emitter.complete()));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        dispatcher.shutdownNow();
+        if (writers instanceof ExecutorService pool) {
+            pool.shutdownNow();
+        }
+    }
+
+    // Overridden by tests to stand in for a client
+    SseEmitter createEmitter() {
+        return new SseEmitter(emitterTimeoutMillis);
+    }
+
+    private void enqueue(Subscriber subscriber, Set<DataWithMediaType> message) {
+        boolean schedule = false;
+        boolean disconnect = false;
+        synchronized (subscriber) {
+            if (subscriber.closed) {
+                return;
+            }
+            if (subscriber.queue.size() >= bufferSize) {
+                droppedEvents.incrementAndGet();
+                if (overflowPolicy == OverflowPolicy.DISCONNECT) {
+                    disconnect = true;
+                } else {
+                    subscriber.queue.pollFirst();
+                    subscriber.overflowed = true;
+                }
+            }
+            if (!disconnect) {
+                subscriber.queue.addLast(message);
+                schedule = !subscriber.draining;
+                subscriber.draining = true;
+            }
+        }
+        if (disconnect) {
+            logger.debug("Disconnecting slow SSE subscriber of project {}", subscriber.projectId);
+            remove(subscriber);
+            closeAfterWrite(subscriber, subscriber.emitter::complete);
+        } else if (schedule) {
+            try {
+                writers.execute(() -> drain(subscriber));
+            } catch (RejectedExecutionException e) {
+                // Shutting down
+                remove(subscriber);
+                synchronized (subscriber) {
+                    subscriber.draining = false;
+                }
+                subscriber.emitter.complete();
+            }
+        }
+    }
+
+    /**
+     * Completes the emitter once the write in progress, if any, has returned. Completing from another
+     * thread would block on the emitter behind that write, holding a second thread.
+     */
+    private void closeAfterWrite(Subscriber subscriber, Runnable close) {
+        synchronized (subscriber) {
+            if (subscriber.draining) {
+                subscriber.close = close;
+                return;
+            }
+        }
+        close.run();
+    }
+
+    private void drain(Subscriber subscriber) {
+        while (true) {
+            Set<DataWithMediaType> next = null;
+            boolean resync = false;
+            Runnable close;
+            synchronized (subscriber) {
+                close = subscriber.close;
+                subscriber.close = null;
+                if (!subscriber.closed) {
+                    next = subscriber.queue.pollFirst();
+                    resync = subscriber.overflowed;
+                    subscriber.overflowed = false;
+                }
+                if (next == null) {
+                    subscriber.draining = false;
+                }
+            }
+            if (next == null) {
+                if (close != null) {
+                    close.run();
+                }
+                return;
+            }
+            subscriber.sendStartedNanos = System.nanoTime();
+            try {
+                if (resync) {
+                    subscriber.emitter.send(SseEmitter.event().name("resync").data("events were dropped").build());
+                }
+                subscriber.emitter.send(next);
+            } catch (IOException | IllegalStateException e) {
+                // Client went away; the emitter callbacks remove it
+                subscriber.emitter.completeWithError(e);
+                remove(subscriber);
+                return;
+            } finally {
+                subscriber.sendStartedNanos = 0;
+            }
+        }
+    }
+
+    private void remove(Subscriber subscriber) {
+        synchronized (subscriber) {
+            if (subscriber.removed) {
+                return;
+            }
+            subscriber.removed = true;
+            subscriber.closed = true;
+            subscriber.queue.clear();
+        }
+        subscriberCount.decrementAndGet();
+        subscribers.computeIfPresent(subscriber.projectId, (id, set) -> {
+            set.remove(subscriber);
+            return set.isEmpty() ? null : set;
+        });
+    }
+
+    private static ThreadPoolExecutor writerPool(int threads, int maxSubscribers) {
+        // A subscriber has at most one drain task, so the queue only fills up beyond the subscriber cap
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(maxSubscribers), daemonThreads("sse-write-"));
+        pool.allowCoreThreadTimeOut(true);
+        return pool;
+    }
+
+    private static ThreadFactory daemonThreads(String prefix) {
+        AtomicInteger threadIds = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + threadIds.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private static final class Subscriber {
+        private final Long projectId;
+        private final SseEmitter emitter;
+        private final ArrayDeque<Set<DataWithMediaType>> queue = new ArrayDeque<>();
+        private boolean draining;
+        private boolean overflowed;
+        private boolean closed;
+        private boolean removed;
+        // Run by the drain task once its write returns
+        private Runnable close;
+        // Start of the write in progress, 0 when none
+        private volatile long sendStartedNanos;
+
+        private Subscriber(Long projectId, SseEmitter emitter) {
+            this.projectId = projectId;
+            this.emitter = emitter;
+        }
+
+        private synchronized boolean isIdle() {
+            return queue.isEmpty() && !draining;
+        }
+    }
+}
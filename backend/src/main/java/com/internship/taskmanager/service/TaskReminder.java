@@ -0,0 +1,24 @@
+package com.internship.taskmanager.service;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+/**
+ * A due-date reminder handed to every {@link TaskReminderNotifier}. Carries ids only for the owner:
+ * notifiers resolve recipients from the project.
+ */
+@Getter
+@AllArgsConstructor
+@ToString
+public class TaskReminder {
+
+    private Long taskId;
+    private Long projectId;
+    private String title;
+    private LocalDate dueDate;
+    private Instant remindAt;
+}
@@ -0,0 +1,10 @@
+package com.internship.taskmanager.service;
+
+/**
+ * Delivers due-date reminders. Every bean implementing it is called, on the reminder scheduler's
+ * thread, so implementations that do I/O should hand off to their own executor.
+ */
+public interface TaskReminderNotifier {
+
+    void remind(TaskReminder reminder);
+}
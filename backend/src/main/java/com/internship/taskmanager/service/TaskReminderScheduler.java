@@ -0,0 +1,493 @@
+package com.internship.taskmanager.service;
+
+import com.internship.taskmanager.config.DedicatedConnectionFactory;
+import com.internship.taskmanager.dto.TaskResponse;
+import com.internship.taskmanager.repository.DueTaskRow;
+import com.internship.taskmanager.repository.TaskRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Fires a reminder {@code app.reminders.lead-time} before an open task's due date starts.
+ *
+ * <p>Instead of scanning the tasks table on a schedule, the scheduler holds the reminders of the next
+ * {@code app.reminders.window} in a {@link HashedTimingWheel} and tops the window up from the partial
+ * open-due-date index as time passes. Task writes keep the wheel current as they commit: local
+ * {@link TaskChangedEvent}s carry the new state, changes made on other nodes arrive as remote
+ * {@link ChangeNotice}s and are re-read, and imports reload the window for their project.
+ *
+ * <p>Only one node fires. The leader holds a session-level Postgres advisory lock on a dedicated
+ * connection outside the pool; if that connection dies the lock is released with it and another node
+ * takes over at its next leadership check. Reminders are at most once: those falling between a leader's
+ * failure and the takeover are skipped, and so are reminders whose time had already passed when their
+ * task was created or rescheduled.
+ *
+ * <p>Reloads read the database outside the wheel's lock, so a task may change while its row is in
+ * flight. Changes applied meanwhile are recorded with a sequence number, and the reload keeps their
+ * state over its possibly older rows.
+ *
+ * <p>Ticks and reloads run on one thread, leadership checks and notifier calls on threads of their
+ * own: a hanging lock connection or a slow notifier must not hold up the wheel.
+ */
+@Component
+@ConditionalOnProperty(name = "app.reminders.enabled", havingValue = "true", matchIfMissing = true)
+public class TaskReminderScheduler {
+
+    private static final Logger logger = LoggerFactory.getLogger(TaskReminderScheduler.class);
+
+    // Shows which node leads in pg_stat_activity
+    static final String LEADER_APPLICATION_NAME = "task-manager-reminder-leader";
+    // Bounds how long a leadership check can wait on a dead lock connection
+    private static final int LEADER_VALIDATION_TIMEOUT_SECONDS = 2;
+
+    private final HashedTimingWheel<Long, TaskReminder> wheel;
+    private final AtomicLong firedReminders = new AtomicLong();
+    private final ScheduledExecutorService executor;
+    private final ScheduledExecutorService leaderExecutor;
+    // Single thread: notifiers see reminders in firing order
+    private final ExecutorService notifierExecutor;
+    private final TaskRepository taskRepository;
+    private final List<TaskReminderNotifier> notifiers;
+    private final Duration leadTime;
+    private final Duration window;
+    private final Duration tick;
+    private final Duration leaderCheckInterval;
+    private final ZoneId zone;
+    private final long lockKey;
+    private final DedicatedConnectionFactory connectionFactory;
+
+    // Guarded by wheel: changes applied while at least one reload is reading
+    private final Map<Long, Change> changesDuringReload = new HashMap<>();
+    private long changeSequence;
+    private int reloadsInFlight;
+    // Change sequence at the last resignation; reloads that began before it are discarded
+    private long resignedAtSequence = -1;
+
+    private volatile Connection lockConnection;
+    // End of the period whose reminders are in the wheel; null while not leading
+    private volatile Instant loadedUntil;
+
+    public TaskReminderScheduler(TaskRepository taskRepository,
+                                 List<TaskReminderNotifier> notifiers,
+                                 ObjectProvider<MeterRegistry> meterRegistry,
+                                 @Value("${app.reminders.lead-time:PT24H}") Duration leadTime,
+                                 @Value("${app.reminders.window:PT1H}") Duration window,
+                                 @Value("${app.reminders.tick:1s}") Duration tick,
+                                 @Value("${app.reminders.wheel-size:512}") int wheelSize,
+                                 @Value("${app.reminders.leader-check-interval:10s}") Duration leaderCheckInterval,
+                                 @Value("${app.reminders.zone:}") String zone,
+                                 @Value("${app.reminders.lock-key:7361293001}") long lockKey,
+                                 DedicatedConnectionFactory connectionFactory) {
+        this.taskRepository = taskRepository;
+        this.notifiers = notifiers;
+        this.leadTime = leadTime;
+        this.window = window;
+        this.tick = tick;
+        this.leaderCheckInterval = leaderCheckInterval;
+        this.zone = zone.isBlank() ? ZoneId.systemDefault() : ZoneId.of(zone);
+        this.lockKey = lockKey;
+        this.connectionFactory = connectionFactory;
+        this.wheel = new HashedTimingWheel<>(tick, wheelSize, System.currentTimeMillis());
+        this.executor = Executors.newSingleThreadScheduledExecutor(daemonThreads("task-reminders"));
+        this.leaderExecutor = Executors.newSingleThreadScheduledExecutor(daemonThreads("task-reminder-leader"));
+        this.notifierExecutor = Executors.newSingleThreadExecutor(daemonThreads("task-reminder-notify"));
+        meterRegistry.ifAvailable(registry -> {
+            Gauge.builder("task.reminders.scheduled", this, TaskReminderScheduler::getScheduledCount)
+                    .description("Reminders waiting in this node's timing wheel")
+                    .register(registry);
+            Gauge.builder("task.reminders.leader", this, scheduler -> scheduler.isLeader() ? 1 : 0)
+                    .description("Whether this node fires reminders")
+                    .register(registry);
+            registry.more().counter("task.reminders.fired", List.of(), firedReminders);
+        });
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        leaderExecutor.scheduleWithFixedDelay(this::checkLeadership, 0, leaderCheckInterval.toMillis(),
+                TimeUnit.MILLISECONDS);
+        executor.scheduleAtFixedRate(this::run, tick.toMillis(), tick.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @TransactionalEventListener
+    public void onTaskChanged(TaskChangedEvent event) {
+        if (isLeader()) {
+            apply(event, Instant.now());
+        }
+    }
+
+    /**
+     * Catches up with task changes committed on other nodes and with imports, which change tasks
+     * without publishing task events.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onChange(ChangeNotice notice) {
+        if (!isLeader()) {
+            return;
+        }
+        switch (notice.getKind()) {
+            case TASK -> {
+                if (!notice.isRemote()) {
+                    return;
+                }
+                if (notice.getAction() == ChangeNotice.Action.DELETED
+                        || notice.getAction() == ChangeNotice.Action.COMPLETED) {
+                    cancel(notice.getId());
+                } else {
+                    // Off the notice listener thread: needs a database read
+                    executor.execute(() -> reloadTask(notice.getId(), notice.getProjectId(), Instant.now()));
+                }
+            }
+            case PROJECT -> executor.execute(() -> reloadProject(notice.getProjectId(), Instant.now()));
+            case ALL -> executor.execute(() -> reloadAll(Instant.now()));
+            default -> {
+            }
+        }
+    }
+
+    public boolean isLeader() {
+        return lockConnection != null;
+    }
+
+    public int getScheduledCount() {
+        synchronized (wheel) {
+            return wheel.size();
+        }
+    }
+
+    public long getFiredCount() {
+        return firedReminders.get();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        leaderExecutor.shutdownNow();
+        executor.shutdownNow();
+        notifierExecutor.shutdownNow();
+        resign();
+    }
+
+    private void run() {
+        if (!isLeader()) {
+            return;
+        }
+        try {
+            Instant now = Instant.now();
+            refill(now);
+            fire(now);
+        } catch (RuntimeException e) {
+            // Keeps the periodic task alive: an exception would cancel it for good
+            logger.warn("Reminder tick failed", e);
+        }
+    }
+
+    void checkLeadership() {
+        try {
+            Connection connection = lockConnection;
+            if (connection != null) {
+                if (connection.isValid(LEADER_VALIDATION_TIMEOUT_SECONDS)) {
+                    return;
+                }
+                logger.warn("Lost the reminder leader connection; stepping down");
+                resign();
+            }
+            if (tryAcquireLeadership()) {
+                logger.info("Acquired reminder leadership");
+                executor.execute(() -> reloadAll(Instant.now()));
+            }
+        } catch (SQLException | RuntimeException e) {
+            logger.warn("Reminder leadership check failed: {}", e.getMessage());
+            resign();
+        }
+    }
+
+    /**
+     * Takes the advisory lock on a new dedicated connection, which then holds it until closed.
+     */
+    boolean tryAcquireLeadership() throws SQLException {
+        if (isLeader()) {
+            return true;
+        }
+        Connection connection = connectionFactory.open(LEADER_APPLICATION_NAME);
+        boolean acquired = false;
+        try (PreparedStatement statement = connection.prepareStatement("SELECT pg_try_advisory_lock(?)")) {
+            statement.setLong(1, lockKey);
+            try (ResultSet result = statement.executeQuery()) {
+                acquired = result.next() && result.getBoolean(1);
+            }
+        } finally {
+            if (acquired) {
+                lockConnection = connection;
+            } else {
+                DedicatedConnectionFactory.closeQuietly(connection);
+            }
+        }
+        return acquired;
+    }
+
+    /**
+     * Releases leadership by closing the lock connection, and forgets the scheduled reminders.
+     */
+    void resign() {
+        Connection connection = lockConnection;
+        lockConnection = null;
+        synchronized (wheel) {
+            loadedUntil = null;
+            wheel.clear();
+            resignedAtSequence = ++changeSequence;
+        }
+        DedicatedConnectionFactory.closeQuietly(connection);
+    }
+
+    void reloadAll(Instant now) {
+        synchronized (wheel) {
+            wheel.clear();
+            loadedUntil = now;
+        }
+        refill(now);
+    }
+
+    /**
+     * Extends the loaded period to a full window ahead once half of it has elapsed.
+     */
+    void refill(Instant now) {
+        Instant from = loadedUntil != null ? loadedUntil : now;
+        if (from.isAfter(now.plus(window.dividedBy(2)))) {
+            return;
+        }
+        Instant to = now.plus(window);
+        long sequence = beginReload();
+        try {
+            List<DueTaskRow> rows = taskRepository.findOpenTasksDueBetween(dueDateAt(from), dueDateAt(to));
+            synchronized (wheel) {
+                if (resignedSince(sequence)) {
+                    return;
+                }
+                merge(rows, sequence, null, from, to);
+                loadedUntil = to;
+            }
+        } finally {
+            endReload();
+        }
+    }
+
+    /**
+     * Expires the wheel up to {@code now} and queues the reminders for the notifiers.
+     *
+     * @return the reminders fired
+     */
+    List<TaskReminder> fire(Instant now) {
+        List<TaskReminder> due;
+        synchronized (wheel) {
+            due = wheel.advance(now.toEpochMilli());
+        }
+        if (!due.isEmpty()) {
+            notifierExecutor.execute(() -> deliver(due));
+        }
+        firedReminders.addAndGet(due.size());
+        return due;
+    }
+
+    private void deliver(List<TaskReminder> reminders) {
+        for (TaskReminder reminder : reminders) {
+            for (TaskReminderNotifier notifier : notifiers) {
+                try {
+                    notifier.remind(reminder);
+                } catch (RuntimeException e) {
+                    logger.warn("Reminder notifier {} failed for task {}", notifier.getClass().getSimpleName(),
+                            reminder.getTaskId(), e);
+                }
+            }
+        }
+    }
+
+    void apply(TaskChangedEvent event, Instant now) {
+        synchronized (wheel) {
+            applyState(event.getTaskId(), event.getProjectId(), event.getTask(), now);
+        }
+    }
+
+    private void reloadTask(Long taskId, Long projectId, Instant now) {
+        long sequence = beginReload();
+        try {
+            TaskResponse task = taskRepository.findByIdAndProjectId(taskId, projectId)
+                    .map(TaskResponse::from)
+                    .orElse(null);
+            synchronized (wheel) {
+                // A change applied since the read is newer than what was read
+                if (!resignedSince(sequence) && !changedSince(taskId, sequence)) {
+                    applyState(taskId, projectId, task, now);
+                }
+            }
+        } finally {
+            endReload();
+        }
+    }
+
+    private void reloadProject(Long projectId, Instant now) {
+        Instant until = loadedUntil;
+        if (until == null) {
+            return;
+        }
+        long sequence = beginReload();
+        try {
+            List<DueTaskRow> rows = taskRepository.findOpenProjectTasksDueBetween(projectId, dueDateAt(now),
+                    dueDateAt(until));
+            synchronized (wheel) {
+                if (resignedSince(sequence)) {
+                    return;
+                }
+                wheel.cancelIf(reminder -> projectId.equals(reminder.getProjectId())
+                        && !changedSince(reminder.getTaskId(), sequence));
+                merge(rows, sequence, projectId, now, until);
+            }
+        } finally {
+            endReload();
+        }
+    }
+
+    private void cancel(Long taskId) {
+        synchronized (wheel) {
+            applyState(taskId, null, null, null);
+        }
+    }
+
+    /**
+     * Applies a task's state after a change: schedules its reminder if it is open and due within the
+     * loaded period, cancels it otherwise. Must hold the wheel's lock.
+     *
+     * @param task the task after the change, null if it was deleted
+     */
+    private void applyState(Long taskId, Long projectId, TaskResponse task, Instant now) {
+        boolean open = task != null && !Boolean.TRUE.equals(task.getIsCompleted()) && task.getDueDate() != null;
+        changeSequence++;
+        if (reloadsInFlight > 0) {
+            changesDuringReload.put(taskId, open
+                    ? new Change(changeSequence, projectId, task.getTitle(), task.getDueDate())
+                    : new Change(changeSequence, projectId, null, null));
+        }
+        if (open) {
+            scheduleInLoadedPeriod(taskId, projectId, task.getTitle(), task.getDueDate(), now);
+        } else {
+            wheel.cancel(taskId);
+        }
+    }
+
+    /**
+     * @return the change sequence the reload's rows are at least as new as
+     */
+    private long beginReload() {
+        synchronized (wheel) {
+            reloadsInFlight++;
+            return changeSequence;
+        }
+    }
+
+    private void endReload() {
+        synchronized (wheel) {
+            if (--reloadsInFlight == 0) {
+                changesDuringReload.clear();
+            }
+        }
+    }
+
+    private boolean resignedSince(long sequence) {
+        return resignedAtSequence > sequence;
+    }
+
+    private boolean changedSince(Long taskId, long sequence) {
+        Change change = changesDuringReload.get(taskId);
+        return change != null && change.sequence() > sequence;
+    }
+
+    /**
+     * Schedules the reminders of rows read by a reload within [from, to). Tasks changed since the reload
+     * began take the state of their latest change instead, whether or not the read returned them.
+     * Must hold the wheel's lock.
+     *
+     * @param projectId limits the recorded changes to one project, null for all
+     */
+    private void merge(List<DueTaskRow> rows, long sequence, Long projectId, Instant from, Instant to) {
+        for (DueTaskRow row : rows) {
+            if (!changedSince(row.getId(), sequence)) {
+                schedule(row.getId(), row.getProjectId(), row.getTitle(), row.getDueDate(), from, to);
+            }
+        }
+        changesDuringReload.forEach((taskId, change) -> {
+            if (change.sequence() > sequence && change.dueDate() != null
+                    && (projectId == null || projectId.equals(change.projectId()))) {
+                schedule(taskId, change.projectId(), change.title(), change.dueDate(), from, to);
+            }
+        });
+    }
+
+    private void scheduleInLoadedPeriod(Long taskId, Long projectId, String title, LocalDate dueDate, Instant now) {
+        Instant until = loadedUntil;
+        if (until == null) {
+            return;
+        }
+        if (!schedule(taskId, projectId, title, dueDate, now, until)) {
+            // Moved out of the loaded period, or its reminder time has passed
+            wheel.cancel(taskId);
+        }
+    }
+
+    /**
+     * Schedules the task's reminder if its time falls within [from, to).
+     */
+    private boolean schedule(Long taskId, Long projectId, String title, LocalDate dueDate, Instant from, Instant to) {
+        Instant remindAt = dueDate.atStartOfDay(zone).toInstant().minus(leadTime);
+        if (remindAt.isBefore(from) || !remindAt.isBefore(to)) {
+            return false;
+        }
+        wheel.schedule(taskId, remindAt.toEpochMilli(), new TaskReminder(taskId, projectId, title, dueDate, remindAt));
+        return true;
+    }
+
+    /**
+     * The due date whose reminder falls at {@code instant}.
+     */
+    private LocalDate dueDateAt(Instant instant) {
+        return instant.plus(leadTime).atZone(zone).toLocalDate();
+    }
+
+    // State of a task after a change; no due date once it has no reminder
+    private record Change(long sequence, Long projectId, String title, LocalDate dueDate) {
+    }
+
+    private static ThreadFactory daemonThreads(String name) {
+        return runnable -> {
+            Thread thread = new Thread(runnable, name);
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
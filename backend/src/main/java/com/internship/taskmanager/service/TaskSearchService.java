@@ -0,0 +1,193 @@
+package com.internship.taskmanager.service;
+
+import com.internship.taskmanager.dto.CursorPage;
+import com.internship.taskmanager.dto.DueTaskGroup;
+import com.internship.taskmanager.dto.DueTaskQuery;
+import com.internship.taskmanager.dto.ProjectTaskResponse;
+import com.internship.taskmanager.dto.TaskSearchResult;
+import com.internship.taskmanager.exception.BadRequestException;
+import com.internship.taskmanager.exception.ResourceNotFoundException;
+import com.internship.taskmanager.repository.DueTaskRow;
+import com.internship.taskmanager.repository.ProjectRepository;
+import com.internship.taskmanager.repository.TaskRepository;
+import com.internship.taskmanager.repository.TaskSearchHit;
+import com.internship.taskmanager.security.AuthenticatedUser;
+import com.internship.taskmanager.security.PrincipalCache;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Task queries across all of a user's projects.
+ */
+@Service
+@Transactional(readOnly = true)
+public class TaskSearchService {
+
+    static final int DEFAULT_PAGE_SIZE = 20;
+    static final int MAX_PAGE_SIZE = 100;
+    static final int MAX_SEARCH_TERMS = 8;
+    static final int DEFAULT_DUE_WINDOW_DAYS = 7;
+
+    // Letters and digits only: everything else separates terms, so input can never carry tsquery syntax
+    private static final Pattern SEARCH_TERM = Pattern.compile("[\\p{L}\\p{N}]+");
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private PrincipalCache principalCache;
+
+    // Users with more tasks than this are searched through the GIN index instead of a scan of their tasks
+    @Value("${app.tasks.search.index-threshold:100000}")
+    private long indexThreshold;
+
+    // Zone whose calendar decides which due dates are today; blank for the server's
+    @Value("${app.tasks.due-date-zone:}")
+    private String dueDateZone;
+
+    /**
+     * Full-text search over the titles and descriptions of the user's tasks. Every term must match the
+     * start of a word, so results narrow while the user is still typing.
+     */
+    public CursorPage<TaskSearchResult> search(String q, String cursor, Integer limit, String email) {
+        String query = toTsQuery(q);
+        int pageSize = limit != null ? limit : DEFAULT_PAGE_SIZE;
+        if (pageSize < 1 || pageSize > MAX_PAGE_SIZE) {
+            throw new BadRequestException("limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        AuthenticatedUser user = getUserByEmail(email);
+
+        // Float.toString round-trips exactly, so the next page resumes at the same rank
+        KeysetCursor<Float> after = cursor != null && !cursor.isBlank()
+                ? KeysetCursor.decode(cursor, "cursor", Float::parseFloat) : null;
+        Float afterRank = after != null ? after.value : null;
+        Long afterId = after != null ? after.id : null;
+        int fetchSize = KeysetPaging.fetchSize(pageSize);
+        List<TaskSearchHit> hits = projectRepository.countTasksByUserId(user.getId()) <= indexThreshold
+                ? taskRepository.searchOwnedTasks(user.getId(), query, afterRank, afterId, fetchSize)
+                : taskRepository.searchIndexedTasks(user.getId(), query, afterRank, afterId, fetchSize);
+
+        return KeysetPaging.toPage(hits, pageSize,
+                last -> new KeysetCursor<>(last.getRank(), last.getId()).encode(),
+                page -> page.stream()
+                        .map(this::mapToSearchResult)
+                        .collect(Collectors.toList()));
+    }
+
+    /**
+     * Open tasks across all the user's projects that are due in a date range, or overdue, soonest first and
+     * grouped by due date. Runs as one query whatever the number of projects. Today is the current date in
+     * {@code app.tasks.due-date-zone}. Pages are cut by task, so the last day of a page may continue in
+     * the first group of the next.
+     */
+    public CursorPage<DueTaskGroup> getDueTasks(DueTaskQuery query, String email) {
+        int pageSize = query.getLimit() != null ? query.getLimit() : DEFAULT_PAGE_SIZE;
+        if (pageSize < 1 || pageSize > MAX_PAGE_SIZE) {
+            throw new BadRequestException("limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        LocalDate today = LocalDate.now(dueDateZone.isBlank() ? ZoneId.systemDefault() : ZoneId.of(dueDateZone));
+        LocalDate from;
+        LocalDate to;
+        if (Boolean.TRUE.equals(query.getOverdue())) {
+            from = query.getFrom();
+            LocalDate yesterday = today.minusDays(1);
+            to = query.getTo() != null && query.getTo().isBefore(yesterday) ? query.getTo() : yesterday;
+        } else {
+            from = query.getFrom() != null ? query.getFrom() : today;
+            to = query.getTo() != null ? query.getTo() : from.plusDays(DEFAULT_DUE_WINDOW_DAYS);
+        }
+        if (from != null && from.isAfter(to)) {
+            throw new BadRequestException("from must not be after to");
+        }
+        AuthenticatedUser user = getUserByEmail(email);
+
+        KeysetCursor<LocalDate> after = query.getCursor() != null && !query.getCursor().isBlank()
+                ? KeysetCursor.decode(query.getCursor(), "cursor", LocalDate::parse) : null;
+        List<DueTaskRow> rows = taskRepository.findOpenDueTasks(user.getId(), from, to,
+                after != null ? after.value : null,
+                after != null ? after.id : null,
+                KeysetPaging.fetchSize(pageSize));
+
+        return KeysetPaging.toPage(rows, pageSize,
+                last -> new KeysetCursor<>(last.getDueDate(), last.getId()).encode(),
+                this::groupByDueDate);
+    }
+
+    private List<DueTaskGroup> groupByDueDate(List<DueTaskRow> rows) {
+        // Rows arrive in date order, so insertion order is date order
+        Map<LocalDate, List<ProjectTaskResponse>> byDate = new LinkedHashMap<>();
+        for (DueTaskRow row : rows) {
+            byDate.computeIfAbsent(row.getDueDate(), date -> new ArrayList<>()).add(mapToProjectTaskResponse(row));
+        }
+        return byDate.entrySet().stream()
+                .map(day -> DueTaskGroup.builder().date(day.getKey()).tasks(day.getValue()).build())
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Turns free text into a {@code to_tsquery} expression in which every term is a prefix match.
+     */
+    static String toTsQuery(String q) {
+        List<String> terms = new ArrayList<>();
+        if (q != null) {
+            Matcher matcher = SEARCH_TERM.matcher(q);
+            while (matcher.find() && terms.size() < MAX_SEARCH_TERMS) {
+                terms.add(matcher.group().toLowerCase(Locale.ROOT) + ":*");
+            }
+        }
+        if (terms.isEmpty()) {
+            throw new BadRequestException("q must contain at least one letter or digit");
+        }
+        return String.join(" & ", terms);
+    }
+
+    private AuthenticatedUser getUserByEmail(String email) {
+        return principalCache.get(email)
+                .orElseThrow(() -> new ResourceNotFoundException("User", "email", email));
+    }
+
+    private ProjectTaskResponse mapToProjectTaskResponse(DueTaskRow row) {
+        return ProjectTaskResponse.builder()
+                .id(row.getId())
+                .projectId(row.getProjectId())
+                .projectTitle(row.getProjectTitle())
+                .title(row.getTitle())
+                .description(row.getDescription())
+                .dueDate(row.getDueDate())
+                .isCompleted(row.getIsCompleted())
+                .createdAt(row.getCreatedAt())
+                .version(row.getVersion())
+                .build();
+    }
+
+    private TaskSearchResult mapToSearchResult(TaskSearchHit hit) {
+        return TaskSearchResult.builder()
+                .id(hit.getId())
+                .projectId(hit.getProjectId())
+                .projectTitle(hit.getProjectTitle())
+                .title(hit.getTitle())
+                .description(hit.getDescription())
+                .dueDate(hit.getDueDate())
+                .isCompleted(hit.getIsCompleted())
+                .createdAt(hit.getCreatedAt())
+                .version(hit.getVersion())
+                .rank(hit.getRank())
+                .build();
+    }
+}
@@ -1,18 +1,31 @@
 package com.internship.taskmanager.service;
 
+import com.internship.taskmanager.dto.CursorPage;
+import com.internship.taskmanager.dto.TaskListQuery;
 import com.internship.taskmanager.dto.TaskRequest;
 import com.internship.taskmanager.dto.TaskResponse;
 import com.internship.taskmanager.dto.TaskUpdateRequest;
+import com.internship.taskmanager.exception.BadRequestException;
+import com.internship.taskmanager.exception.PreconditionFailedException;
+import com.internship.taskmanager.exception.ResourceNotFoundException;
 import com.internship.taskmanager.model.Project;
 import com.internship.taskmanager.model.Task;
-import com.internship.taskmanager.model.User;
 import com.internship.taskmanager.repository.ProjectRepository;
 import com.internship.taskmanager.repository.TaskRepository;
-import com.internship.taskmanager.repository.UserRepository;
+import com.internship.taskmanager.repository.TaskSnapshot;
+import com.internship.taskmanager.repository.TaskSpecifications;
+import com.internship.taskmanager.security.AuthenticatedUser;
+import com.internship.taskmanager.security.PrincipalCache;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.DigestUtils;
 
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -20,6 +33,9 @@ import java.util.stream.Collectors;
 @Transactional
 public class TaskService {
 
+    static final int DEFAULT_PAGE_SIZE = 50;
+    static final int MAX_PAGE_SIZE = 200;
+
     @Autowired
     private TaskRepository taskRepository;
 
@@ -27,22 +43,51 @@ public class TaskService {
     private ProjectRepository projectRepository;
 
     @Autowired
-    private UserRepository userRepository;
+    private PrincipalCache principalCache;
 
-    public List<TaskResponse> getProjectTasks(Long projectId, String email) {
-        User user = getUserByEmail(email);
-        Project project = projectRepository.findByIdAndUserId(projectId, user.getId())
-                .orElseThrow(() -> new RuntimeException("Project not found"));
+    // Events are delivered to listeners after the surrounding transaction commits
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Transactional(readOnly = true)
+    public CursorPage<TaskResponse> getProjectTasks(Long projectId, TaskListQuery query, String email) {
+        AuthenticatedUser user = getUserByEmail(email);
+        if (!projectRepository.existsByIdAndUserId(projectId, user.getId())) {
+            throw new ResourceNotFoundException("Project", "id", projectId);
+        }
+
+        int limit = query.getLimit() != null ? query.getLimit() : DEFAULT_PAGE_SIZE;
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new BadRequestException("limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        Sort.Direction direction = parseDirection(query.getSort());
+
+        Specification<Task> spec = Specification.allOf(
+                TaskSpecifications.inProject(projectId),
+                TaskSpecifications.completed(query.getCompleted()),
+                TaskSpecifications.dueOnOrAfter(query.getDueFrom()),
+                TaskSpecifications.dueOnOrBefore(query.getDueTo()));
+        if (query.getCursor() != null && !query.getCursor().isBlank()) {
+            KeysetCursor<LocalDateTime> cursor = KeysetCursor.decode(query.getCursor(), "cursor", LocalDateTime::parse);
+            spec = spec.and(TaskSpecifications.after(cursor.value, cursor.id, direction));
+        }
+
+        List<Task> tasks = taskRepository.findBy(spec, q -> q
+                .sortBy(Sort.by(direction, "createdAt").and(Sort.by(direction, "id")))
+                .limit(KeysetPaging.fetchSize(limit))
+                .all());
 
-        return project.getTasks().stream()
-                .map(this::mapToTaskResponse)
-                .collect(Collectors.toList());
+        return KeysetPaging.toPage(tasks, limit,
+                last -> new KeysetCursor<>(last.getCreatedAt(), last.getId()).encode(),
+                page -> page.stream()
+                        .map(this::mapToTaskResponse)
+                        .collect(Collectors.toList()));
     }
 
     public TaskResponse createTask(Long projectId, TaskRequest request, String email) {
-        User user = getUserByEmail(email);
+        AuthenticatedUser user = getUserByEmail(email);
         Project project = projectRepository.findByIdAndUserId(projectId, user.getId())
-                .orElseThrow(() -> new RuntimeException("Project not found"));
+                .orElseThrow(() -> new ResourceNotFoundException("Project", "id", projectId));
 
         Task task = Task.builder()
                 .title(request.getTitle())
@@ -53,64 +98,107 @@ public class TaskService {
                 .build();
 
         task = taskRepository.save(task);
-        return mapToTaskResponse(task);
+        projectRepository.adjustTaskCounters(projectId, 1, 0);
+        TaskResponse response = mapToTaskResponse(task);
+        eventPublisher.publishEvent(TaskChangedEvent.of(TaskChangedEvent.Type.CREATED, projectId, response));
+        return response;
     }
 
-    public TaskResponse updateTask(Long projectId, Long taskId, TaskUpdateRequest request, String email) {
-        User user = getUserByEmail(email);
-        Project project = projectRepository.findByIdAndUserId(projectId, user.getId())
-                .orElseThrow(() -> new RuntimeException("Project not found"));
-
-        Task task = taskRepository.findByIdAndProjectId(taskId, projectId)
-                .orElseThrow(() -> new RuntimeException("Task not found"));
+    /**
+     * Returns a strong ETag for one page of the task list, derived from the project's task fingerprint
+     * and the query, without loading any task entities.
+     */
+    @Transactional(readOnly = true)
+    public String getProjectTasksETag(Long projectId, TaskListQuery query, String email) {
+        AuthenticatedUser user = getUserByEmail(email);
+        String fingerprint = projectRepository.findTaskFingerprintByIdAndUserId(projectId, user.getId())
+                .orElseThrow(() -> new ResourceNotFoundException("Project", "id", projectId));
+        String key = projectId + "|" + fingerprint + "|" + query.getCompleted() + "|" + query.getDueFrom()
+                + "|" + query.getDueTo() + "|" + query.getCursor() + "|" + query.getLimit() + "|" + query.getSort();
+        return "\"" + DigestUtils.md5DigestAsHex(key.getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
 
-        if (request.getTitle() != null) {
-            task.setTitle(request.getTitle());
-        }
-        if (request.getDescription() != null) {
-            task.setDescription(request.getDescription());
-        }
-        if (request.getDueDate() != null) {
-            task.setDueDate(request.getDueDate());
-        }
-        if (request.getIsCompleted() != null) {
-            task.setIsCompleted(request.getIsCompleted());
-        }
+    public TaskResponse updateTask(Long projectId, Long taskId, TaskUpdateRequest request, String email) {
+        return updateTask(projectId, taskId, request, email, null);
+    }
 
-        task = taskRepository.save(task);
-        return mapToTaskResponse(task);
+    /**
+     * @param expectedVersion if not null, fail with {@link PreconditionFailedException} unless the task is
+     *                        still at this version
+     */
+    public TaskResponse updateTask(Long projectId, Long taskId, TaskUpdateRequest request, String email,
+                                   Long expectedVersion) {
+        // Ownership check, version check, update and counter adjustment happen in one guarded statement
+        TaskSnapshot task = taskRepository.updateOwnedTask(projectId, taskId, email,
+                        request.getTitle(),
+                        request.getDescription(),
+                        request.getDueDate(),
+                        request.getIsCompleted(),
+                        LocalDateTime.now(),
+                        expectedVersion)
+                .orElseThrow(() -> notApplied(projectId, taskId, email, expectedVersion));
+        TaskResponse response = mapToTaskResponse(task);
+        eventPublisher.publishEvent(TaskChangedEvent.of(TaskChangedEvent.Type.UPDATED, projectId, response));
+        return response;
     }
 
     public void deleteTask(Long projectId, Long taskId, String email) {
-        User user = getUserByEmail(email);
-        Project project = projectRepository.findByIdAndUserId(projectId, user.getId())
-                .orElseThrow(() -> new RuntimeException("Project not found"));
-
-        Task task = taskRepository.findByIdAndProjectId(taskId, projectId)
-                .orElseThrow(() -> new RuntimeException("Task not found"));
+        deleteTask(projectId, taskId, email, null);
+    }
 
-        taskRepository.delete(task);
+    public void deleteTask(Long projectId, Long taskId, String email, Long expectedVersion) {
+        if (taskRepository.deleteOwnedTask(projectId, taskId, email, LocalDateTime.now(), expectedVersion) == 0) {
+            throw notApplied(projectId, taskId, email, expectedVersion);
+        }
+        eventPublisher.publishEvent(TaskChangedEvent.deleted(projectId, taskId));
     }
 
     public TaskResponse markTaskAsCompleted(Long projectId, Long taskId, String email) {
-        User user = getUserByEmail(email);
-        Project project = projectRepository.findByIdAndUserId(projectId, user.getId())
-                .orElseThrow(() -> new RuntimeException("Project not found"));
+        return markTaskAsCompleted(projectId, taskId, email, null);
+    }
 
-        Task task = taskRepository.findByIdAndProjectId(taskId, projectId)
-                .orElseThrow(() -> new RuntimeException("Task not found"));
+    public TaskResponse markTaskAsCompleted(Long projectId, Long taskId, String email, Long expectedVersion) {
+        TaskSnapshot task = taskRepository.updateOwnedTask(projectId, taskId, email, null, null, null, true,
+                        LocalDateTime.now(), expectedVersion)
+                .orElseThrow(() -> notApplied(projectId, taskId, email, expectedVersion));
+        TaskResponse response = mapToTaskResponse(task);
+        eventPublisher.publishEvent(TaskChangedEvent.of(TaskChangedEvent.Type.COMPLETED, projectId, response));
+        return response;
+    }
 
-        task.setIsCompleted(true);
-        task = taskRepository.save(task);
-        return mapToTaskResponse(task);
+    /**
+     * Works out why a guarded mutation matched no row. Only runs on the failure path, so successful
+     * mutations stay at a single statement.
+     */
+    private RuntimeException notApplied(Long projectId, Long taskId, String email, Long expectedVersion) {
+        AuthenticatedUser user = getUserByEmail(email);
+        if (!projectRepository.existsByIdAndUserId(projectId, user.getId())) {
+            return new ResourceNotFoundException("Project", "id", projectId);
+        }
+        if (expectedVersion != null && taskRepository.findByIdAndProjectId(taskId, projectId).isPresent()) {
+            return new PreconditionFailedException("Task " + taskId + " was modified concurrently");
+        }
+        return new ResourceNotFoundException("Task", "id", taskId);
+    }
+
+    private AuthenticatedUser getUserByEmail(String email) {
+        return principalCache.get(email)
+                .orElseThrow(() -> new ResourceNotFoundException("User", "email", email));
     }
 
-    private User getUserByEmail(String email) {
-        return userRepository.findByEmail(email)
-                .orElseThrow(() -> new RuntimeException("User not found"));
+    private Sort.Direction parseDirection(String sort) {
+        if (sort == null || sort.isBlank()) {
+            return Sort.Direction.ASC;
+        }
+        return Sort.Direction.fromOptionalString(sort)
+                .orElseThrow(() -> new BadRequestException("sort must be 'asc' or 'desc'"));
     }
 
     private TaskResponse mapToTaskResponse(Task task) {
+        return TaskResponse.from(task);
+    }
+
+    private TaskResponse mapToTaskResponse(TaskSnapshot task) {
         return TaskResponse.builder()
                 .id(task.getId())
                 .title(task.getTitle())
@@ -118,6 +206,7 @@ public class TaskService {
                 .dueDate(task.getDueDate())
                 .isCompleted(task.getIsCompleted())
                 .createdAt(task.getCreatedAt())
+                .version(task.getVersion())
                 .build();
     }
 }
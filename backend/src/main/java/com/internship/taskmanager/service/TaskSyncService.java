@@ -0,0 +1,141 @@
+package com.internship.taskmanager.service;
+
+import com.internship.taskmanager.dto.TaskResponse;
+import com.internship.taskmanager.dto.TaskSyncResponse;
+import com.internship.taskmanager.exception.BadRequestException;
+import com.internship.taskmanager.exception.ResourceNotFoundException;
+import com.internship.taskmanager.repository.ProjectRepository;
+import com.internship.taskmanager.repository.TaskChange;
+import com.internship.taskmanager.repository.TaskRepository;
+import com.internship.taskmanager.repository.TaskTombstoneRepository;
+import com.internship.taskmanager.security.AuthenticatedUser;
+import com.internship.taskmanager.security.PrincipalCache;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Delta sync for a project's tasks: returns what was created, updated or deleted after a
+ * client-held watermark instead of the whole list.
+ *
+ * <p>Timestamps are taken before commit, so a slow transaction can make a change visible with a
+ * timestamp older than a watermark already handed out. A watermark is therefore never later than
+ * {@code app.sync.overlap} ago, on the last page or any other; changes inside that window are delivered again and clients apply them idempotently (by id and
+ * version).
+ */
+@Service
+@Transactional(readOnly = true)
+public class TaskSyncService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TaskSyncService.class);
+
+    static final int DEFAULT_LIMIT = 500;
+    static final int MAX_LIMIT = 1000;
+
+    // Start of time for a first sync; earlier than any row the application writes
+    private static final LocalDateTime EPOCH = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private TaskTombstoneRepository taskTombstoneRepository;
+
+    @Autowired
+    private PrincipalCache principalCache;
+
+    @Value("${app.sync.overlap:10s}")
+    private Duration overlap;
+
+    @Value("${app.sync.tombstone-retention:30d}")
+    private Duration tombstoneRetention;
+
+    public TaskSyncResponse getChanges(Long projectId, String since, Integer limit, String email) {
+        AuthenticatedUser user = principalCache.get(email)
+                .orElseThrow(() -> new ResourceNotFoundException("User", "email", email));
+        if (!projectRepository.existsByIdAndUserId(projectId, user.getId())) {
+            throw new ResourceNotFoundException("Project", "id", projectId);
+        }
+
+        int pageSize = limit != null ? limit : DEFAULT_LIMIT;
+        if (pageSize < 1 || pageSize > MAX_LIMIT) {
+            throw new BadRequestException("limit must be between 1 and " + MAX_LIMIT);
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        KeysetCursor<LocalDateTime> from = since == null || since.isBlank()
+                ? new KeysetCursor<>(EPOCH, 0L)
+                : KeysetCursor.decode(since, "since", LocalDateTime::parse);
+        if (!from.value.equals(EPOCH) && from.value.isBefore(now.minus(tombstoneRetention))) {
+            // Tombstones older than this are gone, so deletions could be missed
+            return TaskSyncResponse.builder()
+                    .changed(List.of())
+                    .deleted(List.of())
+                    .resetRequired(true)
+                    .build();
+        }
+
+        List<TaskChange> changes = taskRepository.findChangesAfter(projectId, from.value, from.id, pageSize + 1);
+        boolean hasMore = changes.size() > pageSize;
+        if (hasMore) {
+            changes = changes.subList(0, pageSize);
+        }
+
+        List<TaskResponse> changed = new ArrayList<>();
+        List<Long> deleted = new ArrayList<>();
+        for (TaskChange change : changes) {
+            if (Boolean.TRUE.equals(change.getDeleted())) {
+                deleted.add(change.getId());
+            } else {
+                changed.add(TaskResponse.builder()
+                        .id(change.getId())
+                        .title(change.getTitle())
+                        .description(change.getDescription())
+                        .dueDate(change.getDueDate())
+                        .isCompleted(change.getIsCompleted())
+                        .createdAt(change.getCreatedAt())
+                        .version(change.getVersion())
+                        .build());
+            }
+        }
+
+        KeysetCursor<LocalDateTime> next = changes.isEmpty()
+                ? from
+                : new KeysetCursor<>(changes.get(changes.size() - 1).getChangedAt(), changes.get(changes.size() - 1).getId());
+        LocalDateTime settled = now.minus(overlap);
+        if (next.value.isAfter(settled)) {
+            // The page ends inside the window, and so does everything after it: hand out the settled
+            // boundary and report no more, or the client would page from the same boundary forever
+            next = new KeysetCursor<>(settled, 0L);
+            hasMore = false;
+        }
+
+        return TaskSyncResponse.builder()
+                .changed(changed)
+                .deleted(deleted)
+                .since(next.encode())
+                .hasMore(hasMore)
+                .build();
+    }
+
+    @Scheduled(fixedDelayString = "${app.sync.tombstone-purge-interval:PT6H}")
+    @Transactional
+    public void purgeExpiredTombstones() {
+        int purged = taskTombstoneRepository.deleteOlderThan(LocalDateTime.now().minus(tombstoneRetention));
+        if (purged > 0) {
+            logger.info("Purged {} expired task tombstones", purged);
+        }
+    }
+}
@@ -0,0 +1,116 @@
+-- Baseline schema: the tables, keys and indexes Hibernate's ddl-auto=update used to create.
+-- Databases created by ddl-auto are migrated in place (spring.flyway.baseline-version=0), so every
+-- statement is written to be a no-op where the object already exists.
+
+CREATE TABLE IF NOT EXISTS users (
+    id         bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    email      varchar(100) NOT NULL UNIQUE,
+    password   varchar(255) NOT NULL,
+    name       varchar(100) NOT NULL,
+    created_at timestamp(6) NOT NULL
+);
+
+-- Project and task ids come from pooled sequences (allocationSize = 50)
+CREATE SEQUENCE IF NOT EXISTS projects_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS tasks_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS projects (
+    id              bigint PRIMARY KEY,
+    user_id         bigint NOT NULL,
+    title           varchar(200) NOT NULL,
+    description     varchar(1000),
+    created_at      timestamp(6) NOT NULL,
+    total_tasks     integer NOT NULL DEFAULT 0,
+    completed_tasks integer NOT NULL DEFAULT 0
+);
+
+CREATE TABLE IF NOT EXISTS tasks (
+    id           bigint PRIMARY KEY,
+    project_id   bigint NOT NULL,
+    title        varchar(200) NOT NULL,
+    description  varchar(1000),
+    due_date     date,
+    is_completed boolean NOT NULL,
+    created_at   timestamp(6) NOT NULL,
+    updated_at   timestamp(6),
+    version      bigint
+);
+
+-- Databases from before the counters existed: add and fill them in one go
+DO $$
+BEGIN
+    IF NOT EXISTS (SELECT 1 FROM information_schema.columns
+                   WHERE table_schema = current_schema() AND table_name = 'projects' AND column_name = 'total_tasks') THEN
+        ALTER TABLE projects
+            ADD COLUMN total_tasks integer NOT NULL DEFAULT 0,
+            ADD COLUMN completed_tasks integer NOT NULL DEFAULT 0;
+        UPDATE projects p
+        SET total_tasks = c.total, completed_tasks = c.completed
+        FROM (SELECT project_id, count(*) AS total, count(*) FILTER (WHERE is_completed) AS completed
+              FROM tasks GROUP BY project_id) c
+        WHERE c.project_id = p.id;
+    END IF;
+END $$;
+
+-- Ids used to be identity columns; make sure the sequences hand out ids above the existing ones
+DO $$
+BEGIN
+    PERFORM setval('projects_seq', (SELECT max(id) FROM projects))
+    WHERE (SELECT max(id) FROM projects) > (SELECT last_value FROM projects_seq);
+    PERFORM setval('tasks_seq', (SELECT max(id) FROM tasks))
+    WHERE (SELECT max(id) FROM tasks) > (SELECT last_value FROM tasks_seq);
+END $$;
+
+-- ddl-auto named foreign keys after a hash; only add ours where none exists
+DO $$
+BEGIN
+    IF NOT EXISTS (SELECT 1 FROM pg_constraint WHERE conrelid = 'projects'::regclass AND contype = 'f') THEN
+        ALTER TABLE projects ADD CONSTRAINT fk_projects_user FOREIGN KEY (user_id) REFERENCES users (id);
+    END IF;
+    IF NOT EXISTS (SELECT 1 FROM pg_constraint WHERE conrelid = 'tasks'::regclass AND contype = 'f') THEN
+        ALTER TABLE tasks ADD CONSTRAINT fk_tasks_project FOREIGN KEY (project_id) REFERENCES projects (id);
+    END IF;
+END $$;
+
+-- Project list by owner; task pages by creation and delta sync by update time, both keyset on id
+CREATE INDEX IF NOT EXISTS idx_projects_user_id ON projects (user_id);
+CREATE INDEX IF NOT EXISTS idx_tasks_project_created_id ON tasks (project_id, created_at, id);
+CREATE INDEX IF NOT EXISTS idx_tasks_project_updated_id ON tasks (project_id, updated_at, id);
+
+CREATE TABLE IF NOT EXISTS task_tombstones (
+    id         bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    task_id    bigint NOT NULL,
+    project_id bigint NOT NULL,
+    deleted_at timestamp(6) NOT NULL
+);
+CREATE INDEX IF NOT EXISTS idx_task_tombstones_project_deleted ON task_tombstones (project_id, deleted_at, task_id);
+
+CREATE TABLE IF NOT EXISTS import_jobs (
+    id               bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    user_id          bigint NOT NULL,
+    format           varchar(10) NOT NULL CHECK (format IN ('NDJSON', 'CSV')),
+    status           varchar(10) NOT NULL CHECK (status IN ('RUNNING', 'COMPLETED', 'FAILED')),
+    rows_committed   bigint NOT NULL,
+    rows_failed      bigint NOT NULL,
+    projects_created bigint NOT NULL,
+    tasks_created    bigint NOT NULL,
+    message          varchar(1000),
+    created_at       timestamp(6) NOT NULL,
+    updated_at       timestamp(6)
+);
+
+CREATE TABLE IF NOT EXISTS import_project_refs (
+    id         bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    job_id     bigint NOT NULL,
+    source_ref varchar(100) NOT NULL,
+    project_id bigint NOT NULL,
+    CONSTRAINT uk_import_project_refs_job_ref UNIQUE (job_id, source_ref)
+);
+
+CREATE TABLE IF NOT EXISTS import_row_errors (
+    id         bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    job_id     bigint NOT NULL,
+    row_number bigint NOT NULL,
+    message    varchar(1000) NOT NULL
+);
+CREATE INDEX IF NOT EXISTS idx_import_row_errors_job_row ON import_row_errors (job_id, row_number);
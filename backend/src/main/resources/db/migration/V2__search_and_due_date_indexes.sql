@@ -0,0 +1,21 @@
+-- Indexes and generated columns for search, due dates and reminders, previously applied from
+-- db/schema-extensions.sql on every start. Idempotent for databases that already have them.
+
+-- Full-text search over task titles (weight A) and descriptions (weight B). A generated column is
+-- recomputed by Postgres on every insert and update, whichever code path writes the row. The
+-- 'simple' configuration does no stemming, so a prefix query matches exactly what was typed.
+ALTER TABLE tasks ADD COLUMN IF NOT EXISTS search_vector tsvector
+    GENERATED ALWAYS AS (
+        setweight(to_tsvector('simple', coalesce(title, '')), 'A') ||
+        setweight(to_tsvector('simple', coalesce(description, '')), 'B')
+    ) STORED;
+CREATE INDEX IF NOT EXISTS idx_tasks_search_vector ON tasks USING gin (search_vector);
+
+-- Due and overdue tasks across a user's projects (GET /api/tasks/due). Completed tasks and tasks
+-- without a due date are left out, which keeps the index a fraction of the table.
+CREATE INDEX IF NOT EXISTS idx_tasks_open_due ON tasks (project_id, due_date, id)
+    WHERE is_completed = false AND due_date IS NOT NULL;
+
+-- Open tasks of every user due in the reminder scheduler's window, by date alone.
+CREATE INDEX IF NOT EXISTS idx_tasks_open_due_date ON tasks (due_date, id)
+    WHERE is_completed = false AND due_date IS NOT NULL;
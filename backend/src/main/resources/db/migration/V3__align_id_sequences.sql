@@ -0,0 +1,7 @@
+-- Project and task ids come from pooled sequences (allocationSize = 50): Hibernate takes nextval as the
+-- top of a block and hands out the 49 ids below it. On a database whose ids came from identity columns
+-- the sequences must start above max(id). V1 skipped that when max(id) equalled the sequence's unused
+-- start value (a single legacy row with id 1), so the first block began at an existing id.
+-- setval(max(id)) makes the next block start right above the highest id; a no-op once aligned.
+SELECT setval('projects_seq', max(id)) FROM projects HAVING max(id) >= (SELECT last_value FROM projects_seq);
+SELECT setval('tasks_seq', max(id)) FROM tasks HAVING max(id) >= (SELECT last_value FROM tasks_seq);
@@ -0,0 +1,5 @@
+-- A resumed import takes over its job. attempt tells the requests that worked on a job apart, so one
+-- that lost the job can neither commit batches nor finish it; heartbeat_at advances with every
+-- committed batch and tells a RUNNING job whose request is alive from one whose request died.
+ALTER TABLE import_jobs ADD COLUMN IF NOT EXISTS attempt integer NOT NULL DEFAULT 1;
+ALTER TABLE import_jobs ADD COLUMN IF NOT EXISTS heartbeat_at timestamp(6);
@@ -0,0 +1,34 @@
+package com.internship.taskmanager;
+
+import com.internship.taskmanager.model.User;
+import com.internship.taskmanager.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+
+/**
+ * Saves the users tests act as. Emails are unique per call, so tests that commit do not collide
+ * with each other or with earlier runs against the same database.
+ */
+@Component
+public class TestUsers {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    /**
+     * @param prefix start of the email, naming the test class in the database
+     */
+    public User save(String prefix) {
+        return save(prefix, "Tester");
+    }
+
+    public User save(String prefix, String name) {
+        return userRepository.save(User.builder()
+                .email(prefix + "-" + UUID.randomUUID() + "@example.com")
+                .password("secret123")
+                .name(name)
+                .build());
+    }
+}
@@ -0,0 +1,49 @@
+package com.internship.taskmanager.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ConcurrencyLimitFilterTests {
+
+    private final ConcurrencyLimitFilter filter =
+            new ConcurrencyLimitFilter(1, Duration.ofMillis(10), JsonMapper.builder().build());
+
+    @Test
+    void rejectsRequestsBeyondTheLimitWith503() throws Exception {
+        AtomicReference<MockHttpServletResponse> nested = new AtomicReference<>();
+
+        // While the first request holds the only permit, a second one must be turned away
+        filter.doFilter(apiRequest(), new MockHttpServletResponse(), (request, response) -> {
+            MockHttpServletResponse second = new MockHttpServletResponse();
+            filter.doFilter(apiRequest(), second, new MockFilterChain());
+            nested.set(second);
+        });
+
+        assertThat(nested.get().getStatus()).isEqualTo(503);
+        assertThat(nested.get().getHeader("Retry-After")).isEqualTo("1");
+        assertThat(nested.get().getContentAsString()).contains("Server is busy");
+        assertThat(filter.availablePermits()).isEqualTo(1);
+    }
+
+    @Test
+    void releasesThePermitAfterEachRequest() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            filter.doFilter(apiRequest(), response, new MockFilterChain());
+            assertThat(response.getStatus()).isEqualTo(200);
+        }
+        assertThat(filter.availablePermits()).isEqualTo(1);
+    }
+
+    private static MockHttpServletRequest apiRequest() {
+        return new MockHttpServletRequest("GET", "/api/projects");
+    }
+}
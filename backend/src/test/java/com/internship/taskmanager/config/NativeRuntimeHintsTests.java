@@ -0,0 +1,36 @@
+package com.internship.taskmanager.config;
+
+import com.internship.taskmanager.dto.ProjectDetailResponse;
+import com.internship.taskmanager.service.ChangeNotice;
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+
+class NativeRuntimeHintsTests {
+
+    private final RuntimeHints hints = new RuntimeHints();
+
+    @Test
+    void registersTypesSerializedOutsideControllers() throws Exception {
+        new NativeRuntimeHints().registerHints(hints, getClass().getClassLoader());
+
+        assertThat(RuntimeHintsPredicates.reflection().onType(ProjectDetailResponse.class)).accepts(hints);
+        assertThat(RuntimeHintsPredicates.reflection().onMethodInvocation(ChangeNotice.class, "getKind"))
+                .accepts(hints);
+        assertThat(RuntimeHintsPredicates.reflection().onType(
+                Class.forName(NativeRuntimeHints.CHANGE_NOTICE_ENVELOPE))
+                .withMemberCategory(MemberCategory.INVOKE_DECLARED_CONSTRUCTORS)).accepts(hints);
+        assertThat(RuntimeHintsPredicates.resource().forResource("hibernate-cache.conf")).accepts(hints);
+    }
+
+    @Test
+    void namedTypesStillExist() {
+        // Catches a rename that would only surface at native runtime
+        assertThatCode(() -> Class.forName(NativeRuntimeHints.CHANGE_NOTICE_ENVELOPE)).doesNotThrowAnyException();
+        assertThatCode(() -> Class.forName(NativeRuntimeHints.JCACHE_PROVIDER)).doesNotThrowAnyException();
+    }
+}
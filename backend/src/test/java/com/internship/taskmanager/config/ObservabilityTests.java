@@ -0,0 +1,98 @@
+package com.internship.taskmanager.config;
+
+import com.internship.taskmanager.TestUsers;
+import com.internship.taskmanager.model.User;
+import com.internship.taskmanager.security.JwtUtil;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.health.contributor.Health;
+import org.springframework.boot.health.contributor.Status;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.allOf;
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Tests export no metrics by default
+@SpringBootTest(properties = {
+        "management.defaults.metrics.export.enabled=true",
+        "app.metrics.scrape-token=" + ObservabilityTests.SCRAPE_TOKEN
+})
+@AutoConfigureMockMvc
+class ObservabilityTests {
+
+    static final String SCRAPE_TOKEN = "scrape-secret";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private DatabaseHealthIndicator databaseHealthIndicator;
+
+    @Autowired
+    private TestUsers testUsers;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Test
+    void probesNeedNoTokenAndReadinessChecksTheDatabase() throws Exception {
+        mockMvc.perform(get("/actuator/health/liveness"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("UP"));
+        mockMvc.perform(get("/actuator/health/readiness"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("UP"));
+
+        Health health = databaseHealthIndicator.health();
+        assertThat(health.getStatus()).isEqualTo(Status.UP);
+        // Served from the cache until the TTL passes
+        assertThat(databaseHealthIndicator.health()).isSameAs(health);
+    }
+
+    @Test
+    void databaseCheckReportsDownWhenUnreachable() {
+        DatabaseHealthIndicator unreachable = new DatabaseHealthIndicator(
+                new DriverManagerDataSource("jdbc:postgresql://localhost:1/none"), Duration.ZERO, Duration.ofSeconds(1));
+
+        assertThat(unreachable.health().getStatus()).isEqualTo(Status.DOWN);
+    }
+
+    @Test
+    void prometheusNeedsTheScrapeTokenAndExposesRouteLatencyPoolHibernateJvmJwtAndCacheMetrics() throws Exception {
+        User user = testUsers.save("metrics");
+        String userToken = "Bearer " + jwtUtil.generateToken(user.getEmail());
+        mockMvc.perform(get("/api/projects").header("Authorization", userToken))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/actuator/prometheus")).andExpect(status().isForbidden());
+        mockMvc.perform(get("/actuator/prometheus").header("Authorization", userToken))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get("/actuator/metrics").header("Authorization", userToken))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get("/actuator/metrics/jvm.threads.live").header("Authorization", "Bearer " + SCRAPE_TOKEN))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/actuator/prometheus").header("Authorization", "Bearer " + SCRAPE_TOKEN))
+                .andExpect(status().isOk())
+                .andExpect(content().string(allOf(
+                        containsString("http_server_requests_seconds_bucket{"),
+                        containsString("uri=\"/api/projects\""),
+                        containsString("http_server_requests_queries_statements_bucket{"),
+                        containsString("hikaricp_connections_active"),
+                        containsString("hibernate_statements_total"),
+                        containsString("jvm_gc_"),
+                        containsString("jwt_validation_seconds_bucket{"),
+                        containsString("cache=\"project-responses\",result=\"hit\""),
+                        containsString("cache=\"principal\",result=\"hit\""),
+                        containsString("project_response_cache_bytes"))));
+    }
+}
@@ -0,0 +1,85 @@
+package com.internship.taskmanager.config;
+
+import com.internship.taskmanager.exception.QueryBudgetExceededException;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class QueryMetricsFilterTests {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void recordsStatementsPerEndpointAndReportsThemInHeaders() throws Exception {
+        QueryMetricsFilter filter = new QueryMetricsFilter(meterRegistry, true, true);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request(), response, executing(2, "budgetOfThree"));
+
+        assertThat(response.getHeader(QueryMetricsFilter.COUNT_HEADER)).isEqualTo("2");
+        assertThat(response.getHeader(QueryMetricsFilter.TIME_HEADER)).endsWith("ms");
+        DistributionSummary statements = meterRegistry.get("http.server.requests.queries")
+                .tag("uri", "/api/projects/{projectId}").summary();
+        assertThat(statements.count()).isEqualTo(1);
+        assertThat(statements.totalAmount()).isEqualTo(2);
+        assertThat(QueryStats.current()).isNull();
+    }
+
+    @Test
+    void failsRequestsOverTheirBudget() {
+        QueryMetricsFilter filter = new QueryMetricsFilter(meterRegistry, false, true);
+
+        assertThatThrownBy(() -> filter.doFilter(request(), new MockHttpServletResponse(),
+                executing(4, "budgetOfThree")))
+                .isInstanceOf(QueryBudgetExceededException.class)
+                .hasMessageContaining("executed 4 SQL statements, budget is 3");
+        assertThat(meterRegistry.get("http.server.requests.query.budget.exceeded").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void onlyLogsOverBudgetUnlessConfiguredToFail() throws Exception {
+        QueryMetricsFilter filter = new QueryMetricsFilter(meterRegistry, false, false);
+
+        filter.doFilter(request(), new MockHttpServletResponse(), executing(4, "budgetOfThree"));
+
+        assertThat(meterRegistry.get("http.server.requests.query.budget.exceeded").counter().count()).isEqualTo(1);
+    }
+
+    private static MockHttpServletRequest request() {
+        return new MockHttpServletRequest("GET", "/api/projects/1");
+    }
+
+    /**
+     * Stands in for dispatching to {@code handlerMethod}, which executes {@code statements} queries.
+     */
+    private static FilterChain executing(int statements, String handlerMethod) {
+        return (request, response) -> {
+            request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/projects/{projectId}");
+            try {
+                request.setAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE,
+                        new HandlerMethod(new Handler(), Handler.class.getMethod(handlerMethod)));
+            } catch (NoSuchMethodException e) {
+                throw new IllegalStateException(e);
+            }
+            for (int i = 0; i < statements; i++) {
+                QueryStats.current().record(1_000_000);
+            }
+            response.getOutputStream().write('x');
+        };
+    }
+
+    static class Handler {
+
+        @QueryBudget(3)
+        public void budgetOfThree() {
+        }
+    }
+}
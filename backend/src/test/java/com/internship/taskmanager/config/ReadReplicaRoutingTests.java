@@ -0,0 +1,172 @@
+package com.internship.taskmanager.config;
+
+import com.internship.taskmanager.TestUsers;
+import com.internship.taskmanager.dto.ProjectRequest;
+import com.internship.taskmanager.dto.TaskListQuery;
+import com.internship.taskmanager.model.User;
+import com.internship.taskmanager.repository.ProjectRepository;
+import com.internship.taskmanager.service.ProjectService;
+import com.internship.taskmanager.service.TaskService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// The same database stands in for the replica; only the pool, and so the application name, differs
+@SpringBootTest(properties = {
+        "app.datasource.replica.enabled=true",
+        "app.datasource.replica.url=${spring.datasource.url}",
+        "app.datasource.replica.max-lag=5s",
+        "app.datasource.replica.lag-check-interval=1h"
+})
+class ReadReplicaRoutingTests {
+
+    private static final String REPLICA = "task-manager-replica";
+
+    @Autowired
+    private ReplicaLagMonitor replicaLagMonitor;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ProjectService projectService;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TestUsers testUsers;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private User user;
+    private Long projectId;
+
+    @BeforeEach
+    void setUp() {
+        replicaLagMonitor.check();
+        user = testUsers.save("replica");
+        projectId = projectService.createProject(ProjectRequest.builder().title("Replicated").build(), user.getEmail())
+                .getId();
+    }
+
+    @Test
+    void readOnlyTransactionsUseTheReplicaAndWritesThePrimary() {
+        assertThat(replicaLagMonitor.isReplicaUsable()).isTrue();
+        assertThat(replicaLagMonitor.getLagMillis()).isZero();
+
+        assertThat(applicationName(true)).isEqualTo(REPLICA);
+        assertThat(applicationName(false)).isNotEqualTo(REPLICA);
+        assertThat(ReadRouting.onPrimary(() -> applicationName(true))).isNotEqualTo(REPLICA);
+        // Outside a transaction the route is unbound
+        assertThat(ReadRouting.current()).isEqualTo(ReadRouting.Route.PRIMARY);
+
+        assertThat(taskService.getProjectTasks(projectId, TaskListQuery.builder().build(), user.getEmail())
+                .getItems()).isEmpty();
+        assertThat(projectService.getUserProjects(user.getEmail())).hasSize(1);
+    }
+
+    @Test
+    void laggingReplicaFallsBackToThePrimary() {
+        long fallbacks = replicaLagMonitor.getFallbackCount();
+        replicaLagMonitor.recordLag(60_000);
+        try {
+            assertThat(replicaLagMonitor.isReplicaUsable()).isFalse();
+            assertThat(replicaLagMonitor.getFallbackCount()).isEqualTo(fallbacks + 1);
+            assertThat(applicationName(true)).isNotEqualTo(REPLICA);
+        } finally {
+            replicaLagMonitor.check();
+        }
+        assertThat(applicationName(true)).isEqualTo(REPLICA);
+    }
+
+    @Test
+    void replicaThatStoppedStreamingIsTakenOutOfRotation() {
+        try {
+            // Replayed everything it received, but is no longer receiving
+            replicaLagMonitor.recordStatus(new ReplicaLagMonitor.ReplicaStatus(true, null, true, 0));
+            assertThat(replicaLagMonitor.isReplicaUsable()).isFalse();
+            assertThat(applicationName(true)).isNotEqualTo(REPLICA);
+
+            replicaLagMonitor.recordStatus(new ReplicaLagMonitor.ReplicaStatus(true, "waiting", true, 0));
+            assertThat(replicaLagMonitor.isReplicaUsable()).isFalse();
+
+            replicaLagMonitor.recordStatus(new ReplicaLagMonitor.ReplicaStatus(true, "streaming", true, 60_000));
+            assertThat(replicaLagMonitor.isReplicaUsable()).isTrue();
+            assertThat(replicaLagMonitor.getLagMillis()).isZero();
+
+            replicaLagMonitor.recordStatus(new ReplicaLagMonitor.ReplicaStatus(true, "streaming", false, 60_000));
+            assertThat(replicaLagMonitor.isReplicaUsable()).isFalse();
+        } finally {
+            replicaLagMonitor.check();
+        }
+        assertThat(replicaLagMonitor.isReplicaUsable()).isTrue();
+    }
+
+    @Test
+    void usersReadTheirOwnWritesFromThePrimary() {
+        try {
+            signIn(user.getEmail());
+            assertThat(applicationName(true)).isEqualTo(REPLICA);
+            applicationName(false);
+            assertThat(applicationName(true)).isNotEqualTo(REPLICA);
+
+            // Someone else's reads are unaffected
+            signIn("other-" + UUID.randomUUID() + "@example.com");
+            assertThat(applicationName(true)).isEqualTo(REPLICA);
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    @Test
+    void replicaReadsDoNotFillTheSecondLevelCache() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        entityManagerFactory.getCache().evictAll();
+
+        statistics.clear();
+        readOnly().executeWithoutResult(status -> assertThat(projectRepository.findById(projectId)).isPresent());
+        assertThat(statistics.getSecondLevelCachePutCount()).isZero();
+
+        ReadRouting.onPrimary(() -> readOnly().execute(status -> projectRepository.findById(projectId)));
+        assertThat(statistics.getSecondLevelCachePutCount()).isPositive();
+    }
+
+    private String applicationName(boolean readOnly) {
+        TransactionTemplate template = readOnly ? readOnly() : new TransactionTemplate(transactionManager);
+        return template.execute(status -> jdbcTemplate.queryForObject("SELECT current_setting('application_name')",
+                String.class));
+    }
+
+    private static void signIn(String email) {
+        SecurityContextHolder.getContext().setAuthentication(
+                UsernamePasswordAuthenticationToken.authenticated(email, null, List.of()));
+    }
+
+    private TransactionTemplate readOnly() {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(true);
+        return template;
+    }
+}
@@ -0,0 +1,37 @@
+package com.internship.taskmanager.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class VirtualThreadsRuntimeCheckTests {
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withUserConfiguration(VirtualThreadsRuntimeCheck.class);
+
+    @Test
+    void rejectsRuntimesWithoutVirtualThreads() {
+        assertThatThrownBy(() -> VirtualThreadsRuntimeCheck.check(17))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("Java 17");
+        assertThatCode(() -> VirtualThreadsRuntimeCheck.check(21)).doesNotThrowAnyException();
+    }
+
+    @Test
+    void startupFollowsTheRuntimeOnlyWhenEnabled() {
+        contextRunner.run(context -> assertThat(context).hasNotFailed()
+                .doesNotHaveBean(VirtualThreadsRuntimeCheck.class));
+
+        boolean supported = Runtime.version().feature() >= VirtualThreadsRuntimeCheck.MINIMUM_FEATURE_VERSION;
+        contextRunner.withPropertyValues("spring.threads.virtual.enabled=true").run(context -> {
+            if (supported) {
+                assertThat(context).hasNotFailed();
+            } else {
+                assertThat(context).hasFailed();
+            }
+        });
+    }
+}
@@ -0,0 +1,108 @@
+package com.internship.taskmanager.controller;
+
+import com.internship.taskmanager.TestUsers;
+import com.internship.taskmanager.dto.ProjectRequest;
+import com.internship.taskmanager.dto.TaskRequest;
+import com.internship.taskmanager.dto.TaskResponse;
+import com.internship.taskmanager.model.User;
+import com.internship.taskmanager.security.JwtUtil;
+import com.internship.taskmanager.service.ProjectService;
+import com.internship.taskmanager.service.TaskService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+
+/**
+ * Runs every budgeted endpoint against a project with many tasks; a request over its
+ * {@code @QueryBudget} fails the test instead of only being logged.
+ */
+@SpringBootTest(properties = {
+        "app.query-metrics.fail-over-budget=true",
+        "app.query-metrics.debug-headers=true"
+})
+@AutoConfigureMockMvc
+class QueryBudgetTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TestUsers testUsers;
+
+    @Autowired
+    private ProjectService projectService;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    private String token;
+    private Long projectId;
+    private List<TaskResponse> tasks;
+
+    @BeforeEach
+    void setUp() {
+        User user = testUsers.save("budget");
+        token = jwtUtil.generateToken(user.getEmail());
+        projectId = projectService.createProject(ProjectRequest.builder().title("Budgeted").build(), user.getEmail())
+                .getId();
+        tasks = new ArrayList<>();
+        for (int i = 0; i < 25; i++) {
+            tasks.add(taskService.createTask(projectId, TaskRequest.builder().title("Task " + i).build(),
+                    user.getEmail()));
+        }
+    }
+
+    @Test
+    void readEndpointsStayWithinBudget() throws Exception {
+        perform(get("/api/projects"), 200);
+        perform(get("/api/projects/{id}", projectId), 200);
+        perform(get("/api/projects/{id}/tasks", projectId).param("limit", "100"), 200);
+        perform(get("/api/projects/{id}/tasks/changes", projectId), 200);
+        perform(get("/api/tasks/search").param("q", "task"), 200);
+        perform(get("/api/tasks/due").param("from", "2026-01-01").param("to", "2026-12-31"), 200);
+        perform(get("/api/tasks/due").param("overdue", "true"), 200);
+    }
+
+    @Test
+    void writeEndpointsStayWithinBudget() throws Exception {
+        perform(post("/api/projects").contentType(MediaType.APPLICATION_JSON).content("{\"title\":\"Another\"}"), 201);
+        perform(post("/api/projects/{id}/tasks", projectId)
+                .contentType(MediaType.APPLICATION_JSON).content("{\"title\":\"Created\"}"), 201);
+        perform(put("/api/projects/{id}/tasks/{taskId}", projectId, tasks.get(0).getId())
+                .contentType(MediaType.APPLICATION_JSON).content("{\"title\":\"Renamed\"}"), 200);
+        perform(patch("/api/projects/{id}/tasks/{taskId}/complete", projectId, tasks.get(1).getId()), 200);
+        perform(delete("/api/projects/{id}/tasks/{taskId}", projectId, tasks.get(2).getId()), 204);
+        perform(post("/api/projects/{id}/tasks/batch", projectId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"operations\":["
+                        + "{\"op\":\"CREATE\",\"title\":\"Batched\"},"
+                        + "{\"op\":\"COMPLETE\",\"taskId\":" + tasks.get(3).getId() + "},"
+                        + "{\"op\":\"UPDATE\",\"taskId\":" + tasks.get(4).getId() + ",\"title\":\"Batch renamed\"},"
+                        + "{\"op\":\"DELETE\",\"taskId\":" + tasks.get(5).getId() + "}]}"), 200);
+    }
+
+    private void perform(MockHttpServletRequestBuilder request, int status) throws Exception {
+        MvcResult result = mockMvc.perform(request.header("Authorization", "Bearer " + token)).andReturn();
+        assertThat(result.getResponse().getStatus()).isEqualTo(status);
+        assertThat(result.getResponse().getHeader("X-Query-Count")).isNotNull();
+    }
+}
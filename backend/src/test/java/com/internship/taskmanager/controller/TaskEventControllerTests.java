@@ -0,0 +1,95 @@
+package com.internship.taskmanager.controller;
+
+import com.internship.taskmanager.TestUsers;
+import com.internship.taskmanager.dto.ProjectRequest;
+import com.internship.taskmanager.dto.TaskRequest;
+import com.internship.taskmanager.dto.TaskResponse;
+import com.internship.taskmanager.model.User;
+import com.internship.taskmanager.security.JwtUtil;
+import com.internship.taskmanager.service.ProjectService;
+import com.internship.taskmanager.service.TaskEventBroadcaster;
+import com.internship.taskmanager.service.TaskService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.io.BufferedReader;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class TaskEventControllerTests {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private TestUsers testUsers;
+
+    @Autowired
+    private ProjectService projectService;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskEventBroadcaster taskEventBroadcaster;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Test
+    void committedTaskChangesArePushedToSubscribers() throws Exception {
+        User user = testUsers.save("events");
+        Long projectId = projectService.createProject(ProjectRequest.builder().title("Live").build(), user.getEmail())
+                .getId();
+
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/projects/" + projectId + "/events"))
+                .header("Authorization", "Bearer " + jwtUtil.generateToken(user.getEmail()))
+                .timeout(Duration.ofSeconds(10))
+                .build();
+        HttpResponse<InputStream> response = HttpClient.newHttpClient()
+                .send(request, HttpResponse.BodyHandlers.ofInputStream());
+        assertThat(response.statusCode()).isEqualTo(200);
+        assertThat(response.headers().firstValue("Content-Type")).hasValueSatisfying(
+                type -> assertThat(type).startsWith("text/event-stream"));
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(response.body(), StandardCharsets.UTF_8))) {
+            assertThat(reader.readLine()).isEqualTo(":connected");
+            assertThat(taskEventBroadcaster.getSubscriberCount()).isPositive();
+
+            TaskResponse task = taskService.createTask(projectId, TaskRequest.builder().title("Pushed").build(),
+                    user.getEmail());
+            taskService.markTaskAsCompleted(projectId, task.getId(), user.getEmail());
+
+            assertThat(nextEvent(reader)).contains("event:task-created", "\"title\":\"Pushed\"");
+            assertThat(nextEvent(reader)).contains("event:task-completed", "\"isCompleted\":true");
+        }
+    }
+
+    private static String nextEvent(BufferedReader reader) throws Exception {
+        StringBuilder event = new StringBuilder();
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (line.isEmpty()) {
+                if (!event.isEmpty()) {
+                    return event.toString();
+                }
+                continue;
+            }
+            if (!line.startsWith(":")) {
+                event.append(line).append('\n');
+            }
+        }
+        return event.toString();
+    }
+}
@@ -0,0 +1,185 @@
+package com.internship.taskmanager.repository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.lang.reflect.Method;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * EXPLAINs the repository queries against the migrated schema and checks each one is answered from
+ * indexes. The test tables are far too small for the planner to prefer an index on cost, so sequential
+ * scans are disabled: a seq scan then only appears when no index can serve the query at all. Which of
+ * several usable indexes wins is arbitrary at this size, so specific indexes are only asserted where
+ * no other could serve the query.
+ *
+ * <p>Native queries are read from their {@code @Query} annotations; derived and JPQL queries are
+ * written out as the SQL Hibernate generates for them.
+ */
+@SpringBootTest
+@Transactional
+class QueryPlanTests {
+
+    private final JsonMapper jsonMapper = JsonMapper.builder().build();
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    @BeforeEach
+    void disableSequentialScans() {
+        jdbcTemplate.execute("SET LOCAL enable_seqscan = off");
+    }
+
+    @Test
+    void projectListReadsTheOwnerIndex() {
+        // findByUserIdOrderByCreatedAtDesc, findSummariesByUserId, countTasksByUserId
+        assertThat(indexesUsed("SELECT * FROM projects WHERE user_id = :userId ORDER BY created_at DESC",
+                Map.of("userId", 1L))).contains("idx_projects_user_id");
+    }
+
+    @Test
+    void taskPagesReadTheCreatedAtKeysetIndex() {
+        // TaskService.getProjectTasks: TaskSpecifications.inProject + after, ordered by (createdAt, id)
+        assertThat(indexesUsed("""
+                SELECT * FROM tasks
+                WHERE project_id = :projectId
+                  AND (created_at > :createdAt OR (created_at = :createdAt AND id > :id))
+                ORDER BY created_at, id
+                LIMIT 21
+                """, Map.of("projectId", 1L, "createdAt", LocalDateTime.now(), "id", 1L)))
+                .containsExactly("idx_tasks_project_created_id");
+        // findByIdAndProjectId
+        assertThat(indexesUsed("SELECT * FROM tasks WHERE id = :id AND project_id = :projectId",
+                Map.of("id", 1L, "projectId", 1L))).isNotEmpty();
+        // TaskRepository.streamByUserId (export)
+        assertThat(indexesUsed("""
+                SELECT t.* FROM tasks t JOIN projects p ON p.id = t.project_id
+                WHERE p.user_id = :userId ORDER BY t.project_id, t.id
+                """, Map.of("userId", 1L))).contains("idx_projects_user_id");
+    }
+
+    @Test
+    void ownedTaskWritesReadIndexes() {
+        Map<String, Object> params = new HashMap<>();
+        params.put("projectId", 1L);
+        params.put("taskId", 1L);
+        params.put("email", "owner@example.com");
+        params.put("title", "Title");
+        params.put("description", "Description");
+        params.put("dueDate", LocalDate.now());
+        params.put("isCompleted", true);
+        params.put("now", LocalDateTime.now());
+        params.put("expectedVersion", 1L);
+
+        assertThat(indexesUsed(nativeQuery(TaskRepository.class, "updateOwnedTask"), params))
+                .contains("projects_pkey");
+        assertThat(indexesUsed(nativeQuery(TaskRepository.class, "deleteOwnedTask"), params))
+                .contains("projects_pkey");
+        assertThat(indexesUsed(nativeQuery(ProjectRepository.class, "adjustTaskCounters"),
+                Map.of("projectId", 1L, "totalDelta", 1, "completedDelta", 0))).containsExactly("projects_pkey");
+    }
+
+    @Test
+    void changeFeedReadsBothTimestampIndexes() {
+        assertThat(indexesUsed(nativeQuery(TaskRepository.class, "findChangesAfter"),
+                Map.of("projectId", 1L, "sinceAt", LocalDateTime.now(), "sinceId", 0L, "limit", 100)))
+                .contains("idx_tasks_project_updated_id", "idx_task_tombstones_project_deleted");
+    }
+
+    @Test
+    void dueDateQueriesReadThePartialIndexes() {
+        LocalDate today = LocalDate.now();
+        Map<String, Object> params = new HashMap<>();
+        params.put("userId", 1L);
+        params.put("from", today);
+        params.put("to", today.plusDays(7));
+        params.put("afterDate", today);
+        params.put("afterId", 1L);
+        params.put("limit", 21);
+        assertThat(indexesUsed(nativeQuery(TaskRepository.class, "findOpenDueTasks"), params))
+                .contains("idx_projects_user_id")
+                .containsAnyOf("idx_tasks_open_due", "idx_tasks_open_due_date");
+
+        assertThat(indexesUsed(nativeQuery(TaskRepository.class, "findOpenTasksDueBetween"),
+                Map.of("from", today, "to", today.plusDays(1)))).contains("idx_tasks_open_due_date");
+        assertThat(indexesUsed(nativeQuery(TaskRepository.class, "findOpenProjectTasksDueBetween"),
+                Map.of("projectId", 1L, "from", today, "to", today.plusDays(1))))
+                .containsAnyOf("idx_tasks_open_due", "idx_tasks_open_due_date");
+    }
+
+    @Test
+    void searchPlansReadTheirIndexes() {
+        Map<String, Object> params = new HashMap<>();
+        params.put("userId", 1L);
+        params.put("query", "deploy:*");
+        params.put("afterRank", 0.5f);
+        params.put("afterId", 1L);
+        params.put("limit", 21);
+        assertThat(indexesUsed(nativeQuery(TaskRepository.class, "searchIndexedTasks"), params))
+                .contains("idx_tasks_search_vector");
+        assertThat(indexesUsed(nativeQuery(TaskRepository.class, "searchOwnedTasks"), params))
+                .contains("idx_projects_user_id");
+    }
+
+    @Test
+    void counterReconciliationReadsKeyRanges() {
+        Map<String, Object> range = Map.of("fromId", 1L, "toId", 500L);
+        assertThat(indexesUsed(nativeQuery(ProjectRepository.class, "reconcileTaskCounters"), range))
+                .contains("projects_pkey");
+        assertThat(indexesUsed(nativeQuery(ProjectRepository.class, "lockIdRange"), range))
+                .containsExactly("projects_pkey");
+    }
+
+    /**
+     * @return the indexes the plan reads, failing if any table is read by a sequential scan
+     */
+    private List<String> indexesUsed(String sql, Map<String, ?> params) {
+        String json = namedParameterJdbcTemplate.queryForObject("EXPLAIN (FORMAT JSON) " + sql, params, String.class);
+        List<String> indexes = new ArrayList<>();
+        List<String> seqScans = new ArrayList<>();
+        collect(jsonMapper.readTree(json).get(0).get("Plan"), indexes, seqScans);
+        assertThat(seqScans).as("sequential scans in plan of %s", sql).isEmpty();
+        return indexes;
+    }
+
+    private static void collect(JsonNode node, List<String> indexes, List<String> seqScans) {
+        if (node.hasNonNull("Index Name")) {
+            indexes.add(node.get("Index Name").asString());
+        }
+        if ("Seq Scan".equals(node.get("Node Type").asString())) {
+            seqScans.add(node.get("Relation Name").asString());
+        }
+        if (node.has("Plans")) {
+            node.get("Plans").forEach(child -> collect(child, indexes, seqScans));
+        }
+    }
+
+    private static String nativeQuery(Class<?> repository, String methodName) {
+        Method method = Arrays.stream(repository.getMethods())
+                .filter(candidate -> candidate.getName().equals(methodName))
+                .findFirst()
+                .orElseThrow();
+        Query query = method.getAnnotation(Query.class);
+        assertThat(query.nativeQuery()).isTrue();
+        return query.value();
+    }
+}
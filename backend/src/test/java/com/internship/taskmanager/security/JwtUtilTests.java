@@ -0,0 +1,76 @@
+package com.internship.taskmanager.security;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Date;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JwtUtilTests {
+
+    private JwtUtil jwtUtil;
+
+    @BeforeEach
+    void setUp() {
+        jwtUtil = newJwtUtil("0123456789abcdef0123456789abcdef", 60_000L);
+    }
+
+    @Test
+    void parseAndValidateReturnsSubjectAndTimestamps() {
+        String token = jwtUtil.generateToken("user@example.com");
+
+        ParsedToken parsed = jwtUtil.parseAndValidate(token).orElseThrow();
+
+        assertThat(parsed.getSubject()).isEqualTo("user@example.com");
+        assertThat(parsed.getIssuedAt()).isNotNull();
+        assertThat(parsed.getExpiresAt()).isAfter(parsed.getIssuedAt());
+        assertThat(jwtUtil.parseAndValidate(token)).contains(parsed);
+        assertThat(jwtUtil.validateToken(token, "user@example.com")).isTrue();
+        assertThat(jwtUtil.validateToken(token, "other@example.com")).isFalse();
+    }
+
+    @Test
+    void parseAndValidateRejectsForeignAndMalformedTokens() {
+        JwtUtil other = newJwtUtil("fedcba9876543210fedcba9876543210", 60_000L);
+        String foreign = other.generateToken("user@example.com");
+
+        assertThat(jwtUtil.parseAndValidate(foreign)).isEmpty();
+        assertThat(jwtUtil.parseAndValidate("not-a-token")).isEmpty();
+    }
+
+    @Test
+    void parseAndValidateRejectsExpiredTokens() {
+        JwtUtil shortLived = newJwtUtil("0123456789abcdef0123456789abcdef", -1_000L);
+        String token = shortLived.generateToken("user@example.com");
+
+        assertThat(shortLived.parseAndValidate(token)).isEmpty();
+    }
+
+    @Test
+    void parseAndValidateRejectsSignedTokensWithoutExpiryOrSubject() {
+        SecretKey key = Keys.hmacShaKeyFor("0123456789abcdef0123456789abcdef".getBytes(StandardCharsets.UTF_8));
+        String withoutExpiry = Jwts.builder().subject("user@example.com").issuedAt(new Date()).signWith(key).compact();
+        String withoutSubject = Jwts.builder().expiration(new Date(System.currentTimeMillis() + 60_000L))
+                .signWith(key).compact();
+
+        assertThat(jwtUtil.parseAndValidate(withoutExpiry)).isEmpty();
+        assertThat(jwtUtil.parseAndValidate(withoutSubject)).isEmpty();
+    }
+
+    private static JwtUtil newJwtUtil(String secret, long expiration) {
+        JwtUtil util = new JwtUtil();
+        ReflectionTestUtils.setField(util, "secret", secret);
+        ReflectionTestUtils.setField(util, "expiration", expiration);
+        ReflectionTestUtils.setField(util, "verifiedCacheMaxSize", 100L);
+        ReflectionTestUtils.setField(util, "verifiedCacheTtl", Duration.ofSeconds(60));
+        util.init();
+        return util;
+    }
+}
@@ -0,0 +1,96 @@
+package com.internship.taskmanager.security;
+
+import com.internship.taskmanager.TestUsers;
+import com.internship.taskmanager.model.User;
+import com.internship.taskmanager.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Not transactional: eviction is tied to the commit of the transaction that changed the user.
+ */
+@SpringBootTest
+class PrincipalCacheTests {
+
+    @Autowired
+    private PrincipalCache principalCache;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TestUsers testUsers;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void countsHitsAndMissesAndNeverCachesUnknownEmails() {
+        User user = testUsers.save("principal", "Counted");
+        PrincipalCache cache = new PrincipalCache(userRepository, 100, Duration.ofMinutes(5));
+
+        assertThat(cache.get(user.getEmail())).hasValueSatisfying(found -> assertThat(found.getId()).isEqualTo(user.getId()));
+        assertThat(cache.get(user.getEmail())).isPresent();
+        assertThat(cache.get("missing-" + UUID.randomUUID() + "@example.com")).isEmpty();
+
+        assertThat(cache.hitCount()).isEqualTo(1);
+        assertThat(cache.missCount()).isEqualTo(2);
+        assertThat(cache.size()).isEqualTo(1);
+    }
+
+    @Test
+    void entriesExpireAfterTheTtl() throws InterruptedException {
+        User user = testUsers.save("principal", "Expiring");
+        PrincipalCache cache = new PrincipalCache(userRepository, 100, Duration.ofMillis(200));
+
+        cache.get(user.getEmail());
+        Thread.sleep(300);
+        cache.get(user.getEmail());
+
+        assertThat(cache.hitCount()).isZero();
+        assertThat(cache.missCount()).isEqualTo(2);
+    }
+
+    @Test
+    void evictsByEmailAndById() {
+        User first = testUsers.save("principal", "First");
+        User second = testUsers.save("principal", "Second");
+        PrincipalCache cache = new PrincipalCache(userRepository, 100, Duration.ofMinutes(5));
+        cache.get(first.getEmail());
+        cache.get(second.getEmail());
+
+        cache.evict(first.getEmail());
+        assertThat(cache.size()).isEqualTo(1);
+        cache.evictUser(second.getId());
+        assertThat(cache.size()).isZero();
+
+        cache.get(first.getEmail());
+        cache.invalidateAll();
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    void changedUserIsEvictedOnlyOnceTheChangeCommits() {
+        User user = testUsers.save("principal", "Renamed");
+        String oldEmail = user.getEmail();
+        principalCache.get(oldEmail);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            User changed = userRepository.findById(user.getId()).orElseThrow();
+            changed.setEmail("renamed-" + UUID.randomUUID() + "@example.com");
+            userRepository.saveAndFlush(changed);
+            // Another request meanwhile still sees the committed row; evicting now would let it cache that again
+            assertThat(CompletableFuture.supplyAsync(() -> principalCache.get(oldEmail)).join()).isPresent();
+        });
+
+        assertThat(principalCache.get(oldEmail)).isEmpty();
+    }
+}
@@ -0,0 +1,128 @@
+package com.internship.taskmanager.service;
+
+import com.internship.taskmanager.TestUsers;
+import com.internship.taskmanager.dto.ProjectRequest;
+import com.internship.taskmanager.model.User;
+import com.internship.taskmanager.security.PrincipalCache;
+import org.junit.jupiter.api.Test;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class ChangeNoticeBusTests {
+
+    private static final long TIMEOUT_MILLIS = 10_000;
+
+    @Autowired
+    private ChangeNoticeBus changeNoticeBus;
+
+    @Autowired
+    private ProjectService projectService;
+
+    @Autowired
+    private TestUsers testUsers;
+
+    @Autowired
+    private PrincipalCache principalCache;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${spring.datasource.url}")
+    private String url;
+
+    @Value("${spring.datasource.username}")
+    private String username;
+
+    @Value("${spring.datasource.password}")
+    private String password;
+
+    @Value("${app.cluster.notify.channel}")
+    private String channel;
+
+    @Test
+    void committedWritesAreAnnouncedToOtherNodes() throws Exception {
+        User user = testUsers.save("notify");
+        try (Connection otherNode = DriverManager.getConnection(url, username, password)) {
+            try (Statement statement = otherNode.createStatement()) {
+                statement.execute("LISTEN " + channel);
+            }
+
+            Long projectId = projectService.createProject(ProjectRequest.builder().title("Announced").build(),
+                    user.getEmail()).getId();
+
+            String expected = "\"projectId\":" + projectId;
+            List<String> payloads = new ArrayList<>();
+            long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+            while (payloads.stream().noneMatch(payload -> payload.contains(expected))
+                    && System.currentTimeMillis() < deadline) {
+                PGNotification[] notifications = otherNode.unwrap(PGConnection.class).getNotifications(500);
+                if (notifications != null) {
+                    for (PGNotification notification : notifications) {
+                        payloads.add(notification.getParameter());
+                    }
+                }
+            }
+            assertThat(payloads).anySatisfy(payload -> assertThat(payload)
+                    .contains("\"origin\":\"" + changeNoticeBus.getNodeId() + "\"", "\"kind\":\"PROJECT\"",
+                            "\"action\":\"CREATED\"", expected));
+        }
+    }
+
+    @Test
+    void noticesFromOtherNodesEvictLocalState() throws Exception {
+        User user = testUsers.save("notify");
+        principalCache.get(user.getEmail());
+
+        jdbcTemplate.queryForList("select pg_notify(?, ?)", channel,
+                "{\"origin\":\"other-node\",\"notices\":[{\"kind\":\"USER\",\"action\":\"UPDATED\",\"id\":"
+                        + user.getId() + "}]}");
+
+        assertThat(awaitEviction(user.getEmail())).isTrue();
+    }
+
+    @Test
+    void listenerReconnectsAndInvalidatesEverything() throws Exception {
+        User user = testUsers.save("notify");
+        principalCache.get(user.getEmail());
+        long reconnects = changeNoticeBus.getReconnectCount();
+
+        jdbcTemplate.queryForList("select pg_terminate_backend(pid) from pg_stat_activity where application_name = ?",
+                ChangeNoticeBus.LISTENER_APPLICATION_NAME);
+
+        long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+        while (changeNoticeBus.getReconnectCount() == reconnects && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+        assertThat(changeNoticeBus.getReconnectCount()).isGreaterThan(reconnects);
+        assertThat(awaitEviction(user.getEmail())).isTrue();
+    }
+
+    /**
+     * Reads the principal until a lookup misses the cache, which only happens once it was evicted.
+     */
+    private boolean awaitEviction(String email) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+        while (System.currentTimeMillis() < deadline) {
+            long misses = principalCache.missCount();
+            principalCache.get(email);
+            if (principalCache.missCount() > misses) {
+                return true;
+            }
+            Thread.sleep(50);
+        }
+        return false;
+    }
+}
@@ -0,0 +1,69 @@
+package com.internship.taskmanager.service;
+
+import com.internship.taskmanager.TestUsers;
+import com.internship.taskmanager.model.Project;
+import com.internship.taskmanager.model.Task;
+import com.internship.taskmanager.model.User;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Transactional
+class ExportServiceTests {
+
+    @Autowired
+    private ExportService exportService;
+
+    @Autowired
+    private TestUsers testUsers;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    void exportWritesEachProjectFollowedByItsTasks() throws Exception {
+        User user = testUsers.save("export");
+        Project first = persistProject(user, "First", 2);
+        persistProject(user, "Empty", 0);
+        Project third = persistProject(user, "Third", 1);
+        entityManager.flush();
+        entityManager.clear();
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exportService.exportUserData(user.getId(), out);
+
+        List<String> lines = out.toString(StandardCharsets.UTF_8).lines().toList();
+        assertThat(lines).hasSize(6);
+        assertThat(lines.get(0)).contains("\"type\":\"project\"", "\"title\":\"First\"");
+        assertThat(lines.get(1)).contains("\"type\":\"task\"", "\"projectId\":" + first.getId());
+        assertThat(lines.get(2)).contains("\"type\":\"task\"", "\"projectId\":" + first.getId());
+        assertThat(lines.get(3)).contains("\"type\":\"project\"", "\"title\":\"Empty\"");
+        assertThat(lines.get(4)).contains("\"type\":\"project\"", "\"title\":\"Third\"");
+        assertThat(lines.get(5)).contains("\"type\":\"task\"", "\"projectId\":" + third.getId());
+    }
+
+    private Project persistProject(User user, String title, int taskCount) {
+        Project project = Project.builder()
+                .title(title)
+                .user(user)
+                .build();
+        for (int i = 0; i < taskCount; i++) {
+            project.getTasks().add(Task.builder()
+                    .title(title + " task " + i)
+                    .isCompleted(false)
+                    .project(project)
+                    .build());
+        }
+        entityManager.persist(project);
+        return project;
+    }
+}
@@ -0,0 +1,56 @@
+package com.internship.taskmanager.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HashedTimingWheelTests {
+
+    @Test
+    void firesTimersOnTheirTickAndKeepsLaterRotationsWaiting() {
+        HashedTimingWheel<String, String> wheel = new HashedTimingWheel<>(Duration.ofMillis(100), 4, 0);
+        wheel.schedule("soon", 50, "soon");
+        wheel.schedule("later", 250, "later");
+        // Hashes to the same bucket as "later", two rotations on
+        wheel.schedule("next-rotation", 1050, "next-rotation");
+
+        assertThat(wheel.advance(99)).isEmpty();
+        assertThat(wheel.advance(100)).containsExactly("soon");
+        assertThat(wheel.advance(299)).isEmpty();
+        assertThat(wheel.advance(300)).containsExactly("later");
+        assertThat(wheel.advance(1099)).isEmpty();
+        assertThat(wheel.advance(1100)).containsExactly("next-rotation");
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    void reschedulingReplacesAndCancellingRemoves() {
+        HashedTimingWheel<Long, String> wheel = new HashedTimingWheel<>(Duration.ofMillis(100), 8, 0);
+        wheel.schedule(1L, 200, "first");
+        wheel.schedule(1L, 500, "moved");
+        wheel.schedule(2L, 300, "cancelled");
+        wheel.schedule(3L, 300, "odd");
+        wheel.schedule(4L, 300, "even");
+
+        assertThat(wheel.cancel(2L)).isTrue();
+        assertThat(wheel.cancel(2L)).isFalse();
+        assertThat(wheel.cancelIf("odd"::equals)).isEqualTo(1);
+        assertThat(wheel.advance(400)).containsExactly("even");
+        assertThat(wheel.contains(1L)).isTrue();
+        assertThat(wheel.advance(500)).containsExactly("moved");
+    }
+
+    @Test
+    void catchesUpAfterGapsAndFiresOverdueTimersOnTheNextTick() {
+        HashedTimingWheel<Integer, Integer> wheel = new HashedTimingWheel<>(Duration.ofMillis(10), 16, 1_000);
+        for (int i = 0; i < 100; i++) {
+            wheel.schedule(i, 1_000 + i * 25L, i);
+        }
+
+        assertThat(wheel.advance(10_000)).hasSize(100);
+        wheel.schedule(-1, 500, -1);
+        assertThat(wheel.advance(10_010)).containsExactly(-1);
+    }
+}
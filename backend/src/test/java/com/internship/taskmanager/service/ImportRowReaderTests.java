@@ -0,0 +1,57 @@
+package com.internship.taskmanager.service;
+
+import org.junit.jupiter.api.Test;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.BufferedReader;
+import java.io.StringReader;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ImportRowReaderTests {
+
+    @Test
+    void csvReaderHandlesQuotedFieldsAndReportsBadRows() throws Exception {
+        String csv = "type,id,projectId,title,description,dueDate,isCompleted\r\n"
+                + "project,1,,\"Launch, phase 1\",\"two\nlines\",,\r\n"
+                + "task,,1,\"Say \"\"hi\"\"\",,2026-12-01,true\r\n"
+                + "task,,1,too,few\r\n"
+                + "task,,x,bad id,,,\r\n";
+        ImportRowReader reader = ImportRowReader.csv(new BufferedReader(new StringReader(csv)));
+
+        ImportRow project = reader.next();
+        assertThat(project.number).isEqualTo(1);
+        assertThat(project.record.getType()).isEqualTo("project");
+        assertThat(project.record.getId()).isEqualTo(1L);
+        assertThat(project.record.getTitle()).isEqualTo("Launch, phase 1");
+        assertThat(project.record.getDescription()).isEqualTo("two\nlines");
+
+        ImportRow task = reader.next();
+        assertThat(task.record.getTitle()).isEqualTo("Say \"hi\"");
+        assertThat(task.record.getProjectId()).isEqualTo(1L);
+        assertThat(task.record.getDueDate()).isEqualTo(LocalDate.of(2026, 12, 1));
+        assertThat(task.record.getIsCompleted()).isTrue();
+
+        assertThat(reader.next().parseError).contains("Expected 7 columns");
+        ImportRow badId = reader.next();
+        assertThat(badId.number).isEqualTo(4);
+        assertThat(badId.parseError).startsWith("Malformed value");
+        assertThat(reader.next()).isNull();
+    }
+
+    @Test
+    void ndjsonReaderSkipsBlankLinesAndKeepsGoingAfterMalformedOnes() throws Exception {
+        String ndjson = "{\"type\":\"project\",\"id\":3,\"title\":\"P\"}\n\n{oops\n{\"type\":\"task\",\"projectId\":3,\"title\":\"T\"}\n";
+        ImportRowReader reader = ImportRowReader.ndjson(new BufferedReader(new StringReader(ndjson)), JsonMapper.builder().build());
+
+        assertThat(reader.next().record.getTitle()).isEqualTo("P");
+        ImportRow malformed = reader.next();
+        assertThat(malformed.number).isEqualTo(2);
+        assertThat(malformed.parseError).startsWith("Malformed JSON");
+        ImportRow task = reader.next();
+        assertThat(task.number).isEqualTo(3);
+        assertThat(task.record.getProjectId()).isEqualTo(3L);
+        assertThat(reader.next()).isNull();
+    }
+}
@@ -0,0 +1,212 @@
+package com.internship.taskmanager.service;
+
+import com.internship.taskmanager.TestUsers;
+import com.internship.taskmanager.dto.ImportJobResponse;
+import com.internship.taskmanager.dto.ProjectRequest;
+import com.internship.taskmanager.exception.BadRequestException;
+import com.internship.taskmanager.model.ImportJob;
+import com.internship.taskmanager.model.ImportProjectRef;
+import com.internship.taskmanager.model.User;
+import com.internship.taskmanager.repository.ImportProjectRefRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Not transactional: every batch commits on its own, which is what resuming relies on.
+ */
+@SpringBootTest
+class ImportServiceTests {
+
+    private static final long SOURCE_PROJECT_ID = 900_001L;
+    private static final int ROWS = 1100;
+    // Within the third batch of the default 500 rows
+    private static final int INTERRUPTED_AT_ROW = 1050;
+
+    @Autowired
+    private ImportService importService;
+
+    @Autowired
+    private ProjectService projectService;
+
+    @Autowired
+    private TestUsers testUsers;
+
+    @Autowired
+    private ImportProjectRefRepository importProjectRefRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void interruptedImportResumesAfterTheLastCommittedBatch() {
+        User importer = testUsers.save("import-importer");
+        User other = testUsers.save("import-other");
+        Long existingId = projectService.createProject(ProjectRequest.builder().title("Existing").build(),
+                importer.getEmail()).getId();
+        Long foreignId = projectService.createProject(ProjectRequest.builder().title("Foreign").build(),
+                other.getEmail()).getId();
+
+        List<String> lines = new ArrayList<>();
+        lines.add("{\"type\":\"project\",\"id\":" + SOURCE_PROJECT_ID + ",\"title\":\"Imported\"}");
+        lines.add(task(SOURCE_PROJECT_ID, "Task 2"));
+        lines.add("{not json");
+        lines.add(task(existingId, "Into existing"));
+        lines.add(task(foreignId, "Into someone else's"));
+        lines.add(task(SOURCE_PROJECT_ID, ""));
+        for (int row = 7; row <= ROWS; row++) {
+            lines.add(task(SOURCE_PROJECT_ID, "Task " + row));
+        }
+        byte[] input = (String.join("\n", lines) + "\n").getBytes(StandardCharsets.UTF_8);
+
+        ImportJobResponse interrupted = importService.importData(
+                failingAfter(input, offsetOfRow(lines, INTERRUPTED_AT_ROW)), ImportJob.Format.NDJSON, null,
+                importer.getEmail());
+        assertThat(interrupted.getStatus()).isEqualTo("FAILED");
+        assertThat(interrupted.getRowsCommitted()).isEqualTo(1000);
+        assertThat(interrupted.getTasksCreated()).isEqualTo(1000 - 1 - 3);
+
+        ImportJobResponse resumed = importService.importData(new ByteArrayInputStream(input),
+                ImportJob.Format.NDJSON, interrupted.getId(), importer.getEmail());
+        assertThat(resumed.getStatus()).isEqualTo("COMPLETED");
+        assertThat(resumed.getRowsCommitted()).isEqualTo(ROWS);
+        assertThat(resumed.getProjectsCreated()).isEqualTo(1);
+        assertThat(resumed.getRowsFailed()).isEqualTo(3);
+        assertThat(resumed.getTasksCreated()).isEqualTo(ROWS - 1 - 3);
+        // Recorded once, although the first batch was read twice
+        assertThat(resumed.getErrors()).extracting(ImportJobResponse.RowError::getRow).containsExactly(3L, 5L, 6L);
+        assertThat(resumed.getErrors().get(1).getMessage()).isEqualTo("Project not found with id: '" + foreignId + "'");
+        assertThat(resumed.getErrors().get(2).getMessage()).startsWith("title: ");
+
+        // Tasks after the interruption still resolve the project created by the first run
+        Long importedId = importProjectRefRepository.findByJobId(resumed.getId()).stream()
+                .map(ImportProjectRef::getProjectId)
+                .findFirst()
+                .orElseThrow();
+        Map<String, Object> imported = jdbcTemplate.queryForMap(
+                "SELECT count(*) AS tasks, count(DISTINCT title) AS titles FROM tasks WHERE project_id = ?", importedId);
+        assertThat(imported).containsEntry("tasks", (long) ROWS - 5).containsEntry("titles", (long) ROWS - 5);
+        assertThat(jdbcTemplate.queryForObject("SELECT total_tasks FROM projects WHERE id = ?", Integer.class,
+                importedId)).isEqualTo(ROWS - 5);
+        assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM tasks WHERE project_id = ?", Long.class,
+                existingId)).isEqualTo(1);
+        assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM tasks WHERE project_id = ?", Long.class,
+                foreignId)).isZero();
+    }
+
+    @Test
+    void jobIsImportedOnceWhenResumedWhileItsRequestIsStillRunning() throws Exception {
+        User importer = testUsers.save("import-concurrent");
+        List<String> lines = new ArrayList<>();
+        lines.add("{\"type\":\"project\",\"id\":" + SOURCE_PROJECT_ID + ",\"title\":\"Imported\"}");
+        for (int row = 2; row <= ROWS; row++) {
+            lines.add(task(SOURCE_PROJECT_ID, "Task " + row));
+        }
+        byte[] input = (String.join("\n", lines) + "\n").getBytes(StandardCharsets.UTF_8);
+
+        // The first request commits its first batch, then its upload stalls
+        CountDownLatch stalled = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<ImportJobResponse> first = CompletableFuture.supplyAsync(() -> importService.importData(
+                stallingAt(input, offsetOfRow(lines, 600), stalled, release), ImportJob.Format.NDJSON, null,
+                importer.getEmail()));
+        assertThat(stalled.await(10, TimeUnit.SECONDS)).isTrue();
+        Long jobId = jdbcTemplate.queryForObject("SELECT id FROM import_jobs WHERE user_id = ?", Long.class,
+                importer.getId());
+
+        assertThatThrownBy(() -> importService.importData(new ByteArrayInputStream(input), ImportJob.Format.NDJSON,
+                jobId, importer.getEmail()))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessageContaining("still running");
+
+        // Once the lease has run out the job is taken over, and the stalled request may no longer write
+        jdbcTemplate.update("UPDATE import_jobs SET heartbeat_at = heartbeat_at - interval '1 hour' WHERE id = ?", jobId);
+        ImportJobResponse resumed = importService.importData(new ByteArrayInputStream(input), ImportJob.Format.NDJSON,
+                jobId, importer.getEmail());
+        assertThat(resumed.getStatus()).isEqualTo("COMPLETED");
+        assertThat(resumed.getRowsCommitted()).isEqualTo(ROWS);
+
+        release.countDown();
+        first.get(10, TimeUnit.SECONDS);
+        ImportJobResponse finished = importService.getJob(jobId, importer.getEmail());
+        assertThat(finished.getStatus()).isEqualTo("COMPLETED");
+        assertThat(finished.getTasksCreated()).isEqualTo(ROWS - 1);
+
+        Long importedId = importProjectRefRepository.findByJobId(jobId).get(0).getProjectId();
+        Map<String, Object> imported = jdbcTemplate.queryForMap(
+                "SELECT count(*) AS tasks, count(DISTINCT title) AS titles FROM tasks WHERE project_id = ?", importedId);
+        assertThat(imported).containsEntry("tasks", (long) ROWS - 1).containsEntry("titles", (long) ROWS - 1);
+    }
+
+    private static String task(Long projectId, String title) {
+        return "{\"type\":\"task\",\"projectId\":" + projectId + ",\"title\":\"" + title + "\"}";
+    }
+
+    private static int offsetOfRow(List<String> lines, int row) {
+        int offset = 0;
+        for (int i = 0; i < row - 1; i++) {
+            offset += lines.get(i).getBytes(StandardCharsets.UTF_8).length + 1;
+        }
+        return offset;
+    }
+
+    /**
+     * Serves the first {@code limit} bytes, then fails like a dropped upload connection.
+     */
+    private static InputStream failingAfter(byte[] input, int limit) {
+        return new FilterInputStream(new ByteArrayInputStream(input, 0, limit)) {
+            @Override
+            public int read(byte[] buffer, int offset, int length) throws IOException {
+                int read = super.read(buffer, offset, length);
+                if (read < 0) {
+                    throw new IOException("Connection reset");
+                }
+                return read;
+            }
+        };
+    }
+
+    /**
+     * Serves the first {@code limit} bytes, then blocks like an upload that stalled until released.
+     */
+    private static InputStream stallingAt(byte[] input, int limit, CountDownLatch stalled, CountDownLatch release) {
+        return new FilterInputStream(new ByteArrayInputStream(input)) {
+            private int position;
+
+            @Override
+            public int read(byte[] buffer, int offset, int length) throws IOException {
+                if (position == limit) {
+                    stalled.countDown();
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new IOException(e);
+                    }
+                }
+                int allowed = position < limit ? Math.min(length, limit - position) : length;
+                int read = super.read(buffer, offset, allowed);
+                if (read > 0) {
+                    position += read;
+                }
+                return read;
+            }
+        };
+    }
+}
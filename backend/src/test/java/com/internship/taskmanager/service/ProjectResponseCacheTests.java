@@ -0,0 +1,101 @@
+package com.internship.taskmanager.service;
+
+import com.internship.taskmanager.TestUsers;
+import com.internship.taskmanager.dto.ProjectRequest;
+import com.internship.taskmanager.dto.TaskRequest;
+import com.internship.taskmanager.dto.TaskResponse;
+import com.internship.taskmanager.model.User;
+import com.internship.taskmanager.service.ProjectResponseCache.SerializedResponse;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class ProjectResponseCacheTests {
+
+    @Autowired
+    private ProjectResponseCache projectResponseCache;
+
+    @Autowired
+    private ProjectService projectService;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TestUsers testUsers;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private User user;
+    private Long projectId;
+    private TaskResponse task;
+
+    @BeforeEach
+    void setUp() {
+        user = testUsers.save("cache");
+        projectId = projectService.createProject(ProjectRequest.builder().title("Cached").build(), user.getEmail())
+                .getId();
+        task = taskService.createTask(projectId, TaskRequest.builder()
+                .title("Cached task")
+                .description("x".repeat(1000))
+                .build(), user.getEmail());
+    }
+
+    @Test
+    void hitsAreServedWithoutQueriesAndWritesEvict() throws Exception {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        SerializedResponse loaded = projectResponseCache.loadProject(projectId, user.getEmail());
+        assertThat(loaded.getETag()).isEqualTo(projectService.getProjectETag(projectId, user.getEmail()));
+        assertThat(new String(loaded.getJson(), StandardCharsets.UTF_8)).contains("\"title\":\"Cached task\"");
+        assertThat(loaded.getGzip()).isNotNull();
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(loaded.getGzip()))) {
+            assertThat(gzip.readAllBytes()).isEqualTo(loaded.getJson());
+        }
+
+        statistics.clear();
+        assertThat(projectResponseCache.getCachedProject(projectId, user.getEmail())).containsSame(loaded);
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+
+        taskService.markTaskAsCompleted(projectId, task.getId(), user.getEmail());
+
+        assertThat(projectResponseCache.getCachedProject(projectId, user.getEmail())).isEmpty();
+        assertThat(new String(projectResponseCache.loadProject(projectId, user.getEmail()).getJson(),
+                StandardCharsets.UTF_8)).contains("\"isCompleted\":true");
+    }
+
+    @Test
+    void projectListIsEvictedByTaskWritesInItsProjects() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        SerializedResponse list = projectResponseCache.getUserProjects(user.getEmail());
+        assertThat(new String(list.getJson(), StandardCharsets.UTF_8)).contains("\"completedTasks\":0");
+
+        statistics.clear();
+        assertThat(projectResponseCache.getUserProjects(user.getEmail())).isSameAs(list);
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+
+        taskService.markTaskAsCompleted(projectId, task.getId(), user.getEmail());
+
+        assertThat(new String(projectResponseCache.getUserProjects(user.getEmail()).getJson(), StandardCharsets.UTF_8))
+                .contains("\"completedTasks\":1");
+    }
+
+    @Test
+    void cachedProjectIsOnlyServedToItsOwner() {
+        projectResponseCache.loadProject(projectId, user.getEmail());
+        User stranger = testUsers.save("stranger");
+
+        assertThat(projectResponseCache.getCachedProject(projectId, stranger.getEmail())).isEmpty();
+    }
+}
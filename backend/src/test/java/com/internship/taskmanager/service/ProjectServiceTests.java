@@ -0,0 +1,100 @@
+package com.internship.taskmanager.service;
+
+import com.internship.taskmanager.TestUsers;
+import com.internship.taskmanager.dto.ProjectResponse;
+import com.internship.taskmanager.model.Project;
+import com.internship.taskmanager.model.Task;
+import com.internship.taskmanager.model.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Transactional
+class ProjectServiceTests {
+
+    @Autowired
+    private ProjectService projectService;
+
+    @Autowired
+    private TestUsers testUsers;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void getUserProjectsUsesConstantStatementCount() {
+        User user = testUsers.save("projects");
+        for (int i = 0; i < 5; i++) {
+            createProject(user, "Project " + i, 4, i % 3);
+        }
+        createProject(user, "Empty project", 0, 0);
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics.clear();
+        projectService.getUserProjects(user.getEmail());
+        // cold principal cache: one user lookup plus one summary query
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+
+        statistics.clear();
+        List<ProjectResponse> projects = projectService.getUserProjects(user.getEmail());
+
+        // warm principal cache: only the summary query, regardless of project or task count
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getCollectionFetchCount()).isZero();
+
+        assertThat(projects).hasSize(6);
+        ProjectResponse empty = projects.stream()
+                .filter(p -> p.getTitle().equals("Empty project"))
+                .findFirst()
+                .orElseThrow();
+        assertThat(empty.getTotalTasks()).isZero();
+        assertThat(empty.getProgressPercentage()).isEqualTo(0.0);
+
+        ProjectResponse partial = projects.stream()
+                .filter(p -> p.getTitle().equals("Project 2"))
+                .findFirst()
+                .orElseThrow();
+        assertThat(partial.getTotalTasks()).isEqualTo(4);
+        assertThat(partial.getCompletedTasks()).isEqualTo(2);
+        assertThat(partial.getProgressPercentage()).isEqualTo(50.0);
+    }
+
+    private void createProject(User user, String title, int taskCount, int completedCount) {
+        Project project = Project.builder()
+                .title(title)
+                .user(user)
+                .totalTasks(taskCount)
+                .completedTasks(completedCount)
+                .build();
+        for (int i = 0; i < taskCount; i++) {
+            project.getTasks().add(Task.builder()
+                    .title(title + " task " + i)
+                    .isCompleted(i < completedCount)
+                    .project(project)
+                    .build());
+        }
+        entityManager.persist(project);
+    }
+}
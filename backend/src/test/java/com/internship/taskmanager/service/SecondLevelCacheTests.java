@@ -0,0 +1,103 @@
+package com.internship.taskmanager.service;
+
+import com.internship.taskmanager.TestUsers;
+import com.internship.taskmanager.dto.ProjectRequest;
+import com.internship.taskmanager.dto.TaskRequest;
+import com.internship.taskmanager.dto.TaskResponse;
+import com.internship.taskmanager.model.Project;
+import com.internship.taskmanager.model.User;
+import com.internship.taskmanager.repository.ProjectRepository;
+import com.internship.taskmanager.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Other test contexts share the cache regions and would evict this test's entries on its change notices
+@SpringBootTest(properties = "app.cluster.notify.enabled=false")
+class SecondLevelCacheTests {
+
+    @Autowired
+    private ProjectService projectService;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TestUsers testUsers;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Statistics statistics;
+    private User user;
+    private Long projectId;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        user = testUsers.save("l2");
+        projectId = projectService.createProject(ProjectRequest.builder().title("Cached").build(), user.getEmail())
+                .getId();
+    }
+
+    @Test
+    void repeatedLookupsAreServedFromTheCache() {
+        entityManagerFactory.getCache().evictAll();
+
+        statistics.clear();
+        assertThat(userRepository.findByEmail(user.getEmail())).isPresent();
+        assertThat(projectRepository.findByIdAndUserId(projectId, user.getId())).isPresent();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+
+        statistics.clear();
+        assertThat(userRepository.findByEmail(user.getEmail())).get().extracting(User::getId).isEqualTo(user.getId());
+        assertThat(projectRepository.findByIdAndUserId(projectId, user.getId())).isPresent();
+        assertThat(projectRepository.findByIdAndUserId(projectId, -1L)).isEmpty();
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+        assertThat(statistics.getNaturalIdCacheHitCount()).isEqualTo(1);
+        assertThat(statistics.getSecondLevelCacheHitCount()).isGreaterThanOrEqualTo(3);
+    }
+
+    @Test
+    void taskWritesEvictCountersAndTaskIds() {
+        TaskResponse first = taskService.createTask(projectId, TaskRequest.builder().title("First").build(),
+                user.getEmail());
+        assertProject(1, 0, 1);
+
+        TaskResponse second = taskService.createTask(projectId, TaskRequest.builder().title("Second").build(),
+                user.getEmail());
+        taskService.markTaskAsCompleted(projectId, first.getId(), user.getEmail());
+        assertProject(2, 1, 2);
+
+        taskService.deleteTask(projectId, second.getId(), user.getEmail());
+        assertProject(1, 1, 1);
+    }
+
+    private void assertProject(int total, int completed, int tasks) {
+        // Loaded twice so the second read comes from the cache the writes should have evicted
+        for (int i = 0; i < 2; i++) {
+            transactionTemplate.executeWithoutResult(status -> {
+                Project project = projectRepository.findById(projectId).orElseThrow();
+                assertThat(project.getTotalTasks()).isEqualTo(total);
+                assertThat(project.getCompletedTasks()).isEqualTo(completed);
+                assertThat(project.getTasks()).hasSize(tasks);
+            });
+        }
+    }
+}
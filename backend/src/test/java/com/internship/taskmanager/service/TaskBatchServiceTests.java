@@ -0,0 +1,141 @@
+package com.internship.taskmanager.service;
+
+import com.internship.taskmanager.TestUsers;
+import com.internship.taskmanager.dto.TaskBatchItemResult;
+import com.internship.taskmanager.dto.TaskBatchOperation;
+import com.internship.taskmanager.dto.TaskBatchRequest;
+import com.internship.taskmanager.dto.TaskBatchResponse;
+import com.internship.taskmanager.model.Project;
+import com.internship.taskmanager.model.Task;
+import com.internship.taskmanager.model.User;
+import com.internship.taskmanager.repository.TaskRepository;
+import com.internship.taskmanager.security.PrincipalCache;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Transactional
+class TaskBatchServiceTests {
+
+    @Autowired
+    private TaskBatchService taskBatchService;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TestUsers testUsers;
+
+    @Autowired
+    private PrincipalCache principalCache;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private User user;
+    private Project project;
+
+    @BeforeEach
+    void setUp() {
+        user = testUsers.save("batch");
+        project = Project.builder()
+                .title("Batch project")
+                .user(user)
+                .build();
+        entityManager.persist(project);
+        entityManager.flush();
+    }
+
+    @Test
+    void applyBatchReportsPerItemResults() {
+        Task existing = persistTask("Existing");
+        Task doomed = persistTask("Doomed");
+
+        TaskBatchResponse response = taskBatchService.applyBatch(project.getId(), batch(
+                TaskBatchOperation.builder().op(TaskBatchOperation.Type.CREATE).title("New task").build(),
+                TaskBatchOperation.builder().op(TaskBatchOperation.Type.CREATE).title(" ").build(),
+                TaskBatchOperation.builder().op(TaskBatchOperation.Type.UPDATE).taskId(existing.getId()).title("Renamed").build(),
+                TaskBatchOperation.builder().op(TaskBatchOperation.Type.COMPLETE).taskId(existing.getId()).build(),
+                TaskBatchOperation.builder().op(TaskBatchOperation.Type.DELETE).taskId(doomed.getId()).build(),
+                TaskBatchOperation.builder().op(TaskBatchOperation.Type.COMPLETE).taskId(doomed.getId()).build(),
+                TaskBatchOperation.builder().op(TaskBatchOperation.Type.DELETE).build()
+        ), user.getEmail());
+
+        assertThat(response.getResults()).extracting(TaskBatchItemResult::getStatus).containsExactly(
+                TaskBatchItemResult.Status.OK,
+                TaskBatchItemResult.Status.INVALID,
+                TaskBatchItemResult.Status.OK,
+                TaskBatchItemResult.Status.OK,
+                TaskBatchItemResult.Status.OK,
+                TaskBatchItemResult.Status.NOT_FOUND,
+                TaskBatchItemResult.Status.INVALID);
+        assertThat(response.getSucceeded()).isEqualTo(4);
+        assertThat(response.getFailed()).isEqualTo(3);
+        assertThat(response.getResults().get(0).getTaskId()).isNotNull();
+        assertThat(response.getResults().get(3).getTask().getTitle()).isEqualTo("Renamed");
+        assertThat(response.getResults().get(3).getTask().getIsCompleted()).isTrue();
+
+        entityManager.clear();
+        assertThat(taskRepository.findById(doomed.getId())).isEmpty();
+        assertThat(taskRepository.findByProjectIdOrderByCreatedAtAsc(project.getId()))
+                .extracting(Task::getTitle)
+                .containsExactlyInAnyOrder("Renamed", "New task");
+    }
+
+    @Test
+    void applyBatchInsertsInJdbcBatches() {
+        principalCache.get(user.getEmail());
+        List<TaskBatchOperation> operations = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            operations.add(TaskBatchOperation.builder()
+                    .op(TaskBatchOperation.Type.CREATE)
+                    .title("Imported " + i)
+                    .build());
+        }
+        entityManager.clear();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        TaskBatchResponse response = taskBatchService.applyBatch(project.getId(),
+                TaskBatchRequest.builder().operations(operations).build(), user.getEmail());
+
+        assertThat(response.getSucceeded()).isEqualTo(40);
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(40);
+        // project lookup, at most one pooled sequence fetch, a single batched insert statement
+        // and one counter update for the whole batch
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(4);
+
+        entityManager.clear();
+        assertThat(entityManager.find(Project.class, project.getId()).getTotalTasks()).isEqualTo(40);
+    }
+
+    private Task persistTask(String title) {
+        Task task = Task.builder()
+                .title(title)
+                .isCompleted(false)
+                .project(project)
+                .build();
+        entityManager.persist(task);
+        entityManager.flush();
+        return task;
+    }
+
+    private static TaskBatchRequest batch(TaskBatchOperation... operations) {
+        return TaskBatchRequest.builder().operations(List.of(operations)).build();
+    }
+}
@@ -0,0 +1,227 @@
+package com.internship.taskmanager.service;
+
+import com.internship.taskmanager.dto.TaskResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Drives the broadcaster with emitters that stand in for clients: ones that stop reading, ones that
+ * went away and ones that keep up.
+ */
+class TaskEventBroadcasterTests {
+
+    private static final long PROJECT_ID = 1L;
+    private static final long TIMEOUT_MILLIS = 5000;
+
+    private final Deque<ClientEmitter> clients = new ArrayDeque<>();
+    private final List<ClientEmitter> stalled = new CopyOnWriteArrayList<>();
+    private TaskEventBroadcaster broadcaster;
+
+    @AfterEach
+    void releaseStalledClients() {
+        stalled.forEach(client -> client.release.countDown());
+        broadcaster.shutdown();
+    }
+
+    @Test
+    void overflowDropsTheOldestEventsAndAsksForAResync() throws Exception {
+        broadcaster = broadcaster(3, "drop-oldest", 10, Duration.ofMinutes(1));
+        ClientEmitter client = stalledClient();
+        broadcaster.subscribe(PROJECT_ID);
+        // The writer is blocked on the connect comment, so events pile up in the queue
+        assertThat(client.entered.await(TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)).isTrue();
+
+        for (long id = 1; id <= 5; id++) {
+            broadcaster.broadcast(event(id));
+        }
+        assertThat(broadcaster.getDroppedEventCount()).isEqualTo(2);
+        client.release.countDown();
+
+        await(() -> client.sent.size() == 5);
+        assertThat(client.sent.get(0)).contains(":connected");
+        assertThat(client.sent.get(1)).contains("event:resync");
+        assertThat(client.sent.subList(2, 5)).satisfiesExactly(
+                message -> assertThat(message).contains("\"title\":\"Task 3\""),
+                message -> assertThat(message).contains("\"title\":\"Task 4\""),
+                message -> assertThat(message).contains("\"title\":\"Task 5\""));
+    }
+
+    @Test
+    void disconnectPolicyClosesClientsThatFallBehind() throws Exception {
+        broadcaster = broadcaster(2, "disconnect", 10, Duration.ofMinutes(1));
+        ClientEmitter client = stalledClient();
+        broadcaster.subscribe(PROJECT_ID);
+        assertThat(client.entered.await(TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)).isTrue();
+
+        for (long id = 1; id <= 3; id++) {
+            broadcaster.broadcast(event(id));
+        }
+
+        assertThat(broadcaster.getSubscriberCount()).isZero();
+        client.release.countDown();
+        await(() -> client.completed);
+    }
+
+    @Test
+    void subscriberCapRejectsUntilAClientGoesAway() throws Exception {
+        broadcaster = broadcaster(8, "drop-oldest", 1, Duration.ofMinutes(1));
+        ClientEmitter gone = new ClientEmitter(true, true);
+        clients.add(gone);
+        stalled.add(gone);
+        assertThat(broadcaster.subscribe(PROJECT_ID)).isSameAs(gone);
+        assertThat(broadcaster.subscribe(PROJECT_ID)).isNull();
+
+        // The first write hits the closed connection and frees the slot
+        gone.release.countDown();
+        await(() -> broadcaster.getSubscriberCount() == 0);
+        assertThat(gone.failure).isInstanceOf(IOException.class);
+        ClientEmitter next = new ClientEmitter(false, false);
+        clients.add(next);
+        assertThat(broadcaster.subscribe(PROJECT_ID)).isSameAs(next);
+    }
+
+    @Test
+    void clientThatStopsReadingHoldsUpNoOneAndIsFailed() throws Exception {
+        broadcaster = broadcaster(8, "drop-oldest", 10, Duration.ofMillis(50));
+        ClientEmitter stuck = stalledClient();
+        broadcaster.subscribe(PROJECT_ID);
+        assertThat(stuck.entered.await(TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)).isTrue();
+        ClientEmitter reader = new ClientEmitter(false, false);
+        clients.add(reader);
+        broadcaster.subscribe(PROJECT_ID);
+
+        broadcaster.broadcast(event(1));
+        await(() -> reader.sent.size() == 2);
+        assertThat(reader.sent.get(1)).contains("\"title\":\"Task 1\"");
+
+        Thread.sleep(100);
+        broadcaster.failStalledSubscribers();
+        assertThat(broadcaster.getStalledSubscriberCount()).isEqualTo(1);
+        assertThat(broadcaster.getSubscriberCount()).isEqualTo(1);
+        stuck.release.countDown();
+        await(() -> stuck.failure != null);
+    }
+
+    @Test
+    void stalledClientsHoldNoMoreThanThePoolsWriters() throws Exception {
+        broadcaster = broadcaster(8, "drop-oldest", 10, Duration.ofMillis(50), 2);
+        ClientEmitter first = stalledClient();
+        ClientEmitter second = stalledClient();
+        ClientEmitter third = stalledClient();
+        for (int i = 0; i < 3; i++) {
+            broadcaster.subscribe(PROJECT_ID);
+        }
+        assertThat(first.entered.await(TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)).isTrue();
+        assertThat(second.entered.await(TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)).isTrue();
+        broadcaster.heartbeat();
+        broadcaster.onChange(ChangeNotice.project(ChangeNotice.Action.UPDATED, PROJECT_ID, 1L));
+
+        // The third client waits for a writer instead of getting a thread of its own
+        Thread.sleep(100);
+        assertThat(third.entered.getCount()).isEqualTo(1);
+
+        // Failing the stalled clients takes no further threads: each writer completes its own emitter
+        broadcaster.failStalledSubscribers();
+        assertThat(broadcaster.getStalledSubscriberCount()).isEqualTo(2);
+        assertThat(first.failure).isNull();
+        first.release.countDown();
+        second.release.countDown();
+        await(() -> first.failure != null && second.failure != null);
+        assertThat(third.entered.await(TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)).isTrue();
+    }
+
+    private TaskEventBroadcaster broadcaster(int bufferSize, String overflowPolicy, int maxSubscribers,
+                                             Duration sendTimeout) {
+        return broadcaster(bufferSize, overflowPolicy, maxSubscribers, sendTimeout, 4);
+    }
+
+    private TaskEventBroadcaster broadcaster(int bufferSize, String overflowPolicy, int maxSubscribers,
+                                             Duration sendTimeout, int writeThreads) {
+        return new TaskEventBroadcaster(bufferSize, overflowPolicy, maxSubscribers, Duration.ofHours(1), 1,
+                sendTimeout, writeThreads, false, JsonMapper.builder().build(), null) {
+            @Override
+            SseEmitter createEmitter() {
+                return clients.removeFirst();
+            }
+        };
+    }
+
+    private ClientEmitter stalledClient() {
+        ClientEmitter client = new ClientEmitter(true, false);
+        clients.add(client);
+        stalled.add(client);
+        return client;
+    }
+
+    private static TaskChangedEvent event(long id) {
+        return TaskChangedEvent.of(TaskChangedEvent.Type.UPDATED, PROJECT_ID,
+                TaskResponse.builder().id(id).title("Task " + id).isCompleted(false).build());
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+        while (!condition.getAsBoolean() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(condition.getAsBoolean()).isTrue();
+    }
+
+    /**
+     * Records what would reach the client. A stalled client blocks writes until released, like a
+     * socket whose send buffer is full; a gone client fails them like a closed connection.
+     */
+    private static final class ClientEmitter extends SseEmitter {
+        private final List<String> sent = new CopyOnWriteArrayList<>();
+        private final CountDownLatch entered = new CountDownLatch(1);
+        private final CountDownLatch release;
+        private final boolean gone;
+        private volatile boolean completed;
+        private volatile Throwable failure;
+
+        private ClientEmitter(boolean stalled, boolean gone) {
+            this.release = new CountDownLatch(stalled ? 1 : 0);
+            this.gone = gone;
+        }
+
+        @Override
+        public void send(Set<DataWithMediaType> items) throws IOException {
+            entered.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException(e);
+            }
+            if (gone) {
+                throw new IOException("Broken pipe");
+            }
+            sent.add(items.stream().map(item -> item.getData().toString()).collect(Collectors.joining()));
+        }
+
+        @Override
+        public void complete() {
+            completed = true;
+        }
+
+        @Override
+        public void completeWithError(Throwable ex) {
+            failure = ex;
+        }
+    }
+}
@@ -0,0 +1,206 @@
+package com.internship.taskmanager.service;
+
+import com.internship.taskmanager.TestUsers;
+import com.internship.taskmanager.config.DedicatedConnectionFactory;
+import com.internship.taskmanager.dto.TaskResponse;
+import com.internship.taskmanager.model.Project;
+import com.internship.taskmanager.model.Task;
+import com.internship.taskmanager.model.User;
+import com.internship.taskmanager.repository.TaskRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Transactional
+class TaskReminderSchedulerTests {
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TestUsers testUsers;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private DedicatedConnectionFactory connectionFactory;
+
+    private static final long TIMEOUT_MILLIS = 5000;
+
+    // Notifiers run on the scheduler's own thread
+    private final List<TaskReminder> delivered = new CopyOnWriteArrayList<>();
+    private final LocalDate today = LocalDate.now(ZoneOffset.UTC);
+    private Project project;
+
+    @BeforeEach
+    void setUp() {
+        User user = testUsers.save("reminders");
+        project = Project.builder().title("Reminders").user(user).build();
+        entityManager.persist(project);
+    }
+
+    @Test
+    void loadsTheWindowAndFiresRemindersWhenTheirTimeComes() throws InterruptedException {
+        // Reminders fire a day ahead, so tasks due tomorrow are already past their reminder time
+        saveTask("Due tomorrow", today.plusDays(1), false);
+        Task inTwoDays = saveTask("Due in two days", today.plusDays(2), false);
+        Task inThreeDays = saveTask("Due in three days", today.plusDays(3), false);
+        saveTask("Done", today.plusDays(2), true);
+        saveTask("Next week", today.plusDays(7), false);
+        entityManager.flush();
+        TaskReminderScheduler scheduler = scheduler(randomLockKey());
+
+        Instant now = Instant.now();
+        scheduler.reloadAll(now);
+        assertThat(ownReminders(scheduler.fire(now))).isEmpty();
+
+        List<TaskReminder> fired = ownReminders(scheduler.fire(startOf(today.plusDays(2))));
+        assertThat(fired).extracting(TaskReminder::getTaskId)
+                .containsExactly(inTwoDays.getId(), inThreeDays.getId());
+        assertThat(fired.get(0).getRemindAt()).isEqualTo(startOf(today.plusDays(1)));
+        long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+        while (ownReminders(delivered).size() < fired.size() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+        assertThat(ownReminders(delivered)).isEqualTo(fired);
+    }
+
+    @Test
+    void taskChangesKeepTheWheelCurrent() {
+        Task completed = saveTask("Will be completed", today.plusDays(2), false);
+        Task moved = saveTask("Will move out of the window", today.plusDays(2), false);
+        entityManager.flush();
+        TaskReminderScheduler scheduler = scheduler(randomLockKey());
+        Instant now = Instant.now();
+        scheduler.reloadAll(now);
+
+        scheduler.apply(TaskChangedEvent.of(TaskChangedEvent.Type.COMPLETED, project.getId(),
+                response(completed.getId(), "Will be completed", today.plusDays(2), true)), now);
+        scheduler.apply(TaskChangedEvent.of(TaskChangedEvent.Type.UPDATED, project.getId(),
+                response(moved.getId(), "Will move out of the window", today.plusDays(9), false)), now);
+        scheduler.apply(TaskChangedEvent.of(TaskChangedEvent.Type.CREATED, project.getId(),
+                response(999_999L, "Created", today.plusDays(3), false)), now);
+        scheduler.apply(TaskChangedEvent.deleted(project.getId(), 999_998L), now);
+
+        assertThat(ownReminders(scheduler.fire(startOf(today.plusDays(3))))).extracting(TaskReminder::getTaskId)
+                .containsExactly(999_999L);
+    }
+
+    @Test
+    void changesDuringARefillWinOverItsRows() {
+        Task completed = saveTask("Completed while loading", today.plusDays(2), false);
+        Task moved = saveTask("Moved while loading", today.plusDays(2), false);
+        entityManager.flush();
+        List<Runnable> duringQuery = new ArrayList<>();
+        TaskReminderScheduler scheduler = scheduler(randomLockKey(), interceptDueQuery(duringQuery));
+        Instant now = Instant.now();
+        // Commits land after the query read both tasks as open and due in two days
+        duringQuery.add(() -> {
+            scheduler.apply(TaskChangedEvent.of(TaskChangedEvent.Type.COMPLETED, project.getId(),
+                    response(completed.getId(), "Completed while loading", today.plusDays(2), true)), now);
+            scheduler.apply(TaskChangedEvent.of(TaskChangedEvent.Type.UPDATED, project.getId(),
+                    response(moved.getId(), "Moved while loading", today.plusDays(3), false)), now);
+        });
+
+        scheduler.reloadAll(now);
+
+        assertThat(ownReminders(scheduler.fire(startOf(today.plusDays(1))))).isEmpty();
+        List<TaskReminder> fired = ownReminders(scheduler.fire(startOf(today.plusDays(2))));
+        assertThat(fired).extracting(TaskReminder::getTaskId).containsExactly(moved.getId());
+        assertThat(fired.get(0).getDueDate()).isEqualTo(today.plusDays(3));
+    }
+
+    @Test
+    void onlyOneNodeHoldsLeadership() throws Exception {
+        long lockKey = randomLockKey();
+        TaskReminderScheduler first = scheduler(lockKey);
+        TaskReminderScheduler second = scheduler(lockKey);
+        try {
+            assertThat(first.tryAcquireLeadership()).isTrue();
+            assertThat(second.tryAcquireLeadership()).isFalse();
+            assertThat(second.isLeader()).isFalse();
+
+            first.resign();
+            assertThat(first.isLeader()).isFalse();
+            assertThat(second.tryAcquireLeadership()).isTrue();
+        } finally {
+            first.shutdown();
+            second.shutdown();
+        }
+    }
+
+    private TaskReminderScheduler scheduler(long lockKey) {
+        return scheduler(lockKey, taskRepository);
+    }
+
+    private TaskReminderScheduler scheduler(long lockKey, TaskRepository repository) {
+        // Never started: tests drive it with explicit times
+        return new TaskReminderScheduler(repository, List.of(delivered::add),
+                new StaticListableBeanFactory().getBeanProvider(MeterRegistry.class),
+                Duration.ofHours(24), Duration.ofHours(48), Duration.ofSeconds(1), 64, Duration.ofSeconds(10),
+                "UTC", lockKey, connectionFactory);
+    }
+
+    /**
+     * Runs the hooks after the window query has read its rows, before the scheduler sees them.
+     */
+    private TaskRepository interceptDueQuery(List<Runnable> hooks) {
+        return (TaskRepository) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[]{TaskRepository.class}, (proxy, method, args) -> {
+                    Object result;
+                    try {
+                        result = method.invoke(taskRepository, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                    if (method.getName().equals("findOpenTasksDueBetween")) {
+                        hooks.forEach(Runnable::run);
+                    }
+                    return result;
+                });
+    }
+
+    // Tasks committed by other tests may fall in the window too
+    private List<TaskReminder> ownReminders(List<TaskReminder> reminders) {
+        return reminders.stream().filter(reminder -> project.getId().equals(reminder.getProjectId())).toList();
+    }
+
+    private Task saveTask(String title, LocalDate dueDate, boolean completed) {
+        Task task = Task.builder().title(title).dueDate(dueDate).isCompleted(completed).project(project).build();
+        entityManager.persist(task);
+        return task;
+    }
+
+    private static TaskResponse response(Long id, String title, LocalDate dueDate, boolean completed) {
+        return TaskResponse.builder().id(id).title(title).dueDate(dueDate).isCompleted(completed).build();
+    }
+
+    private static Instant startOf(LocalDate date) {
+        return date.atStartOfDay(ZoneOffset.UTC).toInstant();
+    }
+
+    private static long randomLockKey() {
+        // Keeps clear of the lock held by the application context's own scheduler
+        return ThreadLocalRandom.current().nextLong(1L << 40, 1L << 50);
+    }
+}
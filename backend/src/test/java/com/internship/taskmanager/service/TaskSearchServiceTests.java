@@ -0,0 +1,302 @@
+package com.internship.taskmanager.service;
+
+import com.internship.taskmanager.TestUsers;
+import com.internship.taskmanager.dto.CursorPage;
+import com.internship.taskmanager.dto.DueTaskGroup;
+import com.internship.taskmanager.dto.DueTaskQuery;
+import com.internship.taskmanager.dto.ProjectTaskResponse;
+import com.internship.taskmanager.dto.TaskSearchResult;
+import com.internship.taskmanager.exception.BadRequestException;
+import com.internship.taskmanager.model.Project;
+import com.internship.taskmanager.model.Task;
+import com.internship.taskmanager.model.User;
+import com.internship.taskmanager.repository.TaskRepository;
+import com.internship.taskmanager.repository.TaskSearchHit;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.test.util.AopTestUtils;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@Transactional
+class TaskSearchServiceTests {
+
+    @Autowired
+    private TaskSearchService taskSearchService;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TestUsers testUsers;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    private User user;
+    private Project project;
+
+    @BeforeEach
+    void setUp() {
+        user = testUsers.save("search");
+        project = saveProject(user, "Search project");
+    }
+
+    @Test
+    void matchesPrefixesInTitlesAndDescriptionsRankingTitlesFirst() {
+        Task inDescription = saveTask(project, "Quarterly review", "Prepare the invoices for accounting");
+        Task inTitle = saveTask(project, "Send invoice reminders", null);
+        saveTask(project, "Unrelated", "Nothing to see here");
+        entityManager.flush();
+
+        CursorPage<TaskSearchResult> response = taskSearchService.search("invo", null, null, user.getEmail());
+
+        assertThat(response.getItems()).extracting(TaskSearchResult::getId)
+                .containsExactly(inTitle.getId(), inDescription.getId());
+        assertThat(response.getItems().get(0).getProjectTitle()).isEqualTo("Search project");
+        assertThat(response.getNextCursor()).isNull();
+        // Every term has to match
+        assertThat(taskSearchService.search("invoice accounting", null, null, user.getEmail()).getItems())
+                .extracting(TaskSearchResult::getId).containsExactly(inDescription.getId());
+    }
+
+    @Test
+    void onlySearchesTheCallersProjects() {
+        Project foreign = saveProject(testUsers.save("other"), "Foreign project");
+        saveTask(foreign, "Deploy release", null);
+        Task own = saveTask(project, "Deploy hotfix", null);
+        entityManager.flush();
+
+        assertThat(taskSearchService.search("deploy", null, null, user.getEmail()).getItems())
+                .extracting(TaskSearchResult::getId).containsExactly(own.getId());
+    }
+
+    @Test
+    void scanAndIndexPlansReturnTheSameResults() {
+        saveTask(project, "Deploy release", "deploy checklist");
+        saveTask(project, "Release notes", null);
+        saveTask(project, "Deploy hotfix", null);
+        saveTask(saveProject(testUsers.save("other"), "Foreign project"), "Deploy elsewhere", null);
+        entityManager.flush();
+
+        String query = TaskSearchService.toTsQuery("depl");
+        List<TaskSearchHit> scanned = taskRepository.searchOwnedTasks(user.getId(), query, null, null, 10);
+        List<TaskSearchHit> indexed = taskRepository.searchIndexedTasks(user.getId(), query, null, null, 10);
+
+        assertThat(scanned).hasSize(2);
+        assertThat(indexed).extracting(TaskSearchHit::getId)
+                .containsExactlyElementsOf(scanned.stream().map(TaskSearchHit::getId).toList());
+        assertThat(indexed).extracting(TaskSearchHit::getRank)
+                .containsExactlyElementsOf(scanned.stream().map(TaskSearchHit::getRank).toList());
+    }
+
+    @Test
+    void usersAboveTheThresholdAreSearchedThroughTheGinIndex() throws Exception {
+        Task release = saveTask(project, "Deploy release", null);
+        Task hotfix = saveTask(project, "Deploy hotfix", "deploy checklist");
+        saveTask(project, "Release notes", null);
+        project.setTotalTasks(3);
+        entityManager.flush();
+
+        TaskSearchService target = AopTestUtils.getTargetObject(taskSearchService);
+        long threshold = (long) ReflectionTestUtils.getField(target, "indexThreshold");
+        ReflectionTestUtils.setField(target, "indexThreshold", 2L);
+        try {
+            assertThat(taskSearchService.search("depl", null, null, user.getEmail()).getItems())
+                    .extracting(TaskSearchResult::getId).containsExactly(hotfix.getId(), release.getId());
+        } finally {
+            ReflectionTestUtils.setField(target, "indexThreshold", threshold);
+        }
+
+        // The test table is too small for the planner to prefer the index on its own; this checks that
+        // the query can use it at all, e.g. that it still matches the indexed expression
+        jdbcTemplate.execute("SET LOCAL enable_seqscan = off");
+        String sql = TaskRepository.class.getMethod("searchIndexedTasks", Long.class, String.class, Float.class,
+                Long.class, int.class).getAnnotation(Query.class).value();
+        List<String> plan = namedParameterJdbcTemplate.queryForList("EXPLAIN " + sql, new MapSqlParameterSource()
+                .addValue("userId", user.getId())
+                .addValue("query", TaskSearchService.toTsQuery("depl"))
+                .addValue("afterRank", null)
+                .addValue("afterId", null)
+                .addValue("limit", 10), String.class);
+        assertThat(plan).anyMatch(line -> line.contains("idx_tasks_search_vector"));
+    }
+
+    @Test
+    void pagesThroughResultsWithCursor() {
+        for (int i = 0; i < 5; i++) {
+            saveTask(project, "Backlog item " + i, i % 2 == 0 ? "backlog grooming" : null);
+        }
+        entityManager.flush();
+
+        List<Long> seen = new ArrayList<>();
+        String cursor = null;
+        do {
+            CursorPage<TaskSearchResult> page = taskSearchService.search("backlog", cursor, 2, user.getEmail());
+            assertThat(page.getItems()).hasSizeLessThanOrEqualTo(2);
+            page.getItems().forEach(item -> seen.add(item.getId()));
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+
+        assertThat(seen).hasSize(5).doesNotHaveDuplicates();
+    }
+
+    @Test
+    void rejectsQueriesWithoutTermsAndBadCursors() {
+        assertThatThrownBy(() -> taskSearchService.search(" &|!:* ", null, null, user.getEmail()))
+                .isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> taskSearchService.search("deploy", "not-a-cursor", null, user.getEmail()))
+                .isInstanceOf(BadRequestException.class);
+        assertThat(TaskSearchService.toTsQuery("Fix: login's bug")).isEqualTo("fix:* & login:* & s:* & bug:*");
+    }
+
+    @Test
+    void groupsOpenDueTasksAcrossProjectsByDay() {
+        LocalDate today = LocalDate.now();
+        Project second = saveProject(user, "Second project");
+        Task first = saveDueTask(project, "Write report", today.plusDays(1), false);
+        Task sameDay = saveDueTask(second, "Review report", today.plusDays(1), false);
+        Task later = saveDueTask(second, "Ship report", today.plusDays(3), false);
+        saveDueTask(project, "Already done", today.plusDays(1), true);
+        saveDueTask(project, "Next month", today.plusDays(30), false);
+        saveDueTask(project, "Overdue", today.minusDays(2), false);
+        saveDueTask(saveProject(testUsers.save("other"), "Foreign project"), "Foreign", today.plusDays(1), false);
+        saveTask(project, "No due date", null);
+        entityManager.flush();
+
+        CursorPage<DueTaskGroup> response = taskSearchService.getDueTasks(new DueTaskQuery(), user.getEmail());
+
+        assertThat(response.getItems()).extracting(DueTaskGroup::getDate)
+                .containsExactly(today.plusDays(1), today.plusDays(3));
+        assertThat(response.getItems().get(0).getTasks()).extracting(ProjectTaskResponse::getId)
+                .containsExactly(first.getId(), sameDay.getId());
+        assertThat(response.getItems().get(0).getTasks()).extracting(ProjectTaskResponse::getProjectTitle)
+                .containsExactly("Search project", "Second project");
+        assertThat(response.getItems().get(1).getTasks()).extracting(ProjectTaskResponse::getId)
+                .containsExactly(later.getId());
+        assertThat(response.getNextCursor()).isNull();
+    }
+
+    @Test
+    void overdueReturnsOpenTasksDueBeforeToday() {
+        LocalDate today = LocalDate.now();
+        Task old = saveDueTask(project, "Old", today.minusDays(10), false);
+        Task recent = saveDueTask(project, "Recent", today.minusDays(1), false);
+        saveDueTask(project, "Today", today, false);
+        saveDueTask(project, "Done late", today.minusDays(3), true);
+        entityManager.flush();
+
+        CursorPage<DueTaskGroup> overdue = taskSearchService.getDueTasks(
+                DueTaskQuery.builder().overdue(true).build(), user.getEmail());
+        assertThat(overdue.getItems()).flatExtracting(DueTaskGroup::getTasks)
+                .extracting(ProjectTaskResponse::getId).containsExactly(old.getId(), recent.getId());
+
+        // A lower bound still narrows the overdue range
+        CursorPage<DueTaskGroup> sinceLastWeek = taskSearchService.getDueTasks(
+                DueTaskQuery.builder().overdue(true).from(today.minusDays(7)).build(), user.getEmail());
+        assertThat(sinceLastWeek.getItems()).flatExtracting(DueTaskGroup::getTasks)
+                .extracting(ProjectTaskResponse::getId).containsExactly(recent.getId());
+    }
+
+    @Test
+    void todayIsTheDateInTheConfiguredZone() {
+        // UTC+14: always at least a day ahead of UTC-11 below
+        String zone = "Pacific/Kiritimati";
+        LocalDate today = LocalDate.now(ZoneId.of(zone));
+        Task dueToday = saveDueTask(project, "Today over there", today, false);
+        Task dueYesterday = saveDueTask(project, "Yesterday over there", today.minusDays(1), false);
+        entityManager.flush();
+
+        TaskSearchService target = AopTestUtils.getTargetObject(taskSearchService);
+        String configured = (String) ReflectionTestUtils.getField(target, "dueDateZone");
+        try {
+            ReflectionTestUtils.setField(target, "dueDateZone", zone);
+            assertThat(dueTaskIds(DueTaskQuery.builder().overdue(true).build())).containsExactly(dueYesterday.getId());
+            assertThat(dueTaskIds(new DueTaskQuery())).containsExactly(dueToday.getId());
+
+            // Where it is still yesterday or earlier, neither task is overdue yet
+            ReflectionTestUtils.setField(target, "dueDateZone", "Pacific/Pago_Pago");
+            assertThat(dueTaskIds(DueTaskQuery.builder().overdue(true).build())).isEmpty();
+        } finally {
+            ReflectionTestUtils.setField(target, "dueDateZone", configured);
+        }
+    }
+
+    @Test
+    void pagesThroughDueTasksWithCursor() {
+        LocalDate today = LocalDate.now();
+        for (int i = 0; i < 7; i++) {
+            saveDueTask(i % 2 == 0 ? project : saveProject(user, "Project " + i), "Due " + i, today.plusDays(i / 3), false);
+        }
+        entityManager.flush();
+
+        List<Long> seen = new ArrayList<>();
+        String cursor = null;
+        do {
+            CursorPage<DueTaskGroup> page = taskSearchService.getDueTasks(
+                    DueTaskQuery.builder().cursor(cursor).limit(2).build(), user.getEmail());
+            page.getItems().forEach(day -> day.getTasks().forEach(task -> seen.add(task.getId())));
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+
+        assertThat(seen).hasSize(7).doesNotHaveDuplicates();
+    }
+
+    @Test
+    void rejectsInvertedDueRanges() {
+        LocalDate today = LocalDate.now();
+        assertThatThrownBy(() -> taskSearchService.getDueTasks(
+                DueTaskQuery.builder().from(today).to(today.minusDays(1)).build(), user.getEmail()))
+                .isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> taskSearchService.getDueTasks(
+                DueTaskQuery.builder().limit(0).build(), user.getEmail()))
+                .isInstanceOf(BadRequestException.class);
+    }
+
+    private List<Long> dueTaskIds(DueTaskQuery query) {
+        return taskSearchService.getDueTasks(query, user.getEmail()).getItems().stream()
+                .flatMap(day -> day.getTasks().stream())
+                .map(ProjectTaskResponse::getId)
+                .toList();
+    }
+
+    private Project saveProject(User owner, String title) {
+        Project saved = Project.builder().title(title).user(owner).build();
+        entityManager.persist(saved);
+        return saved;
+    }
+
+    private Task saveTask(Project owner, String title, String description) {
+        Task task = Task.builder().title(title).description(description).project(owner).build();
+        entityManager.persist(task);
+        return task;
+    }
+
+    private Task saveDueTask(Project owner, String title, LocalDate dueDate, boolean completed) {
+        Task task = Task.builder().title(title).dueDate(dueDate).isCompleted(completed).project(owner).build();
+        entityManager.persist(task);
+        return task;
+    }
+}
@@ -0,0 +1,239 @@
+package com.internship.taskmanager.service;
+
+import com.internship.taskmanager.TestUsers;
+import com.internship.taskmanager.dto.CursorPage;
+import com.internship.taskmanager.dto.TaskListQuery;
+import com.internship.taskmanager.dto.TaskRequest;
+import com.internship.taskmanager.dto.TaskResponse;
+import com.internship.taskmanager.dto.TaskUpdateRequest;
+import com.internship.taskmanager.exception.BadRequestException;
+import com.internship.taskmanager.exception.PreconditionFailedException;
+import com.internship.taskmanager.exception.ResourceNotFoundException;
+import com.internship.taskmanager.model.Project;
+import com.internship.taskmanager.model.Task;
+import com.internship.taskmanager.model.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Transactional
+class TaskServiceTests {
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TestUsers testUsers;
+
+    @Autowired
+    private ProjectService projectService;
+
+    @Autowired
+    private ProjectCounterReconciler projectCounterReconciler;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private User user;
+    private Project project;
+
+    @BeforeEach
+    void setUp() {
+        user = testUsers.save("tasks");
+        project = Project.builder()
+                .title("Paged project")
+                .user(user)
+                .totalTasks(5)
+                .completedTasks(3)
+                .build();
+        for (int i = 0; i < 5; i++) {
+            project.getTasks().add(Task.builder()
+                    .title("Task " + i)
+                    .dueDate(LocalDate.of(2026, 1, 1 + i))
+                    .isCompleted(i % 2 == 0)
+                    .project(project)
+                    .build());
+        }
+        entityManager.persist(project);
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void getProjectTasksWalksAllPagesInOrder() {
+        List<String> titles = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            CursorPage<TaskResponse> page = taskService.getProjectTasks(project.getId(),
+                    TaskListQuery.builder().limit(2).cursor(cursor).build(), user.getEmail());
+            page.getItems().forEach(task -> titles.add(task.getTitle()));
+            cursor = page.getNextCursor();
+            pages++;
+        } while (cursor != null);
+
+        assertThat(pages).isEqualTo(3);
+        assertThat(titles).containsExactly("Task 0", "Task 1", "Task 2", "Task 3", "Task 4");
+    }
+
+    @Test
+    void getProjectTasksAppliesFiltersAndDescendingOrder() {
+        CursorPage<TaskResponse> page = taskService.getProjectTasks(project.getId(), TaskListQuery.builder()
+                .completed(true)
+                .dueFrom(LocalDate.of(2026, 1, 2))
+                .sort("desc")
+                .build(), user.getEmail());
+
+        assertThat(page.getItems()).extracting(TaskResponse::getTitle).containsExactly("Task 4", "Task 2");
+        assertThat(page.getNextCursor()).isNull();
+    }
+
+    @Test
+    void getProjectTasksRejectsInvalidInput() {
+        assertThatThrownBy(() -> taskService.getProjectTasks(project.getId(),
+                TaskListQuery.builder().cursor("garbage").build(), user.getEmail()))
+                .isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> taskService.getProjectTasks(project.getId(),
+                TaskListQuery.builder().limit(0).build(), user.getEmail()))
+                .isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> taskService.getProjectTasks(-1L,
+                TaskListQuery.builder().build(), user.getEmail()))
+                .isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    @Test
+    void taskMutationsKeepProjectCountersInStep() {
+        TaskResponse created = taskService.createTask(project.getId(),
+                TaskRequest.builder().title("Counted").build(), user.getEmail());
+        taskService.markTaskAsCompleted(project.getId(), created.getId(), user.getEmail());
+        taskService.markTaskAsCompleted(project.getId(), created.getId(), user.getEmail());
+        assertCounters(6, 4);
+
+        taskService.deleteTask(project.getId(), created.getId(), user.getEmail());
+        assertCounters(5, 3);
+    }
+
+    @Test
+    void reconcilerRepairsDriftedCounters() {
+        entityManager.createNativeQuery("update projects set total_tasks = 42, completed_tasks = 0 where id = ?1")
+                .setParameter(1, project.getId())
+                .executeUpdate();
+
+        assertThat(projectCounterReconciler.reconcile()).isGreaterThanOrEqualTo(1);
+        assertCounters(5, 3);
+    }
+
+    private void assertCounters(int total, int completed) {
+        entityManager.flush();
+        entityManager.clear();
+        Project reloaded = entityManager.find(Project.class, project.getId());
+        assertThat(reloaded.getTotalTasks()).isEqualTo(total);
+        assertThat(reloaded.getCompletedTasks()).isEqualTo(completed);
+    }
+
+    @Test
+    void taskMutationsRunAsASingleStatement() {
+        Long taskId = firstTaskId();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        statistics.clear();
+        TaskResponse updated = taskService.updateTask(project.getId(), taskId,
+                TaskUpdateRequest.builder().title("Renamed").isCompleted(false).build(), user.getEmail());
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(updated.getTitle()).isEqualTo("Renamed");
+        assertThat(updated.getDueDate()).isEqualTo(LocalDate.of(2026, 1, 1));
+        assertThat(updated.getIsCompleted()).isFalse();
+
+        statistics.clear();
+        TaskResponse completed = taskService.markTaskAsCompleted(project.getId(), taskId, user.getEmail());
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(completed.getIsCompleted()).isTrue();
+        assertThat(completed.getTitle()).isEqualTo("Renamed");
+
+        statistics.clear();
+        taskService.deleteTask(project.getId(), taskId, user.getEmail());
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+
+        assertCounters(4, 2);
+    }
+
+    @Test
+    void taskMutationsReportMissingProjectOrTask() {
+        Long taskId = firstTaskId();
+        User stranger = testUsers.save("stranger");
+
+        assertThatThrownBy(() -> taskService.markTaskAsCompleted(project.getId(), taskId, stranger.getEmail()))
+                .isInstanceOf(ResourceNotFoundException.class)
+                .hasMessageContaining("Project");
+        assertThatThrownBy(() -> taskService.deleteTask(project.getId(), -1L, user.getEmail()))
+                .isInstanceOf(ResourceNotFoundException.class)
+                .hasMessageContaining("Task");
+        assertThatThrownBy(() -> taskService.updateTask(project.getId(), -1L,
+                TaskUpdateRequest.builder().title("Nope").build(), user.getEmail()))
+                .isInstanceOf(ResourceNotFoundException.class)
+                .hasMessageContaining("Task");
+        assertCounters(5, 3);
+    }
+
+    @Test
+    void expectedVersionGuardsConcurrentUpdates() {
+        TaskResponse task = taskService.getProjectTasks(project.getId(), TaskListQuery.builder().limit(1).build(),
+                user.getEmail()).getItems().get(0);
+        Long staleVersion = task.getVersion();
+
+        TaskResponse updated = taskService.updateTask(project.getId(), task.getId(),
+                TaskUpdateRequest.builder().title("First writer").build(), user.getEmail(), staleVersion);
+        assertThat(updated.getVersion()).isEqualTo(staleVersion + 1);
+
+        assertThatThrownBy(() -> taskService.updateTask(project.getId(), task.getId(),
+                TaskUpdateRequest.builder().title("Second writer").build(), user.getEmail(), staleVersion))
+                .isInstanceOf(PreconditionFailedException.class);
+        assertThatThrownBy(() -> taskService.deleteTask(project.getId(), task.getId(), user.getEmail(), staleVersion))
+                .isInstanceOf(PreconditionFailedException.class);
+        assertThatThrownBy(() -> taskService.markTaskAsCompleted(project.getId(), -1L, user.getEmail(), staleVersion))
+                .isInstanceOf(ResourceNotFoundException.class);
+
+        taskService.deleteTask(project.getId(), task.getId(), user.getEmail(), updated.getVersion());
+        assertCounters(4, task.getIsCompleted() ? 2 : 3);
+    }
+
+    @Test
+    void eTagsChangeOnlyWhenTasksChange() {
+        TaskListQuery firstPage = TaskListQuery.builder().limit(2).build();
+        String listETag = taskService.getProjectTasksETag(project.getId(), firstPage, user.getEmail());
+        String projectETag = projectService.getProjectETag(project.getId(), user.getEmail());
+
+        assertThat(taskService.getProjectTasksETag(project.getId(), firstPage, user.getEmail())).isEqualTo(listETag);
+        assertThat(taskService.getProjectTasksETag(project.getId(), TaskListQuery.builder().limit(3).build(),
+                user.getEmail())).isNotEqualTo(listETag);
+        assertThat(projectService.getProjectETag(project.getId(), user.getEmail())).isEqualTo(projectETag);
+
+        taskService.updateTask(project.getId(), firstTaskId(),
+                TaskUpdateRequest.builder().description("Touched").build(), user.getEmail());
+
+        assertThat(taskService.getProjectTasksETag(project.getId(), firstPage, user.getEmail())).isNotEqualTo(listETag);
+        assertThat(projectService.getProjectETag(project.getId(), user.getEmail())).isNotEqualTo(projectETag);
+    }
+
+    private Long firstTaskId() {
+        return taskService.getProjectTasks(project.getId(), TaskListQuery.builder().limit(1).build(), user.getEmail())
+                .getItems().get(0).getId();
+    }
+}
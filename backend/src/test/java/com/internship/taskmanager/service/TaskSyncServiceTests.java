@@ -0,0 +1,128 @@
+package com.internship.taskmanager.service;
+
+import com.internship.taskmanager.TestUsers;
+import com.internship.taskmanager.dto.TaskBatchOperation;
+import com.internship.taskmanager.dto.TaskBatchRequest;
+import com.internship.taskmanager.dto.TaskRequest;
+import com.internship.taskmanager.dto.TaskResponse;
+import com.internship.taskmanager.dto.TaskSyncResponse;
+import com.internship.taskmanager.dto.TaskUpdateRequest;
+import com.internship.taskmanager.model.Project;
+import com.internship.taskmanager.model.User;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.util.AopTestUtils;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "app.sync.overlap=0s")
+@Transactional
+class TaskSyncServiceTests {
+
+    @Autowired
+    private TaskSyncService taskSyncService;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskBatchService taskBatchService;
+
+    @Autowired
+    private TestUsers testUsers;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private User user;
+    private Project project;
+
+    @BeforeEach
+    void setUp() {
+        user = testUsers.save("sync");
+        project = Project.builder()
+                .title("Synced project")
+                .user(user)
+                .build();
+        entityManager.persist(project);
+        entityManager.flush();
+    }
+
+    @Test
+    void changesSinceReturnsOnlyNewUpdatesAndDeletions() {
+        TaskResponse kept = create("Kept");
+        TaskResponse edited = create("Edited");
+        TaskResponse removed = create("Removed");
+        TaskResponse batchRemoved = create("Batch removed");
+
+        TaskSyncResponse initial = taskSyncService.getChanges(project.getId(), null, 2, user.getEmail());
+        assertThat(initial.isHasMore()).isTrue();
+        TaskSyncResponse rest = taskSyncService.getChanges(project.getId(), initial.getSince(), 2, user.getEmail());
+        assertThat(rest.isHasMore()).isFalse();
+        assertThat(ids(initial.getChanged(), rest.getChanged()))
+                .containsExactly(kept.getId(), edited.getId(), removed.getId(), batchRemoved.getId());
+
+        TaskSyncResponse idle = taskSyncService.getChanges(project.getId(), rest.getSince(), null, user.getEmail());
+        assertThat(idle.getChanged()).isEmpty();
+        assertThat(idle.getDeleted()).isEmpty();
+
+        taskService.updateTask(project.getId(), edited.getId(),
+                TaskUpdateRequest.builder().title("Edited again").build(), user.getEmail());
+        taskService.deleteTask(project.getId(), removed.getId(), user.getEmail());
+        taskBatchService.applyBatch(project.getId(), TaskBatchRequest.builder().operations(List.of(
+                TaskBatchOperation.builder().op(TaskBatchOperation.Type.DELETE).taskId(batchRemoved.getId()).build()
+        )).build(), user.getEmail());
+
+        TaskSyncResponse delta = taskSyncService.getChanges(project.getId(), idle.getSince(), null, user.getEmail());
+        assertThat(delta.getChanged()).extracting(TaskResponse::getTitle).containsExactly("Edited again");
+        assertThat(delta.getDeleted()).containsExactly(removed.getId(), batchRemoved.getId());
+        assertThat(delta.isResetRequired()).isFalse();
+    }
+
+    @Test
+    void watermarkOlderThanTombstoneRetentionRequiresReset() {
+        String ancient = new KeysetCursor<>(LocalDateTime.now().minusYears(1), 0L).encode();
+
+        TaskSyncResponse response = taskSyncService.getChanges(project.getId(), ancient, null, user.getEmail());
+
+        assertThat(response.isResetRequired()).isTrue();
+        assertThat(response.getSince()).isNull();
+    }
+
+    @Test
+    void fullPageEndingInsideTheOverlapWindowHoldsTheWatermarkBack() {
+        TaskSyncService target = AopTestUtils.getTargetObject(taskSyncService);
+        ReflectionTestUtils.setField(target, "overlap", Duration.ofHours(1));
+        try {
+            List<Long> ids = Stream.of("First", "Second", "Third").map(this::create).map(TaskResponse::getId).toList();
+
+            TaskSyncResponse page = taskSyncService.getChanges(project.getId(), null, 2, user.getEmail());
+            assertThat(page.getChanged()).hasSize(2);
+            // Asking for more from the last row would skip a slow transaction that commits an older change
+            assertThat(page.isHasMore()).isFalse();
+
+            TaskSyncResponse again = taskSyncService.getChanges(project.getId(), page.getSince(), null, user.getEmail());
+            assertThat(again.getChanged()).extracting(TaskResponse::getId).containsExactlyElementsOf(ids);
+        } finally {
+            ReflectionTestUtils.setField(target, "overlap", Duration.ZERO);
+        }
+    }
+
+    private TaskResponse create(String title) {
+        return taskService.createTask(project.getId(), TaskRequest.builder().title(title).build(), user.getEmail());
+    }
+
+    private static List<Long> ids(List<TaskResponse> first, List<TaskResponse> second) {
+        return Stream.concat(first.stream(), second.stream()).map(TaskResponse::getId).toList();
+    }
+}
@@ -7,6 +7,9 @@ import type {
   CreateProjectRequest,
   CreateTaskRequest,
   Task,
+  TaskListParams,
+  TaskPage,
+  TaskSync,
   UpdateTaskRequest,
 } from './types.ts';
 
@@ -77,8 +80,15 @@ export const projectsAPI = {
 
 // Tasks API
 export const tasksAPI = {
-  getAll: async (projectId: number): Promise<Task[]> => {
-    const response = await api.get(`/projects/${projectId}/tasks`);
+  getAll: async (projectId: number, params?: TaskListParams): Promise<TaskPage> => {
+    const response = await api.get(`/projects/${projectId}/tasks`, { params });
+    return response.data;
+  },
+
+  getChanges: async (projectId: number, since?: string | null): Promise<TaskSync> => {
+    const response = await api.get(`/projects/${projectId}/tasks/changes`, {
+      params: since ? { since } : undefined,
+    });
     return response.data;
   },
 
@@ -36,6 +36,29 @@ export interface Task {
   dueDate?: string;
   isCompleted: boolean;
   createdAt: string;
+  version: number;
+}
+
+export interface TaskPage {
+  items: Task[];
+  nextCursor?: string | null;
+}
+
+export interface TaskSync {
+  changed: Task[];
+  deleted: number[];
+  since: string | null;
+  hasMore: boolean;
+  resetRequired: boolean;
+}
+
+export interface TaskListParams {
+  completed?: boolean;
+  dueFrom?: string;
+  dueTo?: string;
+  cursor?: string;
+  limit?: number;
+  sort?: 'asc' | 'desc';
 }
 
 export interface CreateProjectRequest {